@@ -0,0 +1,74 @@
+#!/bin/bash
+
+# Script to run the backend in fast-startup mode: Spring AOT bean definitions,
+# an AppCDS class archive and lazy bean initialization
+# Usage: ./fast-startup.sh build         Build target/fast-startup (mvn -Pfast-startup package)
+#        ./fast-startup.sh train [args]  Record the AppCDS archive: starts the application against the
+#                                        configured database and exits once the context is refreshed
+#        ./fast-startup.sh run [args]    Start the application (args are passed to Spring Boot,
+#                                        e.g. --server.port=8081)
+# JAVA_OPTS is added to the java command line of train and run.
+#
+# The AOT-generated bean definitions fix the bean set at build time: properties that switch beans
+# on or off (app.sql-accounting.enabled, app.write-limiter.enabled, google.id-token.verifier)
+# take the values they had when building, so rebuild after changing them.
+
+cd "$(dirname "$0")"
+
+DIR=target/fast-startup
+ARCHIVE=$DIR/application.jsa
+
+find_jar() {
+    JAR=$(ls $DIR/*-fast-startup.jar 2>/dev/null | head -1)
+    if [ -z "$JAR" ]; then
+        echo "❌ No fast-startup build in $DIR. Run: ./fast-startup.sh build" >&2
+        exit 1
+    fi
+}
+
+case "$1" in
+    build)
+        if [ -f "./mvnw" ]; then
+            chmod +x ./mvnw
+            ./mvnw -B -Pfast-startup package -DskipTests
+        else
+            mvn -B -Pfast-startup package -DskipTests
+        fi
+        # Classes changed, so any existing archive no longer matches
+        rm -f $ARCHIVE
+        ;;
+    train)
+        shift
+        find_jar
+        rm -f $ARCHIVE
+        # Lazy initialization stays off here so that the classes of every bean end up in the archive
+        java -XX:ArchiveClassesAtExit=$ARCHIVE \
+            -Dspring.aot.enabled=true \
+            -Dspring.context.exit=onRefresh \
+            $JAVA_OPTS -jar $JAR "$@"
+        if [ -f $ARCHIVE ]; then
+            echo "✅ AppCDS archive written to $ARCHIVE"
+        else
+            echo "❌ No archive written; check the output above" >&2
+            exit 1
+        fi
+        ;;
+    run)
+        shift
+        find_jar
+        CDS_OPTS=""
+        if [ -f $ARCHIVE ]; then
+            CDS_OPTS="-XX:SharedArchiveFile=$ARCHIVE"
+        else
+            echo "⚠️  No AppCDS archive, starting without it. Run: ./fast-startup.sh train" >&2
+        fi
+        exec java $CDS_OPTS \
+            -Dspring.aot.enabled=true \
+            -Dspring.main.lazy-initialization=true \
+            $JAVA_OPTS -jar $JAR "$@"
+        ;;
+    *)
+        echo "Usage: $0 build | train [args] | run [args]" >&2
+        exit 1
+        ;;
+esac
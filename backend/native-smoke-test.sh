@@ -0,0 +1,64 @@
+#!/bin/bash
+
+# Smoke test for the native executable: starts target/backend, checks that the public endpoints,
+# the OpenAPI document and the security filter chain answer as on the JVM, then stops it.
+# Usage: ./native-smoke-test.sh [args]
+#   args  passed to Spring Boot (e.g. --spring.datasource.url=...); needs the configured database
+# Build first with: mvn -Pnative package -DskipTests (needs GraalVM)
+# Startup time and RSS against the JVM build: ./startup-benchmark.sh
+
+cd "$(dirname "$0")"
+
+NATIVE=target/backend
+PORT=${SMOKE_PORT:-18081}
+BASE="http://localhost:$PORT"
+LOG=target/native-smoke-test.log
+
+# The backend refuses to start without a session secret; a throwaway one is enough here
+export APP_JWT_SECRET=${APP_JWT_SECRET:-$(openssl rand -base64 32)}
+
+if [ ! -x "$NATIVE" ]; then
+    echo "❌ No native executable at $NATIVE. Run: mvn -Pnative package -DskipTests" >&2
+    exit 1
+fi
+
+"$NATIVE" --server.port=$PORT "$@" > $LOG 2>&1 &
+PID=$!
+trap 'kill $PID 2> /dev/null; wait $PID 2> /dev/null' EXIT
+
+for _ in $(seq 1 600); do
+    if [ "$(curl -s -o /dev/null -w '%{http_code}' --max-time 1 "$BASE/api/health")" = "200" ]; then
+        break
+    fi
+    if ! kill -0 $PID 2> /dev/null; then
+        echo "❌ Native executable exited during startup; see $LOG" >&2
+        exit 1
+    fi
+    sleep 0.1
+done
+
+FAILED=0
+# expect <description> <expected status> <method> <path> [body pattern]
+expect() {
+    local body
+    body=$(curl -s -X "$3" -w '\n%{http_code}' "$BASE$4")
+    local status=${body##*$'\n'}
+    body=${body%$'\n'*}
+    if [ "$status" != "$2" ] || { [ -n "$5" ] && ! grep -q "$5" <<< "$body"; }; then
+        echo "❌ $1: $3 $4 answered $status"
+        FAILED=1
+    else
+        echo "✅ $1"
+    fi
+}
+
+expect "health endpoint" 200 GET /api/health "Backend Working"
+expect "OpenAPI document" 200 GET /v3/api-docs '"openapi"'
+expect "protected endpoint without a token" 403 GET /api/domains
+expect "actuator health (database reachable)" 200 GET /actuator/health '"UP"'
+
+if [ $FAILED -ne 0 ]; then
+    echo "See $LOG for the application output" >&2
+    exit 1
+fi
+echo "✅ Native smoke test passed (RSS $(( $(awk '/^VmRSS:/ { print $2 }' /proc/$PID/status) / 1024 )) MB)"
@@ -1,11 +1,19 @@
 package com.academic.erp.backend;
 
+import com.academic.erp.backend.config.BackendRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
+// R2DBC is only used through the DatabaseClient of ReactiveDatabaseConfig; Boot's own
+// ConnectionFactory would make the JDBC DataSource (JPA, Flyway, writes) back off
 @SpringBootApplication(exclude = {
-        org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration.class
+        org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration.class,
+        org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration.class
 })
+@EnableScheduling
+@ImportRuntimeHints(BackendRuntimeHints.class)
 public class Application {
     public static void main(String[] args) {
         SpringApplication.run(Application.class, args);
@@ -0,0 +1,226 @@
+package com.academic.erp.backend.cache;
+
+import com.academic.erp.backend.dto.StudentColumnsDto;
+import com.academic.erp.backend.event.DataChangeEvent;
+import com.academic.erp.backend.service.ChangeLogService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Caches the serialized JSON (plain and gzip) of the read-heavy list endpoints.
+ * Every entry is tagged with the version it was built at; writes bump the versions after
+ * commit, so a stale entry is simply rebuilt on the next request. Conditional requests whose
+ * If-None-Match matches the current version of a built entry are answered with 304 without
+ * touching the database. Empty rosters are not cached: they cost one indexed lookup to rebuild
+ * and are what an unknown domain ID returns, so arbitrary IDs neither fill the cache nor get a 304.
+ * <p>
+ * Commit events only reach the instance that made the write. Writes made on other instances are
+ * picked up by polling the change log's latest version every {@code app.response-cache.sync-interval-ms};
+ * when it has moved, every entry is dropped. A response may therefore lag a write on another node
+ * by up to that interval plus {@code app.change-log.sequence-interval-ms}, the time the change log
+ * takes to number a committed change.
+ */
+@Component
+@RequiredArgsConstructor
+public class ResponseCache {
+
+    private static final String DOMAIN_LIST_KEY = "domains";
+
+    // Version of every roster without a write since startup; never incremented
+    private static final AtomicLong UNCHANGED = new AtomicLong();
+
+    private final ObjectMapper objectMapper;
+    private final ChangeLogService changeLogService;
+
+    // Distinguishes ETags issued by different application runs, since versions restart at 0
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final AtomicLong domainListVersion = new AtomicLong();
+    // Only domains written since startup have an entry; it is removed when the domain is deleted
+    private final Map<Long, AtomicLong> rosterVersions = new ConcurrentHashMap<>();
+    private final Map<String, CachedResponse> entries = new ConcurrentHashMap<>();
+    // Bumped on every domain delete, so a roster loaded before the delete is not left cached after it
+    private final AtomicLong deletions = new AtomicLong();
+    // Bumped when another instance wrote; part of every entry's version and ETag
+    private final AtomicLong generation = new AtomicLong();
+    // Latest change log version seen by the last sync; -1 until the first one
+    private long lastSeenChange = -1;
+
+    public ResponseEntity<byte[]> domainList(HttpServletRequest request, Supplier<?> loader) {
+        return serve(DOMAIN_LIST_KEY, domainListVersion.get(), true, request, loader);
+    }
+
+    public ResponseEntity<byte[]> roster(Long domainId, HttpServletRequest request, Supplier<?> loader) {
+        return serve(rosterKey(domainId), rosterVersion(domainId), false, request, loader);
+    }
+
+    /**
+     * Caches an alternative representation of a domain roster (e.g. a sparse fieldset).
+     * Variants share the roster version, so one write invalidates all of them.
+     */
+    public ResponseEntity<byte[]> roster(Long domainId, String variant, HttpServletRequest request, Supplier<?> loader) {
+        return serve(rosterKey(domainId) + "|" + variant, rosterVersion(domainId), false, request, loader);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDataChange(DataChangeEvent event) {
+        // Student counts are part of every domain list entry, so any write invalidates it
+        domainListVersion.incrementAndGet();
+        for (Long domainId : event.domainIds()) {
+            if (event.entityType() == DataChangeEvent.EntityType.DOMAIN
+                    && event.changeType() == DataChangeEvent.ChangeType.DELETED) {
+                deletions.incrementAndGet();
+                rosterVersions.remove(domainId);
+                String prefix = rosterKey(domainId);
+                entries.keySet().removeIf(key -> key.equals(prefix) || key.startsWith(prefix + "|"));
+            } else {
+                rosterVersions.computeIfAbsent(domainId, id -> new AtomicLong()).incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Drops every entry once the change log shows a write this instance may not have seen.
+     * Local writes move the version too, which costs one extra rebuild per entry after them.
+     */
+    @Scheduled(fixedDelayString = "${app.response-cache.sync-interval-ms:1000}")
+    public void syncWithChangeLog() {
+        long latest = changeLogService.getLatestVersion();
+        if (latest != lastSeenChange) {
+            lastSeenChange = latest;
+            generation.incrementAndGet();
+            entries.clear();
+        }
+    }
+
+    private ResponseEntity<byte[]> serve(String key, long version, boolean cacheEmpty, HttpServletRequest request,
+                                         Supplier<?> loader) {
+        long generationBefore = generation.get();
+        String etag = etag(key, generationBefore, version);
+        CachedResponse cached = entries.get(key);
+        boolean current = cached != null && cached.generation() == generationBefore && cached.version() == version;
+        // Only an entry the loader produced at this version proves the resource exists
+        if (current && matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .build();
+        }
+
+        if (!current) {
+            long deletionsBefore = deletions.get();
+            Object body = loader.get();
+            cached = build(generationBefore, version, etag, body);
+            if (!cacheEmpty && isEmpty(body)) {
+                entries.remove(key);
+            } else {
+                // Keep whichever entry is newer if another request rebuilt it concurrently
+                entries.merge(key, cached, (existing, built) -> existing.isNewerThan(built) ? existing : built);
+                if (deletions.get() != deletionsBefore || generation.get() != generationBefore) {
+                    // A domain was deleted or another instance wrote meanwhile, possibly after the load read
+                    entries.remove(key, cached);
+                }
+            }
+        }
+
+        boolean gzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(cached.etag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+            return response.body(cached.gzip());
+        }
+        return response.body(cached.json());
+    }
+
+    private CachedResponse build(long generation, long version, String etag, Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            return new CachedResponse(generation, version, etag, json, gzip(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize cached response", e);
+        }
+    }
+
+    private long rosterVersion(Long domainId) {
+        return rosterVersions.getOrDefault(domainId, UNCHANGED).get();
+    }
+
+    private String etag(String key, long generation, long version) {
+        // Weak validator: the plain and gzip variants carry the same tag
+        int variant = key.indexOf('|');
+        String suffix = variant < 0 ? "" : "-" + Integer.toHexString(key.substring(variant + 1).hashCode());
+        return "W/\"" + epoch + "-" + generation + "-" + version + suffix + "\"";
+    }
+
+    private static String rosterKey(Long domainId) {
+        return "roster:" + domainId;
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isEmpty()) {
+            return false;
+        }
+        String opaque = opaqueTag(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if ("*".equals(trimmed) || opaque.equals(opaqueTag(trimmed))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String opaqueTag(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    private static boolean isEmpty(Object body) {
+        return body instanceof Collection<?> rows && rows.isEmpty()
+                || body instanceof StudentColumnsDto columns && columns.getCount() == 0;
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, json.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to compress cached response", e);
+        }
+        return out.toByteArray();
+    }
+
+    private record CachedResponse(long generation, long version, String etag, byte[] json, byte[] gzip) {
+
+        boolean isNewerThan(CachedResponse other) {
+            return generation != other.generation ? generation > other.generation : version >= other.version;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.academic.erp.backend.cache;
+
+import com.academic.erp.backend.dto.TokenInfoResponse;
+import com.academic.erp.backend.service.TokenService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers successful ID token validations until the token expires, so the burst of
+ * requests a page load fires with the same cookie is validated once. Entries are keyed by a
+ * SHA-256 of the token (the raw token is never held as a key) and bounded in number.
+ * Failed validations are not cached.
+ * <p>
+ * Concurrent misses for the same token are coalesced: the first caller validates and every
+ * other caller waits on the same future, so a token is validated at most once at a time.
+ */
+@Component
+public class ValidatedTokenCache {
+
+    private final TokenService tokenService;
+    private final Cache<String, TokenInfoResponse> cache;
+    private final Map<String, CompletableFuture<TokenInfoResponse>> inFlight = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ValidatedTokenCache(
+            TokenService tokenService,
+            MeterRegistry meterRegistry,
+            @Value("${app.token-cache.max-size:10000}") long maxSize,
+            @Value("${app.token-cache.max-ttl-seconds:3600}") long maxTtlSeconds) {
+        this(tokenService, meterRegistry, maxSize, maxTtlSeconds, Ticker.systemTicker());
+    }
+
+    ValidatedTokenCache(TokenService tokenService, MeterRegistry meterRegistry, long maxSize, long maxTtlSeconds,
+                        Ticker ticker) {
+        this.tokenService = tokenService;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UntilTokenExpiry(TimeUnit.SECONDS.toNanos(maxTtlSeconds)))
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "validatedIdTokens");
+    }
+
+    /**
+     * Returns the cached claims for the token, validating it through TokenService on a miss.
+     */
+    public TokenInfoResponse validate(String idToken) {
+        String key = hash(idToken);
+        TokenInfoResponse cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        CompletableFuture<TokenInfoResponse> validation = new CompletableFuture<>();
+        CompletableFuture<TokenInfoResponse> existing = inFlight.putIfAbsent(key, validation);
+        if (existing != null) {
+            return await(existing);
+        }
+        try {
+            // A previous leader may have finished between the cache miss and our putIfAbsent
+            TokenInfoResponse tokenInfo = cache.getIfPresent(key);
+            if (tokenInfo == null) {
+                tokenInfo = tokenService.validateIdToken(idToken);
+                // Cache before leaving the in-flight map so no caller can miss both
+                cache.put(key, tokenInfo);
+            }
+            validation.complete(tokenInfo);
+            return tokenInfo;
+        } catch (RuntimeException e) {
+            validation.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, validation);
+        }
+    }
+
+    public void evict(String idToken) {
+        cache.invalidate(hash(idToken));
+    }
+
+    private static TokenInfoResponse await(CompletableFuture<TokenInfoResponse> validation) {
+        try {
+            return validation.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    static String hash(String idToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(idToken.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record UntilTokenExpiry(long maxTtlNanos) implements Expiry<String, TokenInfoResponse> {
+
+        @Override
+        public long expireAfterCreate(String key, TokenInfoResponse value, long currentTime) {
+            if (value.getExp() == null) {
+                return maxTtlNanos;
+            }
+            long remainingMillis = value.getExp() * 1000 - System.currentTimeMillis();
+            return Math.max(0, Math.min(maxTtlNanos, TimeUnit.MILLISECONDS.toNanos(remainingMillis)));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, TokenInfoResponse value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, TokenInfoResponse value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
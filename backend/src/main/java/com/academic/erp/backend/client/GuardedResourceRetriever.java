@@ -0,0 +1,64 @@
+package com.academic.erp.backend.client;
+
+import com.nimbusds.jose.util.Resource;
+import com.nimbusds.jose.util.ResourceRetriever;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Fetches remote resources for nimbus (e.g. a JWK set) through the pooled outbound client and
+ * {@link OutboundCallGuard}, so those fetches share its timeouts, bulkhead, circuit breaker and
+ * http.client.requests metrics instead of opening their own connections. Every failure, including
+ * a rejection by the guard, is reported as an {@link IOException}, which nimbus treats as the
+ * resource being unavailable.
+ */
+public class GuardedResourceRetriever implements ResourceRetriever {
+
+    private final RestTemplate restTemplate;
+    private final OutboundCallGuard outboundCallGuard;
+    private final String upstreamName;
+    private final int sizeLimit;
+
+    public GuardedResourceRetriever(RestTemplate restTemplate, OutboundCallGuard outboundCallGuard,
+                                    String upstreamName, int sizeLimit) {
+        this.restTemplate = restTemplate;
+        this.outboundCallGuard = outboundCallGuard;
+        this.upstreamName = upstreamName;
+        this.sizeLimit = sizeLimit;
+    }
+
+    @Override
+    public Resource retrieveResource(URL url) throws IOException {
+        URI uri;
+        try {
+            uri = url.toURI();
+        } catch (URISyntaxException e) {
+            throw new IOException("Invalid URL: " + url, e);
+        }
+
+        ResponseEntity<byte[]> response;
+        try {
+            response = outboundCallGuard.call(upstreamName, () -> restTemplate.getForEntity(uri, byte[].class));
+        } catch (RestClientException | UpstreamUnavailableException e) {
+            throw new IOException("Could not retrieve " + url + ": " + e.getMessage(), e);
+        }
+
+        byte[] body = response.getBody();
+        if (body == null) {
+            throw new IOException("Empty response from " + url);
+        }
+        if (body.length > sizeLimit) {
+            throw new IOException("Response from " + url + " exceeds " + sizeLimit + " bytes");
+        }
+        MediaType contentType = response.getHeaders().getContentType();
+        return new Resource(new String(body, StandardCharsets.UTF_8), contentType != null ? contentType.toString() : null);
+    }
+}
@@ -0,0 +1,163 @@
+package com.academic.erp.backend.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Protects outbound calls with a bulkhead and a circuit breaker, one pair per named upstream.
+ * <ul>
+ *   <li>Bulkhead: at most {@code max-concurrent-calls} calls run at once; extra callers wait
+ *       briefly for a permit and are then rejected.</li>
+ *   <li>Circuit breaker: after {@code failure-threshold} consecutive failures (timeouts, I/O
+ *       errors, 5xx) the circuit opens and calls fail fast for {@code open-duration-ms}; then a
+ *       single trial call decides whether it closes again. 4xx responses are the caller's
+ *       problem and do not count as failures.</li>
+ * </ul>
+ * Rejected calls throw {@link UpstreamUnavailableException}.
+ */
+@Component
+@Slf4j
+public class OutboundCallGuard {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final MeterRegistry meterRegistry;
+    private final int maxConcurrentCalls;
+    private final long permitWaitMs;
+    private final int failureThreshold;
+    private final long openDurationMs;
+
+    private final Map<String, Upstream> upstreams = new ConcurrentHashMap<>();
+
+    public OutboundCallGuard(
+            MeterRegistry meterRegistry,
+            @Value("${app.http-client.max-concurrent-calls:20}") int maxConcurrentCalls,
+            @Value("${app.http-client.permit-wait-ms:200}") long permitWaitMs,
+            @Value("${app.http-client.failure-threshold:5}") int failureThreshold,
+            @Value("${app.http-client.open-duration-ms:30000}") long openDurationMs) {
+        this.meterRegistry = meterRegistry;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.permitWaitMs = permitWaitMs;
+        this.failureThreshold = failureThreshold;
+        this.openDurationMs = openDurationMs;
+    }
+
+    public <T> T call(String upstreamName, Supplier<T> call) {
+        Upstream upstream = upstreams.computeIfAbsent(upstreamName, this::register);
+
+        if (!upstream.tryEnter()) {
+            upstream.rejected("circuit_open").increment();
+            throw new UpstreamUnavailableException(upstreamName + " circuit is open");
+        }
+        boolean acquired;
+        try {
+            acquired = upstream.bulkhead.tryAcquire(permitWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            upstream.abandonTrial();
+            upstream.rejected("bulkhead_full").increment();
+            throw new UpstreamUnavailableException(upstreamName + " has too many calls in flight");
+        }
+
+        try {
+            T result = call.get();
+            upstream.onSuccess();
+            return result;
+        } catch (ResourceAccessException | HttpServerErrorException e) {
+            upstream.onFailure();
+            throw e;
+        } catch (RuntimeException e) {
+            // Client errors and parsing problems say nothing about the upstream's health
+            upstream.onSuccess();
+            throw e;
+        } finally {
+            upstream.bulkhead.release();
+        }
+    }
+
+    State state(String upstreamName) {
+        Upstream upstream = upstreams.get(upstreamName);
+        return upstream != null ? upstream.state : State.CLOSED;
+    }
+
+    private Upstream register(String name) {
+        Upstream upstream = new Upstream(name);
+        Gauge.builder("outbound.circuit.state", upstream, u -> u.state.ordinal())
+                .description("Circuit state: 0 closed, 1 open, 2 half-open")
+                .tag("upstream", name)
+                .register(meterRegistry);
+        Gauge.builder("outbound.bulkhead.available", upstream.bulkhead, Semaphore::availablePermits)
+                .tag("upstream", name)
+                .register(meterRegistry);
+        return upstream;
+    }
+
+    private final class Upstream {
+        final String name;
+        final Semaphore bulkhead = new Semaphore(maxConcurrentCalls);
+        volatile State state = State.CLOSED;
+        private int consecutiveFailures;
+        private long openedAt;
+
+        Upstream(String name) {
+            this.name = name;
+        }
+
+        synchronized boolean tryEnter() {
+            if (state == State.OPEN) {
+                if (System.currentTimeMillis() - openedAt < openDurationMs) {
+                    return false;
+                }
+                // Let one trial call through
+                state = State.HALF_OPEN;
+                return true;
+            }
+            return state == State.CLOSED;
+        }
+
+        synchronized void abandonTrial() {
+            if (state == State.HALF_OPEN) {
+                state = State.OPEN;
+            }
+        }
+
+        synchronized void onSuccess() {
+            if (state != State.CLOSED) {
+                log.info("Circuit for {} closed", name);
+            }
+            consecutiveFailures = 0;
+            state = State.CLOSED;
+        }
+
+        synchronized void onFailure() {
+            consecutiveFailures++;
+            if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+                log.warn("Circuit for {} opened after {} consecutive failures", name, consecutiveFailures);
+                state = State.OPEN;
+                openedAt = System.currentTimeMillis();
+            }
+        }
+
+        Counter rejected(String reason) {
+            return Counter.builder("outbound.calls.rejected")
+                    .tag("upstream", name)
+                    .tag("reason", reason)
+                    .register(meterRegistry);
+        }
+    }
+}
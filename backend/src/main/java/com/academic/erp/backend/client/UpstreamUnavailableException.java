@@ -0,0 +1,13 @@
+package com.academic.erp.backend.client;
+
+import com.academic.erp.backend.exception.BusinessException;
+import com.academic.erp.backend.exception.ErrorCode;
+
+/**
+ * Thrown without contacting the upstream when its circuit is open or its bulkhead is full.
+ */
+public class UpstreamUnavailableException extends BusinessException {
+    public UpstreamUnavailableException(String message) {
+        super(ErrorCode.UPSTREAM_UNAVAILABLE, message);
+    }
+}
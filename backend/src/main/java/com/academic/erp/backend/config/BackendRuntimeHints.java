@@ -0,0 +1,62 @@
+package com.academic.erp.backend.config;
+
+import com.academic.erp.backend.dto.ChangeEventDto;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.asyncer.r2dbc.mysql.MySqlConnectionFactoryProvider;
+import net.ttddyy.dsproxy.proxy.ProxyJdbcObject;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.util.ClassUtils;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Reachability metadata for the native image that Spring AOT cannot infer on its own.
+ * Entities, controllers, configuration properties and springdoc are covered by Spring and
+ * springdoc themselves; the entities are additionally bytecode-enhanced by the native profile,
+ * so lazy associations need no runtime-generated proxies.
+ */
+public class BackendRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // DTOs are also serialized outside controller signatures (cached responses, change feed events),
+        // where Spring does not see them
+        BindingReflectionHintsRegistrar bindings = new BindingReflectionHintsRegistrar();
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter((metadataReader, metadataReaderFactory) -> true);
+        for (BeanDefinition dto : scanner.findCandidateComponents(ChangeEventDto.class.getPackageName())) {
+            bindings.registerReflectionHints(hints.reflection(),
+                    ClassUtils.resolveClassName(dto.getBeanClassName(), classLoader));
+        }
+
+        // Migrations live in per-vendor folders, which Spring Boot's Flyway hints (db/migration/*) miss
+        hints.resources().registerPattern("db/migration/*/*.sql");
+
+        // SQL accounting wraps every JDBC object in a JDK proxy (datasource-proxy)
+        for (Class<?> jdbcType : new Class<?>[] {Connection.class, Statement.class, PreparedStatement.class,
+                CallableStatement.class, ResultSet.class}) {
+            hints.proxies().registerJdkProxy(ProxyJdbcObject.class, jdbcType);
+        }
+
+        // Second-level cache: Hibernate and JCache look these up by name; Caffeine's JCache adapter
+        // reads its defaults from reference.conf
+        hints.reflection().registerType(JCacheRegionFactory.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        hints.reflection().registerType(CaffeineCachingProvider.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        hints.resources().registerPattern("META-INF/services/javax.cache.spi.CachingProvider");
+        hints.resources().registerPattern("reference.conf");
+
+        // The reactive read API finds its R2DBC driver through ServiceLoader (ConnectionFactories.get)
+        hints.reflection().registerType(MySqlConnectionFactoryProvider.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        hints.resources().registerPattern("META-INF/services/io.r2dbc.spi.ConnectionFactoryProvider");
+    }
+}
@@ -0,0 +1,83 @@
+package com.academic.erp.backend.config;
+
+import com.academic.erp.backend.entity.CacheRegions;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Second-level cache regions for Hibernate, held in-process by Caffeine's JCache provider.
+ * Every region is created here with an entry bound and statistics enabled, and Hibernate is
+ * configured to fail on any region missing from this list, so no cache can grow unbounded.
+ * Hit and miss counts per region are exported as hibernate.second.level.cache.* and
+ * hibernate.cache.query.* metrics.
+ * <p>
+ * Each instance has its own regions: a write on one replica evicts only its own entries, so
+ * another replica may serve the old state until its entry expires. app.l2-cache.time-to-live is
+ * therefore the staleness bound across replicas. Writes never rely on cached state; they read the
+ * domain row with a lock ({@code DomainRepository.findByIdForShare}/{@code findByIdForUpdate}),
+ * which always goes to the database.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    @Value("${app.l2-cache.domains.max-size:1000}")
+    private long domainsMaxSize;
+
+    @Value("${app.l2-cache.domain-by-program.max-size:1000}")
+    private long domainByProgramMaxSize;
+
+    @Value("${app.l2-cache.query-results.max-size:1000}")
+    private long queryResultsMaxSize;
+
+    // Writes on this instance keep its cache current; writes on other replicas show after this long
+    @Value("${app.l2-cache.time-to-live:30s}")
+    private Duration timeToLive;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        // One manager per application context: the provider's default manager is shared JVM-wide,
+        // so a second context (e.g. another test configuration) would find its regions already taken
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("hibernate-l2-" + System.identityHashCode(this)), getClass().getClassLoader());
+        cacheManager.createCache(CacheRegions.DOMAINS, bounded(domainsMaxSize, timeToLive));
+        cacheManager.createCache(CacheRegions.DOMAIN_BY_PROGRAM, bounded(domainByProgramMaxSize, timeToLive));
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                bounded(queryResultsMaxSize, timeToLive));
+        // Holds one last-modified timestamp per table; it must outlive every cached query result
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                bounded(10_000, null));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> bounded(long maxSize, Duration timeToLive) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        if (timeToLive != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(timeToLive.toNanos()));
+        }
+        // Hibernate already caches a disassembled copy of the state, so no extra copy is needed
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
@@ -0,0 +1,25 @@
+package com.academic.erp.backend.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationInitializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Beans that stay eager when spring.main.lazy-initialization is on (fast-startup.sh).
+ * The DataSource, the migrations and the EntityManagerFactory are needed by almost every request,
+ * and initializing them at startup keeps a broken database or schema failing the deploy instead of
+ * the first request. Everything else (controllers, springdoc, outbound clients) is created on first use.
+ */
+@Configuration
+public class LazyInitializationConfig {
+
+    @Bean
+    public static LazyInitializationExcludeFilter eagerPersistenceBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                DataSource.class, FlywayMigrationInitializer.class, EntityManagerFactory.class);
+    }
+}
@@ -0,0 +1,74 @@
+package com.academic.erp.backend.config;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Outbound HTTP client used for calls to Google. Connections are pooled and kept alive,
+ * and every phase of a call (pool lease, connect, response) is bounded by a timeout so a slow
+ * upstream cannot hold a request thread indefinitely. Built through Spring's RestTemplateBuilder,
+ * so calls are recorded as http.client.requests metrics tagged by URI template.
+ */
+@Configuration
+public class OutboundHttpConfig {
+
+    @Value("${app.http-client.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${app.http-client.max-connections-per-route:20}")
+    private int maxConnectionsPerRoute;
+
+    @Value("${app.http-client.connect-timeout-ms:2000}")
+    private long connectTimeoutMs;
+
+    @Value("${app.http-client.read-timeout-ms:3000}")
+    private long readTimeoutMs;
+
+    @Value("${app.http-client.pool-timeout-ms:1000}")
+    private long poolTimeoutMs;
+
+    @Value("${app.http-client.idle-eviction-seconds:30}")
+    private long idleEvictionSeconds;
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient outboundHttpClient() {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(idleEvictionSeconds))
+                .build();
+    }
+
+    @Bean
+    public RestTemplate outboundRestTemplate(RestTemplateBuilder builder, CloseableHttpClient outboundHttpClient) {
+        return builder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(outboundHttpClient))
+                .build();
+    }
+}
@@ -0,0 +1,41 @@
+package com.academic.erp.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-user request budgets, bound from {@code app.rate-limit.*}.
+ * Rules are checked in order and the first one matching the request applies.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /** Upper bound on tracked (user, rule) buckets */
+    private long maxBuckets = 100_000;
+
+    /** Buckets untouched for this long are dropped (they would be full again anyway) */
+    private Duration idleExpiry = Duration.ofMinutes(10);
+
+    private List<Rule> rules = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Rule {
+        private String name;
+        /** HTTP method, or null for any method */
+        private String method;
+        /** Path pattern, e.g. /api/domains/{id}/impact or /api/** */
+        private String path;
+        private int capacity;
+        private Duration period = Duration.ofMinutes(1);
+    }
+}
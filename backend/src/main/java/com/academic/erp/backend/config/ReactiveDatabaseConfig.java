@@ -0,0 +1,67 @@
+package com.academic.erp.backend.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.time.Duration;
+
+/**
+ * Non-blocking database access for the read-only /api/reactive endpoints. The R2DBC connection
+ * pool is kept inside this configuration rather than published as a ConnectionFactory bean:
+ * Spring Boot backs off its JDBC DataSource as soon as one exists, and JPA, Flyway and every
+ * write stay on JDBC. Only the {@link DatabaseClient} is exposed.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.reactive-api.enabled", havingValue = "true", matchIfMissing = true)
+public class ReactiveDatabaseConfig implements DisposableBean {
+
+    @Value("${app.reactive-api.r2dbc-url:r2dbc:mysql://localhost:3306/erp_admission}")
+    private String url;
+
+    @Value("${app.reactive-api.username:${spring.datasource.username}}")
+    private String username;
+
+    @Value("${app.reactive-api.password:${spring.datasource.password}}")
+    private String password;
+
+    @Value("${app.reactive-api.max-connections:10}")
+    private int maxConnections;
+
+    @Value("${app.reactive-api.acquire-timeout-ms:2000}")
+    private long acquireTimeoutMs;
+
+    @Value("${app.reactive-api.max-idle-seconds:300}")
+    private long maxIdleSeconds;
+
+    private ConnectionPool connectionPool;
+
+    @Bean
+    public DatabaseClient reactiveDatabaseClient() {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .name("reactive-api")
+                .maxSize(maxConnections)
+                .maxAcquireTime(Duration.ofMillis(acquireTimeoutMs))
+                .maxIdleTime(Duration.ofSeconds(maxIdleSeconds))
+                .build());
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @Override
+    public void destroy() {
+        if (connectionPool != null) {
+            connectionPool.dispose();
+        }
+    }
+}
@@ -1,13 +1,20 @@
 package com.academic.erp.backend.config;
 
 import com.academic.erp.backend.filter.JwtAuthenticationFilter;
+import com.academic.erp.backend.filter.RateLimitFilter;
+import com.academic.erp.backend.filter.WriteConcurrencyLimitFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 @Configuration
@@ -16,6 +23,8 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
+    private final ObjectProvider<WriteConcurrencyLimitFilter> writeConcurrencyLimitFilter;
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
@@ -31,18 +40,43 @@ public class SecurityConfig {
                     config.addAllowedHeader("*");
                     return config;
                 }))
+                // Every request carries its own credentials (session token cookie), so no node keeps state
                 .sessionManagement(session -> session
-                        .sessionCreationPolicy(SessionCreationPolicy.IF_REQUIRED))
+                        .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/login", "/oauth2/callback", "/signout", "/api/health", "/api/database/init").permitAll()
-                        .requestMatchers("/api/auth/me").permitAll()
+                        // Async dispatches (SSE change feed) were already authorized on the initial request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        .requestMatchers("/login", "/oauth2/callback", "/signout", "/api/health", "/api/database/init", "/actuator/health").permitAll()
+                        .requestMatchers("/api/auth/me", "/api/auth/refresh").permitAll()
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html").permitAll()
                         .anyRequest().authenticated()
                 )
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                // Needs the principal set by JwtAuthenticationFilter
+                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class)
                 .httpBasic(httpBasic -> httpBasic.disable())
                 .formLogin(formLogin -> formLogin.disable());
 
+        // Last in the chain, so only authorized requests take a write slot
+        writeConcurrencyLimitFilter.ifAvailable(filter -> http.addFilterAfter(filter, AuthorizationFilter.class));
+
         return http.build();
     }
+
+    // These filters run inside the security chain; keep Spring Boot from also registering them as servlet filters
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter filter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.write-limiter.enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<WriteConcurrencyLimitFilter> writeConcurrencyLimitFilterRegistration(
+            WriteConcurrencyLimitFilter filter) {
+        FilterRegistrationBean<WriteConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
 }
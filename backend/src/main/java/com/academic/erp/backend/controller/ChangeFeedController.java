@@ -0,0 +1,64 @@
+package com.academic.erp.backend.controller;
+
+import com.academic.erp.backend.dto.ChangeEventDto;
+import com.academic.erp.backend.dto.ChangeSetDto;
+import com.academic.erp.backend.service.ChangeLogService;
+import com.academic.erp.backend.service.ChangeFeedService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/changes")
+@RequiredArgsConstructor
+@CrossOrigin
+@Tag(name = "Change Feed", description = "APIs for following domain and student changes (live stream and delta sync)")
+@SecurityRequirement(name = "bearer-jwt")
+public class ChangeFeedController {
+
+    private static final String SUBSCRIBE_RETRY_AFTER_SECONDS = "30";
+
+    private final ChangeFeedService changeFeedService;
+    private final ChangeLogService changeLogService;
+
+    @Operation(summary = "Get changes since a version", description = "Return the inserts, updates and deletes recorded after the given change version, oldest first. " +
+            "Poll again with 'nextSince'; start from 0 after a full initial load. Changes are kept for app.change-log.retention-days: " +
+            "if some after 'since' were purged, the response is 410 with 'resyncRequired' set, and the client reloads its lists and continues from 'nextSince'.")
+    @ApiResponse(responseCode = "200", description = "Page of changes",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ChangeSetDto.class)))
+    @ApiResponse(responseCode = "410", description = "Changes after 'since' were purged; reload and continue from 'nextSince'",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ChangeSetDto.class)))
+    @GetMapping
+    public ResponseEntity<ChangeSetDto> getChangesSince(
+            @Parameter(description = "Last change version already processed", example = "0") @RequestParam(defaultValue = "0") Long since,
+            @Parameter(description = "Maximum number of changes to return (1-1000)", example = "500") @RequestParam(defaultValue = "500") int limit) {
+        ChangeSetDto changes = changeLogService.getChangesSince(since, limit);
+        return ResponseEntity.status(changes.getResyncRequired() ? HttpStatus.GONE : HttpStatus.OK).body(changes);
+    }
+
+    @Operation(summary = "Subscribe to change events", description = "Server-Sent Events stream of committed domain and student changes. " +
+            "Each 'change' event carries a ChangeEventDto; a 'resync' event means events were dropped and lists should be reloaded.")
+    @ApiResponse(responseCode = "200", description = "Event stream opened",
+            content = @Content(mediaType = "text/event-stream", schema = @Schema(implementation = ChangeEventDto.class)))
+    @ApiResponse(responseCode = "503", description = "Too many subscribers; retry after the Retry-After delay or fall back to polling")
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> subscribe() {
+        // No error body: it could not be written as text/event-stream
+        return changeFeedService.subscribe()
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, SUBSCRIBE_RETRY_AFTER_SECONDS)
+                        .build());
+    }
+}
@@ -1,9 +1,13 @@
 package com.academic.erp.backend.controller;
 
+import com.academic.erp.backend.cache.ResponseCache;
 import com.academic.erp.backend.dto.DomainRequestDto;
 import com.academic.erp.backend.dto.DomainResponseDto;
 import com.academic.erp.backend.dto.DomainUpdateImpactDto;
+import com.academic.erp.backend.dto.MarksStatisticsDto;
+import com.academic.erp.backend.dto.MarksStatisticsReportDto;
 import com.academic.erp.backend.service.DomainService;
+import com.academic.erp.backend.service.MarksStatisticsService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,14 +16,13 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/domains")
 @RequiredArgsConstructor
@@ -29,13 +32,18 @@ import java.util.List;
 public class DomainController {
 
     private final DomainService domainService;
+    private final ResponseCache responseCache;
+    private final MarksStatisticsService marksStatisticsService;
 
-    @Operation(summary = "Get all domains", description = "Retrieve a list of all academic domains/programs")
-    @ApiResponse(responseCode = "200", description = "Successfully retrieved list of domains",
-            content = @Content(mediaType = "application/json", schema = @Schema(implementation = DomainResponseDto.class)))
+    @Operation(summary = "Get all domains", description = "Retrieve a list of all academic domains/programs. Supports ETag revalidation (If-None-Match) and gzip encoding.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved list of domains",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = DomainResponseDto.class))),
+            @ApiResponse(responseCode = "304", description = "Domain list has not changed since the supplied ETag")
+    })
     @GetMapping
-    public List<DomainResponseDto> getAllDomains() {
-        return domainService.getAllDomains();
+    public ResponseEntity<byte[]> getAllDomains(HttpServletRequest request) {
+        return responseCache.domainList(request, domainService::getAllDomains);
     }
 
     @Operation(summary = "Get domain by ID", description = "Retrieve a specific domain by its ID")
@@ -50,6 +58,26 @@ public class DomainController {
         return domainService.getDomainById(domainId);
     }
 
+    @Operation(summary = "Get marks statistics for all domains", description = "Compute mean, median, p90, min and max exam marks of admitted students for every domain, plus the all-domains aggregate, in one pass over the database")
+    @ApiResponse(responseCode = "200", description = "Statistics computed successfully",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = MarksStatisticsReportDto.class)))
+    @GetMapping("/statistics")
+    public MarksStatisticsReportDto getAllDomainStatistics() {
+        return marksStatisticsService.computeAllDomainStatistics();
+    }
+
+    @Operation(summary = "Get marks statistics for a domain", description = "Mean, median, p90, min and max exam marks of the domain's admitted students and the marks of the most recently admitted student")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = MarksStatisticsDto.class))),
+            @ApiResponse(responseCode = "404", description = "Domain not found")
+    })
+    @GetMapping("/{domainId}/statistics")
+    public MarksStatisticsDto getDomainStatistics(
+            @Parameter(description = "Domain ID", required = true) @PathVariable Long domainId) {
+        return marksStatisticsService.getDomainStatistics(domainId);
+    }
+
     @Operation(summary = "Create a new domain", description = "Create a new academic domain/program")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Domain created successfully",
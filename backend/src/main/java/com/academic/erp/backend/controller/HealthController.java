@@ -41,28 +41,28 @@ public class HealthController {
         );
     }
 
-    @Operation(summary = "Initialize database", description = "Create missing database tables on demand (Public endpoint - Development only)")
+    @Operation(summary = "Initialize database", description = "Apply pending schema migrations on demand (Public endpoint - Development only)")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Database tables created successfully"),
-            @ApiResponse(responseCode = "500", description = "Failed to create tables")
+            @ApiResponse(responseCode = "200", description = "Schema is up to date"),
+            @ApiResponse(responseCode = "500", description = "Failed to apply migrations")
     })
     @PostMapping("/api/database/init")
     public ResponseEntity<Map<String, Object>> initializeDatabase() {
         Map<String, Object> response = new HashMap<>();
         try {
-            boolean success = databaseInitializationService.createMissingTablesOnDemand();
+            boolean success = databaseInitializationService.applyPendingMigrations();
             if (success) {
                 response.put("status", "success");
-                response.put("message", "Database tables created successfully");
+                response.put("message", "Database schema is up to date");
                 return ResponseEntity.ok(response);
             } else {
                 response.put("status", "error");
-                response.put("message", "Failed to create some tables. Please check logs.");
+                response.put("message", "Failed to apply some migrations. Please check logs.");
                 return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
             }
         } catch (Exception e) {
             response.put("status", "error");
-            response.put("message", "Error creating tables: " + e.getMessage());
+            response.put("message", "Error applying migrations: " + e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
         }
     }
@@ -1,7 +1,10 @@
 package com.academic.erp.backend.controller;
 
+import com.academic.erp.backend.cache.ValidatedTokenCache;
 import com.academic.erp.backend.dto.TokenExchangeResponse;
 import com.academic.erp.backend.dto.TokenInfoResponse;
+import com.academic.erp.backend.security.AuthenticatedUser;
+import com.academic.erp.backend.service.SessionTokenService;
 import com.academic.erp.backend.service.TokenService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -11,12 +14,12 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.view.RedirectView;
 
@@ -36,7 +39,14 @@ public class OAuthController {
     @Value("${google.redirect-uri}")
     private String redirectUri;
 
+    @Value("${app.refresh-cookie.max-age-days:30}")
+    private int refreshCookieMaxAgeDays;
+
+    private static final String REFRESH_COOKIE_PATH = "/api/auth/refresh";
+
     private final TokenService tokenService;
+    private final ValidatedTokenCache validatedTokenCache;
+    private final SessionTokenService sessionTokenService;
 
     @Operation(summary = "Login with Google OAuth2", description = "Redirects to Google OAuth2 login page (Public endpoint)")
     @ApiResponse(responseCode = "302", description = "Redirect to Google OAuth2")
@@ -81,20 +91,13 @@ public class OAuthController {
             // Validate ID token and get user info
             TokenInfoResponse tokenInfo = tokenService.validateIdToken(tokenResponse.getIdToken());
 
-            // Store access token and refresh token in session
-            HttpSession session = request.getSession(true);
-            session.setAttribute("access_token", tokenResponse.getAccessToken());
+            // Keep the refresh token client-side (encrypted) so no server session is needed
             if (tokenResponse.getRefreshToken() != null) {
-                session.setAttribute("refresh_token", tokenResponse.getRefreshToken());
+                response.addCookie(refreshCookie(sessionTokenService.encryptRefreshToken(tokenResponse.getRefreshToken())));
             }
 
-            // Set ID token in HTTP-only cookie (allow login for all emails)
-            Cookie idTokenCookie = new Cookie("id_token", tokenResponse.getIdToken());
-            idTokenCookie.setHttpOnly(true);
-            idTokenCookie.setSecure(false); // Set to true in production with HTTPS
-            idTokenCookie.setPath("/");
-            idTokenCookie.setMaxAge(3600); // 1 hour
-            response.addCookie(idTokenCookie);
+            // Google has vouched for the user; from here on our own session token is used
+            response.addCookie(sessionCookie(sessionTokenService.issue(tokenInfo)));
 
             // Allow all authenticated users to access the system
             // Redirect to domains list page
@@ -112,19 +115,16 @@ public class OAuthController {
     @ApiResponse(responseCode = "200", description = "Successfully signed out")
     @PostMapping("/signout")
     public ResponseEntity<Void> signout(HttpServletRequest request, HttpServletResponse response) {
-        // Clear session
-        HttpSession session = request.getSession(false);
-        if (session != null) {
-            session.invalidate();
+        // Forget the cached validation so the token stops working here immediately
+        String idToken = extractIdTokenFromCookie(request);
+        if (idToken != null) {
+            validatedTokenCache.evict(idToken);
         }
 
-        // Delete ID token cookie
-        Cookie idTokenCookie = new Cookie("id_token", "");
-        idTokenCookie.setHttpOnly(true);
-        idTokenCookie.setSecure(false);
-        idTokenCookie.setPath("/");
-        idTokenCookie.setMaxAge(0);
-        response.addCookie(idTokenCookie);
+        // Delete session, refresh and (legacy) ID token cookies
+        response.addCookie(expiredCookie(SessionTokenService.COOKIE_NAME, "/"));
+        response.addCookie(expiredCookie(SessionTokenService.REFRESH_COOKIE_NAME, REFRESH_COOKIE_PATH));
+        response.addCookie(expiredCookie("id_token", "/"));
 
         // Clear security context
         org.springframework.security.core.context.SecurityContextHolder.clearContext();
@@ -132,33 +132,90 @@ public class OAuthController {
         return ResponseEntity.ok().build();
     }
 
-    @Operation(summary = "Get current user", description = "Get the currently authenticated user information from ID token (Public endpoint)")
+    @Operation(summary = "Get current user", description = "Get the currently authenticated user from the claims verified for this request (Public endpoint)")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "User information retrieved"),
             @ApiResponse(responseCode = "401", description = "Not authenticated")
     })
     @GetMapping("/api/auth/me")
-    public ResponseEntity<TokenInfoResponse> getCurrentUser(HttpServletRequest request) {
-        String idToken = extractIdTokenFromCookie(request);
+    public ResponseEntity<TokenInfoResponse> getCurrentUser(@AuthenticationPrincipal AuthenticatedUser user) {
+        // JwtAuthenticationFilter has already verified the cookie for this request
+        if (user == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
 
-        if (idToken != null) {
-            try {
-                TokenInfoResponse tokenInfo = tokenService.validateIdToken(idToken);
-                return ResponseEntity.ok(tokenInfo);
-            } catch (Exception e) {
-                log.error("Error getting current user", e);
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        TokenInfoResponse tokenInfo = new TokenInfoResponse();
+        tokenInfo.setEmail(user.email());
+        tokenInfo.setName(user.name());
+        tokenInfo.setPicture(user.picture());
+        tokenInfo.setExp(user.exp());
+        return ResponseEntity.ok(tokenInfo);
+    }
+
+    @Operation(summary = "Refresh session", description = "Obtains a fresh Google ID token with the stored refresh token and re-issues the session token cookie (Public endpoint)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Session refreshed"),
+            @ApiResponse(responseCode = "401", description = "No refresh token available or it was rejected by Google")
+    })
+    @PostMapping("/api/auth/refresh")
+    public ResponseEntity<TokenInfoResponse> refreshSession(HttpServletRequest request, HttpServletResponse response) {
+        String refreshCookie = extractCookie(request, SessionTokenService.REFRESH_COOKIE_NAME);
+        if (refreshCookie == null || refreshCookie.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        try {
+            String refreshToken = sessionTokenService.decryptRefreshToken(refreshCookie);
+            TokenExchangeResponse tokenResponse = tokenService.refreshTokens(refreshToken);
+            TokenInfoResponse tokenInfo = tokenService.validateIdToken(tokenResponse.getIdToken());
+            if (tokenResponse.getRefreshToken() != null) {
+                response.addCookie(refreshCookie(sessionTokenService.encryptRefreshToken(tokenResponse.getRefreshToken())));
             }
+            response.addCookie(sessionCookie(sessionTokenService.issue(tokenInfo)));
+            return ResponseEntity.ok(tokenInfo);
+        } catch (Exception e) {
+            log.warn("Session refresh failed: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
+    }
+
+    private Cookie sessionCookie(String sessionToken) {
+        Cookie cookie = new Cookie(SessionTokenService.COOKIE_NAME, sessionToken);
+        cookie.setHttpOnly(true);
+        cookie.setSecure(false); // Set to true in production with HTTPS
+        cookie.setPath("/");
+        cookie.setMaxAge((int) (sessionTokenService.getExpirationMs() / 1000));
+        return cookie;
+    }
+
+    private Cookie refreshCookie(String encryptedRefreshToken) {
+        Cookie cookie = new Cookie(SessionTokenService.REFRESH_COOKIE_NAME, encryptedRefreshToken);
+        cookie.setHttpOnly(true);
+        cookie.setSecure(false); // Set to true in production with HTTPS
+        // Only sent to the refresh endpoint
+        cookie.setPath(REFRESH_COOKIE_PATH);
+        cookie.setMaxAge(refreshCookieMaxAgeDays * 24 * 60 * 60);
+        return cookie;
+    }
 
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+    private static Cookie expiredCookie(String name, String path) {
+        Cookie cookie = new Cookie(name, "");
+        cookie.setHttpOnly(true);
+        cookie.setSecure(false);
+        cookie.setPath(path);
+        cookie.setMaxAge(0);
+        return cookie;
     }
 
     private String extractIdTokenFromCookie(HttpServletRequest request) {
+        return extractCookie(request, "id_token");
+    }
+
+    private String extractCookie(HttpServletRequest request, String name) {
         jakarta.servlet.http.Cookie[] cookies = request.getCookies();
         if (cookies != null) {
             for (jakarta.servlet.http.Cookie cookie : cookies) {
-                if ("id_token".equals(cookie.getName())) {
+                if (name.equals(cookie.getName())) {
                     return cookie.getValue();
                 }
             }
@@ -166,4 +223,3 @@ public class OAuthController {
         return null;
     }
 }
-
@@ -0,0 +1,73 @@
+package com.academic.erp.backend.controller;
+
+import com.academic.erp.backend.dto.DomainResponseDto;
+import com.academic.erp.backend.dto.StudentResponseDto;
+import com.academic.erp.backend.service.ReactiveReadService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking mirror of the domain and roster reads. The request thread is released while the
+ * query runs over R2DBC. Lists are streamed as application/x-ndjson, each row written and flushed as
+ * it arrives, unless the client asks for application/json specifically, which collects one array.
+ */
+@RestController
+@RequestMapping("/api/reactive")
+@RequiredArgsConstructor
+@CrossOrigin
+@ConditionalOnProperty(name = "app.reactive-api.enabled", havingValue = "true", matchIfMissing = true)
+@Tag(name = "Reactive Reads", description = "Non-blocking, streamable reads of domains and rosters")
+@SecurityRequirement(name = "bearer-jwt")
+public class ReactiveReadController {
+
+    private final ReactiveReadService reactiveReadService;
+
+    @Operation(summary = "Get all domains", description = "Retrieve all academic domains with their active student counts. "
+            + "Streamed as application/x-ndjson (one domain per line) unless application/json is requested.")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved list of domains",
+            content = {
+                    @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = DomainResponseDto.class)),
+                    @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = DomainResponseDto.class))
+            })
+    @GetMapping(value = "/domains", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<DomainResponseDto> getAllDomains() {
+        return reactiveReadService.getAllDomains();
+    }
+
+    @Operation(summary = "Get domain by ID", description = "Retrieve a specific domain with its active student count")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Domain found",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = DomainResponseDto.class))),
+            @ApiResponse(responseCode = "404", description = "Domain not found")
+    })
+    @GetMapping(value = "/domains/{domainId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<DomainResponseDto> getDomainById(
+            @Parameter(description = "Domain ID", required = true) @PathVariable Long domainId) {
+        return reactiveReadService.getDomainById(domainId);
+    }
+
+    @Operation(summary = "Get students by domain", description = "Retrieve the active students of a domain, ordered by student ID. "
+            + "Streamed as application/x-ndjson (one student per line) unless application/json is requested.")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved students for the domain",
+            content = {
+                    @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = StudentResponseDto.class)),
+                    @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = StudentResponseDto.class))
+            })
+    @GetMapping(value = "/students/domain/{domainId}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<StudentResponseDto> getStudentsByDomain(
+            @Parameter(description = "Domain ID", required = true) @PathVariable Long domainId) {
+        return reactiveReadService.getStudentsByDomain(domainId);
+    }
+}
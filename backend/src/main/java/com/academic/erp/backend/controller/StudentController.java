@@ -2,6 +2,8 @@ package com.academic.erp.backend.controller;
 
 import com.academic.erp.backend.dto.StudentResponseDto;
 import com.academic.erp.backend.dto.StudentUpdateRequestDto;
+import com.academic.erp.backend.exception.BusinessException;
+import com.academic.erp.backend.exception.ErrorCode;
 import com.academic.erp.backend.service.StudentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -52,7 +54,7 @@ public class StudentController {
             @Valid @RequestBody StudentUpdateRequestDto request) {
         // Validate that path studentId matches request body studentId
         if (!studentId.equals(request.getStudentId())) {
-            throw new IllegalArgumentException("Path studentId (" + studentId + ") does not match request body studentId (" + request.getStudentId() + ")");
+            throw new BusinessException(ErrorCode.STUDENT_ID_MISMATCH, "Path studentId (" + studentId + ") does not match request body studentId (" + request.getStudentId() + ")");
         }
         return studentService.updateStudent(studentId, request);
     }
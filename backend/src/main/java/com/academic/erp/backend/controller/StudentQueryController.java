@@ -1,6 +1,11 @@
 package com.academic.erp.backend.controller;
 
+import com.academic.erp.backend.cache.ResponseCache;
+import com.academic.erp.backend.dto.StudentColumnsDto;
 import com.academic.erp.backend.dto.StudentResponseDto;
+import com.academic.erp.backend.exception.BusinessException;
+import com.academic.erp.backend.exception.ErrorCode;
+import com.academic.erp.backend.service.StudentArchiveService;
 import com.academic.erp.backend.service.StudentQueryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -10,7 +15,9 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -24,16 +31,56 @@ import java.util.List;
 public class StudentQueryController {
 
     private final StudentQueryService queryService;
+    private final ResponseCache responseCache;
+    private final StudentArchiveService studentArchiveService;
 
-    @Operation(summary = "Get students by domain", description = "Retrieve all students belonging to a specific domain")
+    @Operation(summary = "Get students by domain", description = "Retrieve all students belonging to a specific domain. "
+            + "Use 'fields' to return only the listed StudentResponseDto fields and 'format=columnar' to return one array per field "
+            + "instead of one object per student. Supports ETag revalidation (If-None-Match) and gzip encoding.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved students for the domain",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = StudentResponseDto.class))),
+                    content = @Content(mediaType = "application/json", schema = @Schema(oneOf = {StudentResponseDto.class, StudentColumnsDto.class}))),
+            @ApiResponse(responseCode = "304", description = "Roster has not changed since the supplied ETag"),
+            @ApiResponse(responseCode = "400", description = "Unknown field or format requested"),
             @ApiResponse(responseCode = "404", description = "Domain not found")
     })
     @GetMapping("/domain/{domainId}")
-    public List<StudentResponseDto> getStudentsByDomain(
-            @Parameter(description = "Domain ID", required = true) @PathVariable Long domainId) {
-        return queryService.getStudentsByDomain(domainId);
+    public ResponseEntity<byte[]> getStudentsByDomain(
+            @Parameter(description = "Domain ID", required = true) @PathVariable Long domainId,
+            @Parameter(description = "Comma separated fields to include, e.g. rollNumber,firstName,examMarks (default: all)")
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "Response shape: 'rows' (array of objects, default) or 'columnar'")
+            @RequestParam(defaultValue = "rows") String format,
+            HttpServletRequest request) {
+        boolean columnar = switch (format) {
+            case "rows" -> false;
+            case "columnar" -> true;
+            default -> throw new BusinessException(ErrorCode.INVALID_REQUEST_PARAMETER, "Unknown format '" + format + "'. Allowed formats: rows, columnar");
+        };
+        if (fields == null && !columnar) {
+            return responseCache.roster(domainId, request, () -> queryService.getStudentsByDomain(domainId));
+        }
+
+        List<String> selected = queryService.resolveFields(fields);
+        String variant = format + ":" + String.join(",", selected);
+        if (columnar) {
+            return responseCache.roster(domainId, variant, request,
+                    () -> queryService.getStudentColumnsByDomain(domainId, selected));
+        }
+        return responseCache.roster(domainId, variant, request,
+                () -> queryService.getStudentFieldsByDomain(domainId, selected));
+    }
+
+    @Operation(summary = "Get archived student by roll number", description = "Look up a student of a graduated batch "
+            + "that the archival job has moved out of the live tables")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Archived student found",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = StudentResponseDto.class))),
+            @ApiResponse(responseCode = "404", description = "No archived student with this roll number")
+    })
+    @GetMapping("/archive/{rollNumber}")
+    public StudentResponseDto getArchivedStudent(
+            @Parameter(description = "Roll number", required = true) @PathVariable String rollNumber) {
+        return studentArchiveService.getArchivedStudent(rollNumber);
     }
 }
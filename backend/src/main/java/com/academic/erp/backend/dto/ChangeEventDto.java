@@ -0,0 +1,35 @@
+package com.academic.erp.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.Set;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Compact change notification published on the change feed")
+public class ChangeEventDto {
+
+    @Schema(description = "Feed sequence number, increasing for the lifetime of the server", example = "42")
+    private Long sequence;
+
+    @Schema(description = "Type of the changed entity", example = "STUDENT")
+    private String entityType;
+
+    @Schema(description = "Kind of change", example = "CREATED")
+    private String changeType;
+
+    @Schema(description = "ID of the changed domain or student", example = "7")
+    private Long entityId;
+
+    @Schema(description = "Domains whose roster or student count may have changed", example = "[1]")
+    private Set<Long> domainIds;
+
+    @Schema(description = "Resulting DomainResponseDto or StudentResponseDto; omitted for deletions")
+    private Object data;
+}
@@ -0,0 +1,40 @@
+package com.academic.erp.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "A single versioned insert, update or delete")
+public class ChangeLogEntryDto {
+
+    @Schema(description = "Monotonic change version", example = "1042")
+    private Long version;
+
+    @Schema(description = "Type of the changed entity", example = "STUDENT")
+    private String entityType;
+
+    @Schema(description = "ID of the changed domain or student", example = "7")
+    private Long entityId;
+
+    @Schema(description = "Kind of change", example = "UPDATED")
+    private String changeType;
+
+    @Schema(description = "Domain the entity belongs to", example = "1")
+    private Long domainId;
+
+    @Schema(description = "Row snapshot after the change; omitted for deletions")
+    @JsonRawValue
+    private String data;
+
+    @Schema(description = "When the change was recorded")
+    private LocalDateTime changedAt;
+}
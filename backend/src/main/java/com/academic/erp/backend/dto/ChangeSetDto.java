@@ -0,0 +1,31 @@
+package com.academic.erp.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Page of changes recorded after a given version")
+public class ChangeSetDto {
+
+    @Schema(description = "Version the page starts after", example = "1000")
+    private Long since;
+
+    @Schema(description = "Version to pass as 'since' on the next poll", example = "1042")
+    private Long nextSince;
+
+    @Schema(description = "Whether more changes are available right away", example = "false")
+    private Boolean hasMore;
+
+    @Schema(description = "Whether changes after 'since' were already purged: reload the lists, then poll from 'nextSince'",
+            example = "false")
+    private Boolean resyncRequired;
+
+    @Schema(description = "Changes in version order")
+    private List<ChangeLogEntryDto> changes;
+}
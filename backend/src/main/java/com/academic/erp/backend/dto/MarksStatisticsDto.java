@@ -0,0 +1,37 @@
+package com.academic.erp.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Exam marks distribution of the active (admitted) students of a domain")
+public class MarksStatisticsDto {
+
+    @Schema(description = "Domain ID; null for the all-domains aggregate", example = "1")
+    private Long domainId;
+
+    @Schema(description = "Number of admitted students", example = "58")
+    private Long admittedCount;
+
+    @Schema(description = "Mean exam marks", example = "84.37")
+    private Double mean;
+
+    @Schema(description = "Median exam marks (nearest rank)", example = "83.50")
+    private Double median;
+
+    @Schema(description = "90th percentile exam marks (nearest rank)", example = "95.25")
+    private Double p90;
+
+    @Schema(description = "Lowest exam marks among admitted students", example = "75.00")
+    private Double min;
+
+    @Schema(description = "Highest exam marks among admitted students", example = "99.10")
+    private Double max;
+
+    @Schema(description = "Exam marks of the most recently admitted student; not available for the aggregate", example = "78.40")
+    private Double lastAdmittedMarks;
+}
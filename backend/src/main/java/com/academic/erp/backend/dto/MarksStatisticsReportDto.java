@@ -0,0 +1,21 @@
+package com.academic.erp.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Exam marks statistics for every domain plus the all-domains aggregate")
+public class MarksStatisticsReportDto {
+
+    @Schema(description = "Statistics across all domains")
+    private MarksStatisticsDto overall;
+
+    @Schema(description = "Statistics per domain")
+    private List<MarksStatisticsDto> domains;
+}
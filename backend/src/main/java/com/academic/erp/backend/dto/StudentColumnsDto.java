@@ -0,0 +1,25 @@
+package com.academic.erp.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Compact columnar student list: one array of values per field instead of one object per student")
+public class StudentColumnsDto {
+
+    @Schema(description = "Field names, in column order", example = "[\"rollNumber\", \"firstName\"]")
+    private List<String> fields;
+
+    @Schema(description = "Number of students (length of every column)", example = "2")
+    private Integer count;
+
+    @Schema(description = "Column values keyed by field name", example = "{\"rollNumber\": [\"BT2024001\", \"BT2024002\"], \"firstName\": [\"John\", \"Jane\"]}")
+    private Map<String, List<Object>> columns;
+}
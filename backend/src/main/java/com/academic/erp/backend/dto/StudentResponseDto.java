@@ -3,6 +3,8 @@ package com.academic.erp.backend.dto;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
 
+import java.time.LocalDateTime;
+
 @Getter
 @Setter
 @NoArgsConstructor
@@ -37,4 +39,10 @@ public class StudentResponseDto {
     
     @Schema(description = "Student's exam marks", example = "80.50")
     private Double examMarks;
+    
+    @Schema(description = "Whether the student currently holds an active seat in the domain", example = "true")
+    private Boolean active;
+
+    @Schema(description = "When the student was admitted", example = "2024-07-15T10:30:00")
+    private LocalDateTime createdAt;
 }
@@ -0,0 +1,56 @@
+package com.academic.erp.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * A student of a graduated batch, moved out of the partitioned students table by the archival job.
+ * Keeps the original student ID and a copy of the program, since the domain may since be gone.
+ */
+@Entity
+@Table(name = "students_archive")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedStudent {
+
+    @Id
+    @Column(name = "student_id")
+    private Long studentId;
+
+    @Column(name = "roll_number", length = 50)
+    private String rollNumber;
+
+    @Column(name = "first_name", nullable = false, length = 120)
+    private String firstName;
+
+    @Column(name = "last_name", nullable = false, length = 120)
+    private String lastName;
+
+    @Column(nullable = false, length = 255)
+    private String email;
+
+    @Column(name = "domain_id", nullable = false)
+    private Long domainId;
+
+    @Column(name = "domain_program", nullable = false, length = 120)
+    private String domainProgram;
+
+    @Column(name = "join_year", nullable = false)
+    private Integer joinYear;
+
+    @Column(name = "exam_marks", nullable = false, columnDefinition = "DECIMAL(5,2)")
+    private Double examMarks;
+
+    @Column(name = "is_active", nullable = false)
+    private Boolean isActive;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
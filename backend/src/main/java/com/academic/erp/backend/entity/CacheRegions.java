@@ -0,0 +1,14 @@
+package com.academic.erp.backend.entity;
+
+/**
+ * Names of the Hibernate second-level cache regions. Every region must be created up front by
+ * {@code HibernateCacheConfig} with its size bounds; Hibernate refuses to start on an unknown one.
+ */
+public final class CacheRegions {
+
+    public static final String DOMAINS = "domains";
+    public static final String DOMAIN_BY_PROGRAM = "domain-by-program";
+
+    private CacheRegions() {
+    }
+}
@@ -0,0 +1,50 @@
+package com.academic.erp.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "change_log")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChangeLogEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "change_log_id_generator")
+    @TableGenerator(name = "change_log_id_generator", table = IdGenerators.TABLE, pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "change_log", allocationSize = IdGenerators.ALLOCATION_SIZE)
+    @Column(name = "change_id")
+    private Long changeId;
+
+    // Null until the sequencer numbers the committed row (ChangeLogServiceImpl.assignVersions)
+    @Column(name = "change_version")
+    private Long changeVersion;
+
+    @Column(name = "entity_type", nullable = false, length = 20)
+    private String entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "change_type", nullable = false, length = 20)
+    private String changeType;
+
+    @Column(name = "domain_id")
+    private Long domainId;
+
+    // JSON snapshot of the row after the change; null for deletions
+    @Column(columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    @PrePersist
+    public void onCreate() {
+        this.changedAt = LocalDateTime.now();
+    }
+}
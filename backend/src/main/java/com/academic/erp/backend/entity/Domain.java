@@ -4,10 +4,15 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "domains")
+// Read on every admission and student update but rarely changed; READ_WRITE keeps it consistent
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.DOMAINS)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -16,7 +21,10 @@ import java.time.LocalDateTime;
 public class Domain {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Table-backed pooled IDs (MySQL has no sequences): IDENTITY would disable JDBC insert batching
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "domain_id_generator")
+    @TableGenerator(name = "domain_id_generator", table = IdGenerators.TABLE, pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "domains", allocationSize = IdGenerators.ALLOCATION_SIZE)
     @Column(name = "domain_id")
     private Long domainId;
 
@@ -0,0 +1,16 @@
+package com.academic.erp.backend.entity;
+
+/**
+ * Shared settings of the table-based ID generators used by {@link Student}, {@link Domain} and
+ * {@link ChangeLogEntry}. Each row of {@code id_generators} holds the upper bound of the last block
+ * of IDs handed out; every application instance reserves {@link #ALLOCATION_SIZE} IDs per round
+ * trip to that table.
+ */
+public final class IdGenerators {
+
+    public static final String TABLE = "id_generators";
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdGenerators() {
+    }
+}
@@ -1,5 +1,7 @@
 package com.academic.erp.backend.entity;
 
+import com.academic.erp.backend.exception.BusinessException;
+import com.academic.erp.backend.exception.ErrorCode;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.LocalDateTime;
@@ -14,11 +16,14 @@ import java.time.LocalDateTime;
 public class Student {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Table-backed pooled IDs (MySQL has no sequences): IDENTITY would disable JDBC insert batching
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "student_id_generator")
+    @TableGenerator(name = "student_id_generator", table = IdGenerators.TABLE, pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "students", allocationSize = IdGenerators.ALLOCATION_SIZE)
     @Column(name = "student_id")
     private Long studentId;
 
-    @Column(name = "roll_number", unique = true, length = 50)
+    @Column(name = "roll_number", length = 50)
     private String rollNumber;
 
     @Column(name = "first_name", nullable = false, length = 120)
@@ -27,10 +32,11 @@ public class Student {
     @Column(name = "last_name", nullable = false, length = 120)
     private String lastName;
 
-    @Column(nullable = false, unique = true, length = 255)
+    @Column(nullable = false, length = 255)
     private String email;
 
-    @ManyToOne(fetch = FetchType.LAZY)
+    // optional = false: lets derived queries on domain.domainId use students.domain_id instead of an outer join
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "domain_id", nullable = false)
     private Domain domain;
 
@@ -54,7 +60,7 @@ public class Student {
         // examMarks is required, so it should always be set before persisting
         // If somehow null, throw exception to catch data issues early
         if (this.examMarks == null) {
-            throw new IllegalStateException("Exam marks is required and cannot be null");
+            throw new BusinessException(ErrorCode.EXAM_MARKS_REQUIRED, "Exam marks is required and cannot be null");
         }
         
         // Set isActive based on exam marks vs domain cutoff for this particular domain
@@ -0,0 +1,26 @@
+package com.academic.erp.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Registry of the emails held by live students. students is partitioned by join year, where a
+ * unique key would have to include join_year; this unpartitioned table's primary key is what keeps
+ * an email unique across intake years.
+ */
+@Entity
+@Table(name = "student_emails")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StudentEmail {
+
+    @Id
+    @Column(length = 255)
+    private String email;
+
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+}
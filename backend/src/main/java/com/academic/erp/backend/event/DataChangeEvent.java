@@ -0,0 +1,34 @@
+package com.academic.erp.backend.event;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Published by the write services whenever a domain or student is created, updated or deleted.
+ * domainIds lists every domain whose roster or student count may have changed; payload carries
+ * the resulting response DTO (null for deletions) so listeners never have to reload the entity.
+ */
+public record DataChangeEvent(EntityType entityType, ChangeType changeType, Long entityId, Set<Long> domainIds,
+                              Object payload) {
+
+    public enum EntityType { DOMAIN, STUDENT }
+
+    /**
+     * ACTIVATED and DEACTIVATED mark students that entered or left the active roster
+     * as a side effect of another write (capacity or cutoff re-ranking).
+     */
+    public enum ChangeType { CREATED, UPDATED, DELETED, ACTIVATED, DEACTIVATED }
+
+    public static DataChangeEvent domain(ChangeType changeType, Long domainId, Object payload) {
+        return new DataChangeEvent(EntityType.DOMAIN, changeType, domainId, Set.of(domainId), payload);
+    }
+
+    public static DataChangeEvent student(ChangeType changeType, Long studentId, Object payload, Long... domainIds) {
+        Set<Long> ids = Arrays.stream(domainIds)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toUnmodifiableSet());
+        return new DataChangeEvent(EntityType.STUDENT, changeType, studentId, ids, payload);
+    }
+}
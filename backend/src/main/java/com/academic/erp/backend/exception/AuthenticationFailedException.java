@@ -0,0 +1,11 @@
+package com.academic.erp.backend.exception;
+
+/**
+ * Rejected credentials: bad authorization code, invalid or expired token.
+ */
+public class AuthenticationFailedException extends BusinessException {
+
+    public AuthenticationFailedException(String detail) {
+        super(ErrorCode.AUTHENTICATION_FAILED, detail);
+    }
+}
@@ -0,0 +1,33 @@
+package com.academic.erp.backend.exception;
+
+import lombok.Getter;
+
+/**
+ * Base class for errors the application raises on purpose. The {@link ErrorCode} decides the
+ * HTTP status and user-facing message, so GlobalExceptionHandler maps it without inspecting text.
+ * <p>
+ * Expected conditions (not found, capacity reached, bad credentials) are created without a stack
+ * trace: they are raised routinely and the trace would never be read. Failures that wrap a cause
+ * keep theirs.
+ */
+@Getter
+public class BusinessException extends RuntimeException {
+
+    private final ErrorCode errorCode;
+
+    /**
+     * Expected condition; no stack trace is captured.
+     */
+    public BusinessException(ErrorCode errorCode, String detail) {
+        super(detail, null, false, false);
+        this.errorCode = errorCode;
+    }
+
+    /**
+     * Failure caused by another exception; the stack trace is kept for diagnosis.
+     */
+    public BusinessException(ErrorCode errorCode, String detail, Throwable cause) {
+        super(detail, cause);
+        this.errorCode = errorCode;
+    }
+}
@@ -0,0 +1,78 @@
+package com.academic.erp.backend.exception;
+
+import org.hibernate.exception.ConstraintViolationException;
+
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Maps a database constraint violation to an {@link ErrorCode} from the SQL state, the vendor
+ * error code and the violated constraint's name, never from the message text. MySQL reports
+ * every integrity violation as SQL state 23000 and tells them apart by error code; H2 uses the
+ * standard SQL states. Duplicate emails do not get here: StudentEmailRegistry translates them.
+ */
+final class ConstraintViolations {
+
+    // MySQL error codes
+    private static final int ER_DUP_ENTRY = 1062;
+    private static final int ER_ROW_IS_REFERENCED = 1451;
+    private static final int ER_NO_REFERENCED_ROW = 1452;
+    private static final int ER_CHECK_CONSTRAINT_VIOLATED = 3819;
+
+    // SQL states (SQL:2011 / H2)
+    private static final String UNIQUE_VIOLATION = "23505";
+    private static final Set<String> FOREIGN_KEY_VIOLATIONS = Set.of("23503", "23506");
+    private static final Set<String> CHECK_VIOLATIONS = Set.of("23513", "23514");
+
+    // Unique indexes with a specific error, by name as created in the migrations
+    private static final Map<String, ErrorCode> UNIQUE_INDEXES = Map.of(
+            "idx_students_join_year_roll", ErrorCode.DUPLICATE_ROLL_NUMBER,
+            "idx_students_archive_roll", ErrorCode.DUPLICATE_ROLL_NUMBER
+    );
+
+    private ConstraintViolations() {
+    }
+
+    static ErrorCode classify(Throwable violation) {
+        SQLException sql = find(violation, SQLException.class);
+        String state = sql != null && sql.getSQLState() != null ? sql.getSQLState() : "";
+        int vendorCode = sql != null ? sql.getErrorCode() : 0;
+
+        if (vendorCode == ER_DUP_ENTRY || UNIQUE_VIOLATION.equals(state)) {
+            return UNIQUE_INDEXES.getOrDefault(indexName(violation), ErrorCode.DUPLICATE_ENTRY);
+        }
+        if (vendorCode == ER_ROW_IS_REFERENCED || vendorCode == ER_NO_REFERENCED_ROW || FOREIGN_KEY_VIOLATIONS.contains(state)) {
+            return ErrorCode.INVALID_REFERENCE;
+        }
+        if (vendorCode == ER_CHECK_CONSTRAINT_VIOLATED || CHECK_VIOLATIONS.contains(state)) {
+            return ErrorCode.VALUE_OUT_OF_RANGE;
+        }
+        // NOT NULL and anything else the schema rejects
+        return ErrorCode.INVALID_DATA;
+    }
+
+    /**
+     * The violated index as Hibernate extracted it, without what each database adds around it:
+     * MySQL reports {@code students.idx_students_join_year_roll}, H2
+     * {@code "public.idx_students_join_year_roll ON public.students(...) VALUES (...)}.
+     */
+    private static String indexName(Throwable violation) {
+        ConstraintViolationException hibernate = find(violation, ConstraintViolationException.class);
+        if (hibernate == null || hibernate.getConstraintName() == null) {
+            return null;
+        }
+        String name = hibernate.getConstraintName().replace("\"", "").replace("`", "").strip().split("\\s+", 2)[0];
+        return name.substring(name.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+    }
+
+    private static <T extends Throwable> T find(Throwable throwable, Class<T> type) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (type.isInstance(cause)) {
+                return type.cast(cause);
+            }
+        }
+        return null;
+    }
+}
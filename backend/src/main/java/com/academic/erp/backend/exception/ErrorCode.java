@@ -0,0 +1,37 @@
+package com.academic.erp.backend.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Business error codes with the HTTP status and user-facing message each one maps to.
+ * Codes whose message is null expose the exception's own (already user-friendly) message.
+ */
+@Getter
+public enum ErrorCode {
+    STUDENT_NOT_FOUND(HttpStatus.NOT_FOUND, "The requested student could not be found. Please check the student ID and try again."),
+    ARCHIVED_STUDENT_NOT_FOUND(HttpStatus.NOT_FOUND, "No archived student has this roll number. Please check the roll number and try again."),
+    DOMAIN_NOT_FOUND(HttpStatus.NOT_FOUND, "The requested domain could not be found. Please check the domain ID and try again."),
+    INVALID_DOMAIN(HttpStatus.BAD_REQUEST, "The selected domain is invalid. Please select a valid domain."),
+    SEAT_RANGE_EXHAUSTED(HttpStatus.CONFLICT, "This domain has reached its maximum capacity. No more students can be admitted at this time."),
+    DUPLICATE_EMAIL(HttpStatus.CONFLICT, "A student with this email address already exists. Please use a different email."),
+    DUPLICATE_ROLL_NUMBER(HttpStatus.CONFLICT, "A student with this roll number already exists. Please contact the administrator."),
+    DUPLICATE_ENTRY(HttpStatus.CONFLICT, "This record already exists. Please check your input."),
+    INVALID_REFERENCE(HttpStatus.BAD_REQUEST, "Cannot complete this operation. The selected domain or related data is invalid."),
+    VALUE_OUT_OF_RANGE(HttpStatus.BAD_REQUEST, "Invalid data value. Please check your input and ensure all values are within the allowed range."),
+    INVALID_DATA(HttpStatus.BAD_REQUEST, "Data validation error. Please check your input and try again."),
+    EXAM_MARKS_REQUIRED(HttpStatus.BAD_REQUEST, "Exam marks are required. Please enter the student's exam marks."),
+    STUDENT_ID_MISMATCH(HttpStatus.BAD_REQUEST, "There was a mismatch in the student information. Please refresh the page and try again."),
+    INVALID_REQUEST_PARAMETER(HttpStatus.BAD_REQUEST, null),
+    AUTHENTICATION_FAILED(HttpStatus.UNAUTHORIZED, "Authentication failed. Please try logging in again."),
+    UPSTREAM_UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE, "Service is temporarily unavailable. Please try again in a few moments."),
+    DATABASE_INITIALIZATION_FAILED(HttpStatus.SERVICE_UNAVAILABLE, "Database initialization is in progress. Please wait a moment and try again.");
+
+    private final HttpStatus status;
+    private final String message;
+
+    ErrorCode(HttpStatus status, String message) {
+        this.status = status;
+        this.message = message;
+    }
+}
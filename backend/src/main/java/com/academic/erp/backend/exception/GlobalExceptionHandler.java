@@ -69,65 +69,26 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.SERVICE_UNAVAILABLE);
     }
 
-    // Handle IllegalArgumentException
+    // Handle IllegalArgumentException: application code raises BusinessException instead, so this
+    // is a library rejecting an argument; its message is the best description available
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<Map<String, String>> handleIllegalArgument(IllegalArgumentException ex) {
         log.warn("Illegal argument: {}", ex.getMessage());
         Map<String, String> error = new HashMap<>();
         String message = ex.getMessage();
-        String userFriendlyMessage;
-        
-        if (message == null || message.isEmpty()) {
-            userFriendlyMessage = "Invalid request. Please check your input and try again.";
-        } else {
-            String lowerMessage = message.toLowerCase();
-            
-            // StudentId mismatch
-            if (lowerMessage.contains("studentid") || lowerMessage.contains("does not match")) {
-                userFriendlyMessage = "There was a mismatch in the student information. Please refresh the page and try again.";
-            }
-            // Invalid degree/department
-            else if (lowerMessage.contains("invalid degree")) {
-                userFriendlyMessage = "The program name must include a valid degree type (B.Tech, M.Tech, IM.Tech, M.Sc, or Ph.D). " +
-                    "Examples: 'Bachelor of Technology in CSE', 'B.Tech CSE', 'Master of Technology in ECE'. Please update the program name to include one of these degree types.";
-            } else if (lowerMessage.contains("unknown department")) {
-                userFriendlyMessage = "The program name must include a recognized department (CSE, ECE, or AIDS). " +
-                    "Examples: 'Bachelor of Technology in CSE', 'B.Tech ECE', 'M.Tech AIDS'. Please update the program name to include one of these departments.";
-            }
-            // Default: use message if it's already user-friendly
-            else {
-                userFriendlyMessage = message;
-            }
-        }
-        
-        error.put("error", userFriendlyMessage);
+        error.put("error", message == null || message.isEmpty()
+                ? "Invalid request. Please check your input and try again."
+                : message);
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
 
-    // Handle EntityNotFoundException
+    // Handle EntityNotFoundException (an entity reference that no longer resolves); the services
+    // report missing students and domains as ResourceNotFoundException
     @ExceptionHandler(jakarta.persistence.EntityNotFoundException.class)
     public ResponseEntity<Map<String, String>> handleEntityNotFound(jakarta.persistence.EntityNotFoundException ex) {
         log.warn("Entity not found: {}", ex.getMessage());
         Map<String, String> error = new HashMap<>();
-        String message = ex.getMessage();
-        String userFriendlyMessage;
-        
-        if (message == null || message.isEmpty()) {
-            userFriendlyMessage = "The requested resource could not be found. Please check your input and try again.";
-        } else {
-            String lowerMessage = message.toLowerCase();
-            
-            // Specific entity type detection
-            if (lowerMessage.contains("student")) {
-                userFriendlyMessage = "The requested student could not be found. Please check the student ID and try again.";
-            } else if (lowerMessage.contains("domain")) {
-                userFriendlyMessage = "The requested domain could not be found. Please check the domain ID and try again.";
-            } else {
-                userFriendlyMessage = "The requested resource could not be found. Please verify the information and try again.";
-            }
-        }
-        
-        error.put("error", userFriendlyMessage);
+        error.put("error", "The requested resource could not be found. Please verify the information and try again.");
         return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
     }
 
@@ -150,9 +111,9 @@ public class GlobalExceptionHandler {
             String combinedMessage = (message != null ? message : "") + " " + (rootCauseMessage != null ? rootCauseMessage : "");
             
             if (combinedMessage.contains("Table") && combinedMessage.contains("doesn't exist")) {
-                // Automatically try to create missing tables
+                // Automatically try to (re)apply the schema migrations
                 log.info("Detected missing tables, attempting to create them automatically...");
-                boolean created = databaseInitializationService.createMissingTablesOnDemand();
+                boolean created = databaseInitializationService.applyPendingMigrations();
                 
                 if (created) {
                     userFriendlyMessage = "Database tables have been created successfully. Please refresh the page.";
@@ -193,64 +154,12 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
-    // Handle data integrity violations (duplicate keys, unique constraints, etc.)
+    // Handle data integrity violations (duplicate keys, foreign keys, check constraints): classified
+    // by SQL state, vendor code and constraint name (ConstraintViolations)
     @ExceptionHandler(DataIntegrityViolationException.class)
-    public ResponseEntity<Map<String, Object>> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
-        log.warn("Data integrity violation: {}", ex.getMessage());
-        Map<String, Object> error = new HashMap<>();
-        
-        String message = ex.getMessage();
-        String rootCauseMessage = ex.getRootCause() != null ? ex.getRootCause().getMessage() : null;
-        String combinedMessage = ((message != null ? message : "") + " " + (rootCauseMessage != null ? rootCauseMessage : "")).toLowerCase();
-        
-        String userFriendlyMessage;
-        HttpStatus status;
-        
-        // Check for duplicate email constraint
-        if (combinedMessage.contains("email") && (combinedMessage.contains("duplicate") || combinedMessage.contains("unique") || combinedMessage.contains("key"))) {
-            userFriendlyMessage = "A student with this email address already exists. Please use a different email.";
-            status = HttpStatus.CONFLICT;
-        }
-        // Check for duplicate roll number constraint
-        else if (combinedMessage.contains("roll_number") && (combinedMessage.contains("duplicate") || combinedMessage.contains("unique") || combinedMessage.contains("key"))) {
-            userFriendlyMessage = "A student with this roll number already exists. Please contact the administrator.";
-            status = HttpStatus.CONFLICT;
-        }
-        // Generic unique constraint violation
-        else if (combinedMessage.contains("duplicate") || combinedMessage.contains("unique") || combinedMessage.contains("key")) {
-            if (combinedMessage.contains("email")) {
-                userFriendlyMessage = "A student with this email address already exists. Please use a different email.";
-            } else {
-                userFriendlyMessage = "This record already exists. Please check your input.";
-            }
-            status = HttpStatus.CONFLICT;
-        }
-        // Check constraint violations (capacity, cutoff marks, etc.)
-        else if (combinedMessage.contains("check constraint") || combinedMessage.contains("check (capacity")) {
-            if (combinedMessage.contains("capacity")) {
-                userFriendlyMessage = "Capacity must be between 0 and 150. Please enter a valid capacity value.";
-            } else if (combinedMessage.contains("cutoff_marks") || combinedMessage.contains("cutoff marks")) {
-                userFriendlyMessage = "Cutoff marks must be between 0 and 100. Please enter a valid cutoff value.";
-            } else {
-                userFriendlyMessage = "Invalid data value. Please check your input and ensure all values are within the allowed range.";
-            }
-            status = HttpStatus.BAD_REQUEST;
-        }
-        // Foreign key constraint
-        else if (combinedMessage.contains("foreign key") || combinedMessage.contains("constraint")) {
-            userFriendlyMessage = "Cannot complete this operation. The selected domain or related data is invalid.";
-            status = HttpStatus.BAD_REQUEST;
-        }
-        // Other integrity violations
-        else {
-            userFriendlyMessage = "Data validation error. Please check your input and try again.";
-            status = HttpStatus.BAD_REQUEST;
-        }
-        
-        error.put("error", userFriendlyMessage);
-        error.put("type", "DATA_INTEGRITY_VIOLATION");
-        
-        return new ResponseEntity<>(error, status);
+    public ResponseEntity<Map<String, String>> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+        log.warn("Data integrity violation: {}", ex.getMostSpecificCause().getMessage());
+        return handleBusiness(new BusinessException(ConstraintViolations.classify(ex), ex.getMostSpecificCause().getMessage()));
     }
 
     // Handle database access exceptions (table doesn't exist, connection issues, etc.)
@@ -263,30 +172,13 @@ public class GlobalExceptionHandler {
         String userFriendlyMessage;
         String suggestion = null;
         
-        // Check for specific database errors
+        // Check for specific database errors (constraint violations are DataIntegrityViolationExceptions)
         if (message != null) {
             String lowerMessage = message.toLowerCase();
-            
-            // Check for duplicate/unique constraint violations (before generic database errors)
-            if (lowerMessage.contains("duplicate") || lowerMessage.contains("unique") || lowerMessage.contains("key")) {
-                if (lowerMessage.contains("email")) {
-                    userFriendlyMessage = "A student with this email address already exists. Please use a different email.";
-                    error.put("type", "DUPLICATE_EMAIL");
-                    return new ResponseEntity<>(error, HttpStatus.CONFLICT);
-                } else if (lowerMessage.contains("roll_number") || lowerMessage.contains("roll number")) {
-                    userFriendlyMessage = "A student with this roll number already exists. Please contact the administrator.";
-                    error.put("type", "DUPLICATE_ROLL_NUMBER");
-                    return new ResponseEntity<>(error, HttpStatus.CONFLICT);
-                } else {
-                    userFriendlyMessage = "This record already exists. Please check your input.";
-                    error.put("type", "DUPLICATE_ENTRY");
-                    return new ResponseEntity<>(error, HttpStatus.CONFLICT);
-                }
-            }
-            
+
             if (lowerMessage.contains("doesn't exist") || (lowerMessage.contains("table") && lowerMessage.contains("doesn't exist"))) {
                 userFriendlyMessage = "Database tables are missing.";
-                suggestion = "Please run the database schema creation script (create_schema.sql) to set up the required tables.";
+                suggestion = "The schema is created by the database migrations when the backend starts. Check the startup log for migration errors.";
             } else if (lowerMessage.contains("unknown database") || (lowerMessage.contains("database") && lowerMessage.contains("doesn't exist"))) {
                 userFriendlyMessage = "Database not found. Please ensure the database exists and is properly configured.";
                 suggestion = "Create the database: CREATE DATABASE IF NOT EXISTS erp_admission;";
@@ -353,6 +245,13 @@ public class GlobalExceptionHandler {
     // Handle SQL exceptions
     @ExceptionHandler(SQLException.class)
     public ResponseEntity<Map<String, Object>> handleSQLException(SQLException ex) {
+        // Integrity constraint violations (SQL state class 23) that escaped translation
+        if (ex.getSQLState() != null && ex.getSQLState().startsWith("23")) {
+            ResponseEntity<Map<String, String>> violation =
+                    handleBusiness(new BusinessException(ConstraintViolations.classify(ex), ex.getMessage()));
+            return new ResponseEntity<>(new HashMap<>(violation.getBody()), violation.getStatusCode());
+        }
+
         log.error("SQL exception: {} [SQLState: {}, ErrorCode: {}]", 
                  ex.getMessage(), ex.getSQLState(), ex.getErrorCode(), ex);
         
@@ -360,32 +259,13 @@ public class GlobalExceptionHandler {
         String message = ex.getMessage();
         String userFriendlyMessage;
         String suggestion = null;
-        
+
         if (message != null) {
             String lowerMessage = message.toLowerCase();
-            
-            // Check for duplicate/unique constraint violations
-            if (lowerMessage.contains("duplicate") || lowerMessage.contains("unique") || 
-                (ex.getErrorCode() == 1062 && lowerMessage.contains("key"))) {
-                // MySQL error code 1062 is for duplicate entry
-                if (lowerMessage.contains("email")) {
-                    error.put("error", "A student with this email address already exists. Please use a different email.");
-                    error.put("type", "DUPLICATE_EMAIL");
-                    return new ResponseEntity<>(error, HttpStatus.CONFLICT);
-                } else if (lowerMessage.contains("roll_number") || lowerMessage.contains("roll number")) {
-                    error.put("error", "A student with this roll number already exists. Please contact the administrator.");
-                    error.put("type", "DUPLICATE_ROLL_NUMBER");
-                    return new ResponseEntity<>(error, HttpStatus.CONFLICT);
-                } else {
-                    error.put("error", "This record already exists. Please check your input.");
-                    error.put("type", "DUPLICATE_ENTRY");
-                    return new ResponseEntity<>(error, HttpStatus.CONFLICT);
-                }
-            }
-            
+
             if (lowerMessage.contains("doesn't exist") || (lowerMessage.contains("table") && lowerMessage.contains("doesn't exist"))) {
                 userFriendlyMessage = "Database tables are missing.";
-                suggestion = "Please run the database schema creation script (create_schema.sql) to set up the required tables.";
+                suggestion = "The schema is created by the database migrations when the backend starts. Check the startup log for migration errors.";
             } else if (lowerMessage.contains("unknown database")) {
                 userFriendlyMessage = "Database not found. Please ensure the database exists and is properly configured.";
                 suggestion = "Create the database: CREATE DATABASE IF NOT EXISTS erp_admission;";
@@ -407,63 +287,29 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
-    // Handle custom + generic runtime errors
+    // Handle business errors: status and message come straight from the error code
+    @ExceptionHandler(BusinessException.class)
+    public ResponseEntity<Map<String, String>> handleBusiness(BusinessException ex) {
+        ErrorCode code = ex.getErrorCode();
+        if (code.getStatus().is5xxServerError()) {
+            log.warn("{}: {}", code, ex.getMessage(), ex.getCause());
+        } else {
+            // Expected outcome (not found, capacity reached, bad credentials): one cheap line, no stack trace
+            log.debug("{}: {}", code, ex.getMessage());
+        }
+        Map<String, String> error = new HashMap<>();
+        error.put("error", code.getMessage() != null ? code.getMessage() : ex.getMessage());
+        error.put("code", code.name());
+        return new ResponseEntity<>(error, code.getStatus());
+    }
+
+    // Any other runtime error is a bug or an infrastructure failure
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<Map<String, String>> handleRuntime(RuntimeException ex) {
         log.error("Runtime exception: {}", ex.getMessage(), ex);
         Map<String, String> error = new HashMap<>();
-        String message = ex.getMessage();
-        String userFriendlyMessage;
-        
-        if (message == null || message.isEmpty()) {
-            userFriendlyMessage = "An error occurred. Please try again.";
-        } else {
-            String lowerMessage = message.toLowerCase();
-            
-            // Student-related errors
-            if (lowerMessage.contains("student not found")) {
-                userFriendlyMessage = "The requested student could not be found. Please check the student ID and try again.";
-            }
-            // Domain-related errors
-            else if (lowerMessage.contains("domain not found")) {
-                userFriendlyMessage = "The requested domain could not be found. Please check the domain ID and try again.";
-            }
-            // Seat capacity errors
-            else if (lowerMessage.contains("seat range exhausted") || lowerMessage.contains("capacity") || lowerMessage.contains("no seats available")) {
-                userFriendlyMessage = "This domain has reached its maximum capacity. No more students can be admitted at this time.";
-            }
-            // Invalid domain ID
-            else if (lowerMessage.contains("invalid domain")) {
-                userFriendlyMessage = "The selected domain is invalid. Please select a valid domain.";
-            }
-            // OAuth/Authentication errors
-            else if (lowerMessage.contains("authentication failed") || lowerMessage.contains("oauth error") || 
-                     lowerMessage.contains("invalid authorization code") || lowerMessage.contains("invalid token")) {
-                userFriendlyMessage = "Authentication failed. Please try logging in again.";
-            }
-            // Service unavailable errors
-            else if (lowerMessage.contains("service temporarily unavailable") || lowerMessage.contains("service unavailable")) {
-                userFriendlyMessage = "Service is temporarily unavailable. Please try again in a few moments.";
-            }
-            // Database table creation errors
-            else if (lowerMessage.contains("failed to create database tables") || lowerMessage.contains("database tables")) {
-                userFriendlyMessage = "Database initialization is in progress. Please wait a moment and try again.";
-            }
-            // Default: use the original message if it's already user-friendly, otherwise provide generic message
-            else {
-                // Check if message looks technical (contains class names, stack trace keywords, etc.)
-                if (lowerMessage.contains("exception") || lowerMessage.contains("error") || 
-                    lowerMessage.contains("failed") || lowerMessage.contains("unable")) {
-                    userFriendlyMessage = "An error occurred while processing your request. Please try again or contact support if the issue persists.";
-                } else {
-                    // Message seems user-friendly already
-                    userFriendlyMessage = message;
-                }
-            }
-        }
-        
-        error.put("error", userFriendlyMessage);
-        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+        error.put("error", "An error occurred while processing your request. Please try again or contact support if the issue persists.");
+        return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
     // Fallback — unexpected errors (should rarely happen with proper handling above)
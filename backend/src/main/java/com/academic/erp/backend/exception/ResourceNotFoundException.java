@@ -0,0 +1,20 @@
+package com.academic.erp.backend.exception;
+
+public class ResourceNotFoundException extends BusinessException {
+
+    private ResourceNotFoundException(ErrorCode errorCode, String detail) {
+        super(errorCode, detail);
+    }
+
+    public static ResourceNotFoundException student(Long studentId) {
+        return new ResourceNotFoundException(ErrorCode.STUDENT_NOT_FOUND, "Student not found with id: " + studentId);
+    }
+
+    public static ResourceNotFoundException archivedStudent(String rollNumber) {
+        return new ResourceNotFoundException(ErrorCode.ARCHIVED_STUDENT_NOT_FOUND, "Archived student not found with roll number: " + rollNumber);
+    }
+
+    public static ResourceNotFoundException domain(Long domainId) {
+        return new ResourceNotFoundException(ErrorCode.DOMAIN_NOT_FOUND, "Domain not found with id: " + domainId);
+    }
+}
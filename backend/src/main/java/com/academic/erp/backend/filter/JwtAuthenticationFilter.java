@@ -1,7 +1,9 @@
 package com.academic.erp.backend.filter;
 
+import com.academic.erp.backend.cache.ValidatedTokenCache;
 import com.academic.erp.backend.dto.TokenInfoResponse;
-import com.academic.erp.backend.service.TokenService;
+import com.academic.erp.backend.security.AuthenticatedUser;
+import com.academic.erp.backend.service.SessionTokenService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
@@ -16,7 +18,6 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
 
 @Component
@@ -24,40 +25,37 @@ import java.util.List;
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final TokenService tokenService;
+    private final SessionTokenService sessionTokenService;
+    private final ValidatedTokenCache validatedTokenCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
-        String idToken = extractIdTokenFromCookie(request);
+        String sessionToken = extractCookie(request, SessionTokenService.COOKIE_NAME);
+        String idToken = extractCookie(request, "id_token");
 
-        if (idToken != null && !idToken.isEmpty()) {
+        if (sessionToken != null && !sessionToken.isEmpty()) {
             try {
-                TokenInfoResponse tokenInfo = tokenService.validateIdToken(idToken);
-                
+                // Our own HMAC-signed token: verified locally, no call to Google
+                authenticate(sessionTokenService.verify(sessionToken));
+            } catch (Exception e) {
+                log.debug("Session token rejected: {}", e.getMessage());
+            }
+        } else if (idToken != null && !idToken.isEmpty()) {
+            // Cookies issued before session tokens existed still carry Google's ID token
+            try {
+                TokenInfoResponse tokenInfo = validatedTokenCache.validate(idToken);
                 if (tokenInfo.getEmail() != null) {
-                    List<SimpleGrantedAuthority> authorities = new ArrayList<>();
-                        authorities.add(new SimpleGrantedAuthority("ROLE_USER"));
-                        
-                    // Grant admin role if email contains "admin" or "university.edu"
-                    if (tokenInfo.getEmail().toLowerCase().contains("admin") || 
-                        tokenInfo.getEmail().toLowerCase().contains("university.edu")) {
-                            authorities.add(new SimpleGrantedAuthority("ROLE_ADMIN"));
-                        log.info("Admin user authenticated: {}", tokenInfo.getEmail());
-                        }
-                        
-                        UsernamePasswordAuthenticationToken authentication = 
-                            new UsernamePasswordAuthenticationToken(
-                                tokenInfo.getEmail(),
-                                null,
-                                authorities
-                            );
-                        
-                        SecurityContextHolder.getContext().setAuthentication(authentication);
+                    authenticate(new AuthenticatedUser(
+                            tokenInfo.getEmail(),
+                            tokenInfo.getName(),
+                            tokenInfo.getPicture(),
+                            tokenInfo.getExp(),
+                            SessionTokenService.rolesFor(tokenInfo.getEmail())));
                 }
             } catch (Exception e) {
-                log.error("Token validation failed", e);
+                log.debug("Token validation failed: {}", e.getMessage());
                 // Don't block here - let Spring Security handle authorization
             }
         }
@@ -65,11 +63,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
-    private String extractIdTokenFromCookie(HttpServletRequest request) {
+    private void authenticate(AuthenticatedUser user) {
+        List<SimpleGrantedAuthority> authorities = user.roles().stream()
+                .map(SimpleGrantedAuthority::new)
+                .toList();
+        // The verified claims travel with the request as the principal
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(user, null, authorities);
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+
+    private String extractCookie(HttpServletRequest request, String name) {
         Cookie[] cookies = request.getCookies();
         if (cookies != null) {
             for (Cookie cookie : cookies) {
-                if ("id_token".equals(cookie.getName())) {
+                if (name.equals(cookie.getName())) {
                     return cookie.getValue();
                 }
             }
@@ -77,4 +85,3 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         return null;
     }
 }
-
@@ -0,0 +1,166 @@
+package com.academic.erp.backend.filter;
+
+import com.academic.erp.backend.jdbc.SqlAccounting;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opens a {@link SqlAccounting} scope around each request. The statements, rows fetched and JDBC
+ * time of the request are recorded as sql.request.* metrics tagged by URI template and, when
+ * enabled, reported to the client in a Server-Timing header. Query shapes repeated more often than
+ * the configured threshold within one request (the N+1 pattern) are logged and counted.
+ */
+@Component
+@ConditionalOnProperty(name = "app.sql-accounting.enabled", havingValue = "true", matchIfMissing = true)
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+@Slf4j
+public class SqlAccountingFilter extends OncePerRequestFilter {
+
+    private static final String SERVER_TIMING = "Server-Timing";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.sql-accounting.server-timing:true}")
+    private boolean serverTiming;
+
+    @Value("${app.sql-accounting.repeated-query-threshold:10}")
+    private int repeatedQueryThreshold;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        SqlAccounting.Tally tally = SqlAccounting.beginRequest();
+        ServerTimingResponse timedResponse = serverTiming ? new ServerTimingResponse(response, tally) : null;
+        try {
+            filterChain.doFilter(request, timedResponse != null ? timedResponse : response);
+        } finally {
+            SqlAccounting.endRequest();
+            if (timedResponse != null) {
+                timedResponse.addServerTiming();
+            }
+            record(request, tally);
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlAccounting.Tally tally) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        Tags tags = Tags.of("method", request.getMethod(), "uri", uri);
+
+        DistributionSummary.builder("sql.request.statements")
+                .description("JDBC statements executed per HTTP request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(tally.getStatements());
+        DistributionSummary.builder("sql.request.rows")
+                .description("Rows fetched per HTTP request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(tally.getRows());
+        Timer.builder("sql.request.time")
+                .description("Time spent executing JDBC statements per HTTP request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(tally.getNanos(), TimeUnit.NANOSECONDS);
+
+        Map<String, Integer> repeated = tally.repeatedShapes(repeatedQueryThreshold);
+        if (!repeated.isEmpty()) {
+            Counter.builder("sql.request.repeated.queries")
+                    .description("Requests that repeated one query shape more often than the threshold (likely N+1)")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .increment();
+            repeated.forEach((shape, count) -> log.warn("Possible N+1: {} {} ran the same query {} times: {}",
+                    request.getMethod(), uri, count, shape));
+        }
+    }
+
+    private static String serverTimingValue(SqlAccounting.Tally tally) {
+        return String.format(Locale.ROOT, "db;dur=%.1f;desc=\"%d statements, %d rows\"",
+                tally.getNanos() / 1_000_000.0, tally.getStatements(), tally.getRows());
+    }
+
+    /**
+     * Adds the Server-Timing header just before the response is committed: by the time a handler
+     * starts writing its body, its database work is done.
+     */
+    private static final class ServerTimingResponse extends HttpServletResponseWrapper {
+
+        private final SqlAccounting.Tally tally;
+        private boolean added;
+
+        ServerTimingResponse(HttpServletResponse response, SqlAccounting.Tally tally) {
+            super(response);
+            this.tally = tally;
+        }
+
+        void addServerTiming() {
+            if (!added && !isCommitted()) {
+                added = true;
+                addHeader(SERVER_TIMING, serverTimingValue(tally));
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addServerTiming();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addServerTiming();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addServerTiming();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            addServerTiming();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            addServerTiming();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            addServerTiming();
+            super.sendRedirect(location);
+        }
+    }
+}
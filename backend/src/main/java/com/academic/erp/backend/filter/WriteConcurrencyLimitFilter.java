@@ -0,0 +1,94 @@
+package com.academic.erp.backend.filter;
+
+import com.academic.erp.backend.limit.GradientConcurrencyLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Sheds excess write traffic (admissions, student and domain changes) before it queues on the
+ * connection pool. Writes are admitted up to an adaptive concurrency limit; the rest are answered
+ * immediately with 503 and Retry-After, which keeps connections free for reads.
+ * Runs at the end of the security chain (see SecurityConfig), so only authorized requests take a slot.
+ */
+@Component
+@ConditionalOnProperty(name = "app.write-limiter.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class WriteConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    private final GradientConcurrencyLimiter limiter;
+    private final Counter rejected;
+    private final String retryAfterSeconds;
+
+    public WriteConcurrencyLimitFilter(
+            MeterRegistry meterRegistry,
+            @Value("${app.write-limiter.initial-limit:20}") int initialLimit,
+            @Value("${app.write-limiter.min-limit:2}") int minLimit,
+            @Value("${app.write-limiter.max-limit:200}") int maxLimit,
+            @Value("${app.write-limiter.smoothing:0.2}") double smoothing,
+            @Value("${app.write-limiter.tolerance:1.5}") double tolerance,
+            @Value("${app.write-limiter.retry-after-seconds:1}") int retryAfterSeconds) {
+        this.limiter = new GradientConcurrencyLimiter(initialLimit, minLimit, maxLimit, smoothing, tolerance);
+        this.retryAfterSeconds = Integer.toString(retryAfterSeconds);
+        Gauge.builder("write.limiter.limit", limiter, GradientConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit for write requests")
+                .register(meterRegistry);
+        Gauge.builder("write.limiter.inflight", limiter, GradientConcurrencyLimiter::getInflight)
+                .description("Write requests currently being processed")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("write.limiter.rejected")
+                .description("Write requests shed with 503")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !WRITE_METHODS.contains(request.getMethod())
+                || !(path.startsWith("/api/students") || path.startsWith("/api/domains"))
+                // POST /api/domains/{id}/impact is a read-only what-if; it changes nothing
+                || (path.startsWith("/api/domains/") && path.endsWith("/impact"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        int inflight = limiter.tryAcquire();
+        if (inflight < 0) {
+            rejected.increment();
+            log.debug("Shedding {} {} (limit {})", request.getMethod(), request.getRequestURI(), limiter.getLimit());
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"The server is busy processing other changes. Please try again in a moment.\"}");
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = response.getStatus() >= 500;
+        } finally {
+            limiter.release(System.nanoTime() - start, inflight, failed);
+        }
+    }
+}
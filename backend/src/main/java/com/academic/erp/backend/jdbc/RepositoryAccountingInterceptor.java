@@ -0,0 +1,69 @@
+package com.academic.erp.backend.jdbc;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Added to every Spring Data repository proxy: records the statements, rows and JDBC time each
+ * repository method causes as sql.repository.* metrics tagged by repository and method.
+ * A method answered from the second-level cache shows up with zero statements.
+ */
+public class RepositoryAccountingInterceptor implements MethodInterceptor {
+
+    private final String repository;
+    private final Supplier<MeterRegistry> meterRegistry;
+    private final Map<Method, Meters> meters = new ConcurrentHashMap<>();
+
+    public RepositoryAccountingInterceptor(Class<?> repositoryInterface, Supplier<MeterRegistry> meterRegistry) {
+        this.repository = repositoryInterface.getSimpleName();
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        SqlAccounting.Tally enclosing = SqlAccounting.beginRepositoryCall();
+        try {
+            return invocation.proceed();
+        } finally {
+            SqlAccounting.Tally tally = SqlAccounting.endRepositoryCall(enclosing);
+            meters.computeIfAbsent(invocation.getMethod(), this::register).record(tally);
+        }
+    }
+
+    private Meters register(Method method) {
+        MeterRegistry registry = meterRegistry.get();
+        Tags tags = Tags.of("repository", repository, "method", method.getName());
+        return new Meters(
+                DistributionSummary.builder("sql.repository.statements")
+                        .description("JDBC statements executed per repository method call")
+                        .tags(tags)
+                        .register(registry),
+                DistributionSummary.builder("sql.repository.rows")
+                        .description("Rows fetched per repository method call")
+                        .tags(tags)
+                        .register(registry),
+                Timer.builder("sql.repository.time")
+                        .description("Time spent executing JDBC statements per repository method call")
+                        .tags(tags)
+                        .register(registry));
+    }
+
+    private record Meters(DistributionSummary statements, DistributionSummary rows, Timer time) {
+
+        void record(SqlAccounting.Tally tally) {
+            statements.record(tally.getStatements());
+            rows.record(tally.getRows());
+            time.record(tally.getNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.academic.erp.backend.jdbc;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Per-thread tallies of the JDBC work done on behalf of the current HTTP request and of the
+ * repository method currently executing. {@link SqlAccountingListener} feeds every statement and
+ * fetched row in here; the request filter and the repository interceptor open and close scopes.
+ * Work done outside any scope (startup, scheduled jobs) is not counted.
+ */
+public final class SqlAccounting {
+
+    private static final ThreadLocal<Tally> REQUEST = new ThreadLocal<>();
+    private static final ThreadLocal<Tally> REPOSITORY = new ThreadLocal<>();
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private SqlAccounting() {
+    }
+
+    public static Tally beginRequest() {
+        Tally tally = new Tally(true);
+        REQUEST.set(tally);
+        return tally;
+    }
+
+    public static void endRequest() {
+        REQUEST.remove();
+    }
+
+    /**
+     * Opens a scope for one repository method call.
+     *
+     * @return the enclosing repository scope, to be handed back to {@link #endRepositoryCall(Tally)}
+     */
+    public static Tally beginRepositoryCall() {
+        Tally enclosing = REPOSITORY.get();
+        REPOSITORY.set(new Tally(false));
+        return enclosing;
+    }
+
+    /**
+     * Closes the current repository scope and restores the enclosing one.
+     *
+     * @return the tally of the scope just closed
+     */
+    public static Tally endRepositoryCall(Tally enclosing) {
+        Tally current = REPOSITORY.get();
+        if (enclosing == null) {
+            REPOSITORY.remove();
+        } else {
+            // Statements of a nested repository call also belong to its caller
+            enclosing.add(current);
+            REPOSITORY.set(enclosing);
+        }
+        return current;
+    }
+
+    static void recordStatement(String sql, long nanos) {
+        Tally request = REQUEST.get();
+        if (request != null) {
+            request.statement(sql, nanos);
+        }
+        Tally repository = REPOSITORY.get();
+        if (repository != null) {
+            repository.statement(sql, nanos);
+        }
+    }
+
+    static void recordRow() {
+        Tally request = REQUEST.get();
+        if (request != null) {
+            request.rows++;
+        }
+        Tally repository = REPOSITORY.get();
+        if (repository != null) {
+            repository.rows++;
+        }
+    }
+
+    static boolean isRecording() {
+        return REQUEST.get() != null || REPOSITORY.get() != null;
+    }
+
+    /**
+     * Reduces a statement to its shape: literals and parameter lists of any length collapse to a
+     * single placeholder, so the same query issued for different IDs counts as a repeat.
+     */
+    static String shapeOf(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = PARAMETER_LIST.matcher(shape).replaceAll("(?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+
+    /**
+     * Statements, rows fetched and JDBC time accumulated by one scope. Only ever touched by the
+     * thread that owns the scope.
+     */
+    public static final class Tally {
+
+        private final Map<String, Integer> shapes;
+        private int statements;
+        private long rows;
+        private long nanos;
+
+        private Tally(boolean trackShapes) {
+            this.shapes = trackShapes ? new HashMap<>() : null;
+        }
+
+        public int getStatements() {
+            return statements;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        /**
+         * Query shapes executed more than {@code threshold} times in this scope, with their counts.
+         */
+        public Map<String, Integer> repeatedShapes(int threshold) {
+            Map<String, Integer> repeated = new HashMap<>();
+            if (shapes != null) {
+                shapes.forEach((shape, count) -> {
+                    if (count > threshold) {
+                        repeated.put(shape, count);
+                    }
+                });
+            }
+            return repeated;
+        }
+
+        private void statement(String sql, long elapsedNanos) {
+            statements++;
+            nanos += elapsedNanos;
+            if (shapes != null && sql != null) {
+                shapes.merge(shapeOf(sql), 1, Integer::sum);
+            }
+        }
+
+        private void add(Tally other) {
+            statements += other.statements;
+            rows += other.rows;
+            nanos += other.nanos;
+        }
+    }
+}
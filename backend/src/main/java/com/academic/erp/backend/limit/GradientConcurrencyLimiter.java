@@ -0,0 +1,109 @@
+package com.academic.erp.backend.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Adaptive concurrency limit in the style of Netflix's Gradient2 limiter.
+ * <p>
+ * The limit follows the ratio between the long-term average latency (what the system does when
+ * healthy) and the short-term latency (what it does now). While latency holds steady the limit
+ * grows by roughly {@code sqrt(limit)} per sample; once requests start queueing (e.g. waiting for
+ * a database connection) short-term latency rises, the gradient drops below 1 and the limit
+ * shrinks until latency recovers. Failed requests cut the limit multiplicatively.
+ */
+public class GradientConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double tolerance;
+    private final double longWindow;
+    private final double shortWindow;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+
+    private volatile double limit;
+    private double longRttNanos;
+    private double shortRttNanos;
+
+    public GradientConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double smoothing, double tolerance) {
+        this(initialLimit, minLimit, maxLimit, smoothing, tolerance, 600, 10);
+    }
+
+    GradientConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double smoothing, double tolerance,
+                               int longWindow, int shortWindow) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.tolerance = tolerance;
+        this.longWindow = longWindow;
+        this.shortWindow = shortWindow;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * Claims a slot if fewer than {@link #getLimit()} requests are in flight.
+     *
+     * @return the number in flight including this request, or -1 when rejected
+     */
+    public int tryAcquire() {
+        while (true) {
+            int current = inflight.get();
+            if (current >= (int) limit) {
+                return -1;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    /**
+     * Releases a slot claimed by {@link #tryAcquire()} and feeds the observed latency back.
+     *
+     * @param inflightAtStart the value returned by tryAcquire
+     * @param failed          whether the request failed in a way that indicates overload
+     */
+    public void release(long rttNanos, int inflightAtStart, boolean failed) {
+        inflight.decrementAndGet();
+        onSample(rttNanos, inflightAtStart, failed);
+    }
+
+    synchronized void onSample(long rttNanos, int inflightAtStart, boolean failed) {
+        if (failed) {
+            limit = Math.max(minLimit, limit * 0.9);
+            return;
+        }
+        if (longRttNanos == 0) {
+            longRttNanos = rttNanos;
+            shortRttNanos = rttNanos;
+            return;
+        }
+        shortRttNanos += (rttNanos - shortRttNanos) / shortWindow;
+        longRttNanos += (rttNanos - longRttNanos) / longWindow;
+
+        // Recover faster once a latency spike is over, so one bad burst doesn't pin the baseline high
+        if (longRttNanos / shortRttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+
+        // Don't grow the limit while the application isn't using most of it
+        if (inflightAtStart < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRttNanos / shortRttNanos));
+        double queueSize = Math.sqrt(limit);
+        double newLimit = limit * gradient + queueSize;
+        newLimit = limit * (1 - smoothing) + newLimit * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+}
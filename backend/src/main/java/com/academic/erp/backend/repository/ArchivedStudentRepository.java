@@ -0,0 +1,30 @@
+package com.academic.erp.backend.repository;
+
+import com.academic.erp.backend.entity.ArchivedStudent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ArchivedStudentRepository extends JpaRepository<ArchivedStudent, Long> {
+
+    Optional<ArchivedStudent> findByRollNumber(String rollNumber);
+
+    @Query("select a.rollNumber from ArchivedStudent a where a.joinYear = :joinYear and a.rollNumber like concat(:rollBase, '%')")
+    List<String> findRollNumbersByPrefixAndJoinYear(@Param("rollBase") String rollBase, @Param("joinYear") Integer joinYear);
+
+    // Copies one intake year in a single INSERT ... SELECT; on MySQL the read is pruned to its partition
+    @Modifying
+    @Query("insert into ArchivedStudent (studentId, rollNumber, firstName, lastName, email, domainId, domainProgram, " +
+            "joinYear, examMarks, isActive, createdAt, archivedAt) " +
+            "select s.studentId, s.rollNumber, s.firstName, s.lastName, s.email, d.domainId, d.program, " +
+            "s.joinYear, s.examMarks, s.isActive, s.createdAt, :archivedAt " +
+            "from Student s join s.domain d where s.joinYear = :joinYear")
+    int copyJoinYear(@Param("joinYear") Integer joinYear, @Param("archivedAt") LocalDateTime archivedAt);
+}
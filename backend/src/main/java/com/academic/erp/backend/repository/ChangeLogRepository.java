@@ -0,0 +1,32 @@
+package com.academic.erp.backend.repository;
+
+import com.academic.erp.backend.entity.ChangeLogEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntry, Long> {
+
+    List<ChangeLogEntry> findByChangeVersionGreaterThanOrderByChangeVersionAsc(Long since, Pageable pageable);
+
+    // Committed rows the sequencer has not numbered yet, oldest first
+    @Query("select c.changeId from ChangeLogEntry c where c.changeVersion is null order by c.changedAt, c.changeId")
+    List<Long> findUnversionedIds(Pageable pageable);
+
+    @Query("select coalesce(max(c.changeVersion), 0) from ChangeLogEntry c")
+    Long findLatestVersion();
+
+    @Query("select min(c.changeVersion) from ChangeLogEntry c")
+    Long findOldestVersion();
+
+    @Modifying
+    @Query("delete from ChangeLogEntry c where c.changedAt < :cutoff and c.changeVersion < :keepVersion")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff, @Param("keepVersion") Long keepVersion);
+}
@@ -1,13 +1,40 @@
 package com.academic.erp.backend.repository;
 
+import com.academic.erp.backend.entity.CacheRegions;
 import com.academic.erp.backend.entity.Domain;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface DomainRepository extends JpaRepository<Domain, Long> {
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.DOMAIN_BY_PROGRAM)
+    })
     Optional<Domain> findByProgram(String program);
+
+    @Query("select d.domainId from Domain d")
+    List<Long> findAllDomainIds();
+
+    // students has no foreign key to domains (partitioned, see V4). Writers adding students to a
+    // domain share its row lock and a domain delete takes it exclusively, so a delete cannot run
+    // alongside an admission and leave orphans behind.
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select d from Domain d where d.domainId = :domainId")
+    Optional<Domain> findByIdForShare(@Param("domainId") Long domainId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select d from Domain d where d.domainId = :domainId")
+    Optional<Domain> findByIdForUpdate(@Param("domainId") Long domainId);
 }
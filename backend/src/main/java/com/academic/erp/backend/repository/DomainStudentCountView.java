@@ -0,0 +1,9 @@
+package com.academic.erp.backend.repository;
+
+/**
+ * Active-student count of one domain, computed by a grouped query instead of loading the roster.
+ */
+public interface DomainStudentCountView {
+    Long getDomainId();
+    Long getStudentCount();
+}
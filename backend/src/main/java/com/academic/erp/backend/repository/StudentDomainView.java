@@ -0,0 +1,9 @@
+package com.academic.erp.backend.repository;
+
+/**
+ * Student ID and domain only, for writes that need to announce which rosters they touch.
+ */
+public interface StudentDomainView {
+    Long getStudentId();
+    Long getDomainId();
+}
@@ -0,0 +1,33 @@
+package com.academic.erp.backend.repository;
+
+import com.academic.erp.backend.entity.StudentEmail;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+// Plain inserts and updates rather than save(): save() on an assigned ID would read the row first
+// and merge, and the point of the table is that the primary key rejects the second writer
+@Repository
+public interface StudentEmailRepository extends JpaRepository<StudentEmail, String> {
+
+    @Modifying
+    @Query("insert into StudentEmail (email, studentId) values (:email, :studentId)")
+    int insert(@Param("email") String email, @Param("studentId") Long studentId);
+
+    @Modifying
+    @Query("update StudentEmail e set e.email = :email where e.studentId = :studentId")
+    int updateEmail(@Param("studentId") Long studentId, @Param("email") String email);
+
+    @Modifying
+    @Query("delete from StudentEmail e where e.studentId in :studentIds")
+    int deleteByStudentIds(@Param("studentIds") Collection<Long> studentIds);
+
+    @Modifying
+    @Query("delete from StudentEmail e where e.studentId in " +
+            "(select s.studentId from Student s where s.joinYear = :joinYear)")
+    int deleteByJoinYear(@Param("joinYear") Integer joinYear);
+}
@@ -0,0 +1,51 @@
+package com.academic.erp.backend.repository;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Student columns that can be selected through {@link StudentRepositoryCustom}, in the canonical
+ * order of sparse and columnar responses (matches StudentResponseDto). Each field carries its
+ * response name and the JPQL path it is read from.
+ */
+public enum StudentField {
+    STUDENT_ID("studentId", "s.studentId"),
+    ROLL_NUMBER("rollNumber", "s.rollNumber"),
+    FIRST_NAME("firstName", "s.firstName"),
+    LAST_NAME("lastName", "s.lastName"),
+    EMAIL("email", "s.email"),
+    DOMAIN_ID("domainId", "s.domain.domainId"),
+    DOMAIN_PROGRAM("domainProgram", "d.program"),
+    JOIN_YEAR("joinYear", "s.joinYear"),
+    EXAM_MARKS("examMarks", "s.examMarks"),
+    ACTIVE("active", "s.isActive");
+
+    public static final List<String> NAMES = Arrays.stream(values()).map(StudentField::fieldName).toList();
+
+    private static final Map<String, StudentField> BY_NAME = Arrays.stream(values())
+            .collect(Collectors.toUnmodifiableMap(StudentField::fieldName, Function.identity()));
+
+    private final String fieldName;
+    private final String path;
+
+    StudentField(String fieldName, String path) {
+        this.fieldName = fieldName;
+        this.path = path;
+    }
+
+    public String fieldName() {
+        return fieldName;
+    }
+
+    String path() {
+        return path;
+    }
+
+    public static Optional<StudentField> fromName(String fieldName) {
+        return Optional.ofNullable(BY_NAME.get(fieldName));
+    }
+}
@@ -0,0 +1,13 @@
+package com.academic.erp.backend.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Column projection used by the marks statistics; avoids hydrating Student entities.
+ */
+public interface StudentMarksView {
+    Long getDomainId();
+    Long getStudentId();
+    Double getExamMarks();
+    LocalDateTime getCreatedAt();
+}
@@ -2,18 +2,55 @@ package com.academic.erp.backend.repository;
 
 import com.academic.erp.backend.entity.Student;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
-public interface StudentRepository extends JpaRepository<Student, Long> {
+public interface StudentRepository extends JpaRepository<Student, Long>, StudentRepositoryCustom {
 
     List<Student> findByRollNumberStartingWithAndJoinYear(String rollBase, Integer joinYear);
 
     List<Student> findByDomain_DomainId(Long domainId);
     
     List<Student> findByDomain_DomainIdAndIsActiveTrue(Long domainId);
+
+    // Merit order (highest marks first). Sorting on the constant domain_id as well lets the
+    // (domain_id, exam_marks DESC) index return the rows already ordered.
+    @Query("select s from Student s where s.domain.domainId = :domainId " +
+            "order by s.domain.domainId, s.examMarks desc")
+    List<Student> findByDomainIdInMeritOrder(@Param("domainId") Long domainId);
     
     List<Student> findByIsActiveTrue();
+
+    long countByDomain_DomainId(Long domainId);
+
+    long countByDomain_DomainIdAndIsActiveTrue(Long domainId);
+
+    @Query("select s.domain.domainId as domainId, count(s) as studentCount " +
+            "from Student s where s.isActive = true group by s.domain.domainId")
+    List<DomainStudentCountView> countActiveByDomain();
+
+    @Query("select s.domain.domainId as domainId, s.studentId as studentId, s.examMarks as examMarks, " +
+            "s.createdAt as createdAt " +
+            "from Student s where s.isActive = true and s.domain.domainId = :domainId")
+    List<StudentMarksView> findActiveMarksByDomainId(@Param("domainId") Long domainId);
+
+    @Query("select s.domain.domainId as domainId, s.studentId as studentId, s.examMarks as examMarks, " +
+            "s.createdAt as createdAt " +
+            "from Student s where s.isActive = true")
+    List<StudentMarksView> findAllActiveMarks();
+
+    @Query("select distinct s.joinYear from Student s where s.joinYear < :joinYear order by s.joinYear")
+    List<Integer> findJoinYearsBefore(@Param("joinYear") Integer joinYear);
+
+    @Query("select s.studentId as studentId, s.domain.domainId as domainId from Student s where s.joinYear = :joinYear")
+    List<StudentDomainView> findStudentDomainsByJoinYear(@Param("joinYear") Integer joinYear);
+
+    @Modifying
+    @Query("delete from Student s where s.joinYear = :joinYear")
+    int deleteByJoinYear(@Param("joinYear") Integer joinYear);
 }
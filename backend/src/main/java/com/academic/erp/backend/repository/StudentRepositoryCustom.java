@@ -0,0 +1,12 @@
+package com.academic.erp.backend.repository;
+
+import java.util.List;
+
+public interface StudentRepositoryCustom {
+
+    /**
+     * Fetches only the requested columns of a domain's active students, ordered by student ID.
+     * Each row holds the values in the same order as {@code fields}.
+     */
+    List<Object[]> findActiveColumnsByDomainId(Long domainId, List<StudentField> fields);
+}
@@ -0,0 +1,34 @@
+package com.academic.erp.backend.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+
+import java.util.List;
+
+public class StudentRepositoryCustomImpl implements StudentRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Object[]> findActiveColumnsByDomainId(Long domainId, List<StudentField> fields) {
+        StringBuilder jpql = new StringBuilder("select ");
+        for (int i = 0; i < fields.size(); i++) {
+            jpql.append(i > 0 ? ", " : "").append(fields.get(i).path()).append(" as c").append(i);
+        }
+        jpql.append(" from Student s");
+        // The domain table is only joined when its program name is requested
+        if (fields.contains(StudentField.DOMAIN_PROGRAM)) {
+            jpql.append(" join s.domain d");
+        }
+        jpql.append(" where s.domain.domainId = :domainId and s.isActive = true order by s.studentId");
+
+        return entityManager.createQuery(jpql.toString(), Tuple.class)
+                .setParameter("domainId", domainId)
+                .getResultList()
+                .stream()
+                .map(Tuple::toArray)
+                .toList();
+    }
+}
@@ -0,0 +1,20 @@
+package com.academic.erp.backend.security;
+
+import java.security.Principal;
+import java.util.List;
+
+/**
+ * Principal placed in the SecurityContext by JwtAuthenticationFilter, holding the claims that
+ * were verified for this request. Controllers read it with {@code @AuthenticationPrincipal}
+ * instead of re-validating the cookie.
+ *
+ * @param exp token expiry in epoch seconds, or null when unknown
+ */
+public record AuthenticatedUser(String email, String name, String picture, Long exp, List<String> roles)
+        implements Principal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
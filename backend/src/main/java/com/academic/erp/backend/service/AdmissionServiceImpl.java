@@ -4,13 +4,20 @@ import com.academic.erp.backend.dto.StudentAdmissionRequestDto;
 import com.academic.erp.backend.dto.StudentResponseDto;
 import com.academic.erp.backend.entity.Domain;
 import com.academic.erp.backend.entity.Student;
+import com.academic.erp.backend.event.DataChangeEvent;
+import com.academic.erp.backend.exception.BusinessException;
+import com.academic.erp.backend.exception.ErrorCode;
+import com.academic.erp.backend.repository.ArchivedStudentRepository;
 import com.academic.erp.backend.repository.DomainRepository;
 import com.academic.erp.backend.repository.StudentRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -21,14 +28,18 @@ public class AdmissionServiceImpl implements AdmissionService {
     private final DomainRepository domainRepository;
     private final StudentRepository studentRepository;
     private final RollNumberGenerator rollNumberGenerator;
+    private final ArchivedStudentRepository archivedStudentRepository;
+    private final StudentArchiveService studentArchiveService;
+    private final StudentEmailRegistry studentEmailRegistry;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
     public StudentResponseDto admitStudent(StudentAdmissionRequestDto request) {
 
         // 1) Validate domain
-        Domain domain = domainRepository.findById(request.getDomainId())
-                .orElseThrow(() -> new RuntimeException("Invalid domain ID"));
+        Domain domain = domainRepository.findByIdForShare(request.getDomainId())
+                .orElseThrow(() -> new BusinessException(ErrorCode.INVALID_DOMAIN, "Invalid domain ID: " + request.getDomainId()));
 
         // 2) Resolve degree prefix & department range
         String prefix = rollNumberGenerator.extractDegreePrefix(domain.getProgram());
@@ -39,10 +50,15 @@ public class AdmissionServiceImpl implements AdmissionService {
         List<Student> existingStudents = studentRepository
                 .findByRollNumberStartingWithAndJoinYear(rollBase, request.getJoinYear());
 
+        List<String> existingRollNumbers = new ArrayList<>(existingStudents.stream().map(Student::getRollNumber).toList());
+        // Batches past the retention window may already be (partly) archived; their roll numbers stay taken
+        if (studentArchiveService.isArchivable(request.getJoinYear())) {
+            existingRollNumbers.addAll(archivedStudentRepository.findRollNumbersByPrefixAndJoinYear(rollBase, request.getJoinYear()));
+        }
+
         // 4) Extract sequence numbers from existing roll numbers and find the max
         int lastSeq = range.startInclusive() - 1;
-        for (Student student : existingStudents) {
-            String rollNum = student.getRollNumber();
+        for (String rollNum : existingRollNumbers) {
             if (rollNum != null && rollNum.startsWith(rollBase) && rollNum.length() >= rollBase.length() + 3) {
                 try {
                     String seqStr = rollNum.substring(rollBase.length());
@@ -58,7 +74,7 @@ public class AdmissionServiceImpl implements AdmissionService {
 
         int newSeq = lastSeq + 1;
         if (newSeq > range.endInclusive()) {
-            throw new RuntimeException("Seat range exhausted for department: " + domain.getProgram());
+            throw new BusinessException(ErrorCode.SEAT_RANGE_EXHAUSTED, "Seat range exhausted for department: " + domain.getProgram());
         }
 
         // 5) Generate roll number
@@ -91,10 +107,13 @@ public class AdmissionServiceImpl implements AdmissionService {
 
         // 8) Save
         studentRepository.save(student);
+        studentEmailRegistry.register(student.getEmail(), student.getStudentId());
 
         // 9) After saving, check if capacity is exceeded and adjust active status
-        // Fetch all students in this domain
-        List<Student> allDomainStudents = studentRepository.findByDomain_DomainId(domain.getDomainId());
+        // Fetch all students in this domain, already in merit order for the re-ranking below
+        List<Student> allDomainStudents = studentRepository.findByDomainIdInMeritOrder(domain.getDomainId());
+        Map<Long, Boolean> previouslyActive = allDomainStudents.stream()
+                .collect(Collectors.toMap(Student::getStudentId, Student::getIsActive));
         
         // Only proceed if domain has a capacity set
         if (domain.getCapacity() != null && domain.getCapacity() > 0) {
@@ -179,6 +198,22 @@ public class AdmissionServiceImpl implements AdmissionService {
         }
 
         // 10) Return response
+        StudentResponseDto response = toDto(student, domain);
+
+        eventPublisher.publishEvent(DataChangeEvent.student(
+                DataChangeEvent.ChangeType.CREATED, student.getStudentId(), response, domain.getDomainId()));
+        for (Student domainStudent : allDomainStudents) {
+            Boolean wasActive = previouslyActive.get(domainStudent.getStudentId());
+            if (domainStudent != student && !domainStudent.getIsActive().equals(wasActive)) {
+                eventPublisher.publishEvent(DataChangeEvent.student(
+                        domainStudent.getIsActive() ? DataChangeEvent.ChangeType.ACTIVATED : DataChangeEvent.ChangeType.DEACTIVATED,
+                        domainStudent.getStudentId(), toDto(domainStudent, domain), domain.getDomainId()));
+            }
+        }
+        return response;
+    }
+
+    private StudentResponseDto toDto(Student student, Domain domain) {
         return StudentResponseDto.builder()
                 .studentId(student.getStudentId())
                 .rollNumber(student.getRollNumber())
@@ -189,6 +224,8 @@ public class AdmissionServiceImpl implements AdmissionService {
                 .domainProgram(domain.getProgram())
                 .joinYear(student.getJoinYear())
                 .examMarks(student.getExamMarks())
+                .active(student.getIsActive())
+                .createdAt(student.getCreatedAt())
                 .build();
     }
 }
@@ -0,0 +1,250 @@
+package com.academic.erp.backend.service;
+
+import com.academic.erp.backend.dto.ChangeEventDto;
+import com.academic.erp.backend.event.DataChangeEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans committed domain/student changes out to Server-Sent Events subscribers. Only changes
+ * committed on this instance are sent; a client that must see writes made on other replicas as
+ * well reads the change log ({@link ChangeLogService}) instead.
+ * Writers only enqueue into a bounded per-subscriber buffer and never block; each subscriber is
+ * drained by its own dispatcher thread, so a client that stops reading only holds up itself. A
+ * subscriber whose buffer overflows has its backlog dropped and is sent a single "resync" event
+ * telling the client to reload its lists; one whose send blocks past the send timeout is evicted
+ * and its stream closed once the write returns (the client reconnects and resyncs).
+ * <p>
+ * Both the subscribers and the dispatcher threads are bounded. Beyond max-subscribers a new
+ * subscription is refused (503 with Retry-After). Drains run on at most max-send-threads threads;
+ * a client that stopped reading keeps its thread until the container's write times out, so if more
+ * stalled clients than that pile up, the others' events wait in their buffers (and end in a
+ * resync). A drain that cannot even be queued evicts its subscriber.
+ */
+@Service
+@Slf4j
+public class ChangeFeedService {
+
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long emitterTimeoutMs;
+    private final long sendTimeoutNanos;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ExecutorService dispatcher;
+    private final ScheduledExecutorService heartbeat;
+
+    public ChangeFeedService(
+            @Value("${app.change-feed.buffer-size:256}") int bufferSize,
+            @Value("${app.change-feed.emitter-timeout-ms:1800000}") long emitterTimeoutMs,
+            @Value("${app.change-feed.send-timeout-ms:10000}") long sendTimeoutMs,
+            @Value("${app.change-feed.heartbeat-seconds:25}") long heartbeatSeconds,
+            @Value("${app.change-feed.max-subscribers:1000}") int maxSubscribers,
+            @Value("${app.change-feed.max-send-threads:64}") int maxSendThreads) {
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        // Platform threads, not virtual: SseEmitter.send blocks inside a synchronized method, which
+        // would pin the carrier for as long as a stalled client keeps the write waiting. A
+        // subscriber has at most one drain pending, so the queue only fills past max-subscribers.
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(maxSendThreads, maxSendThreads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(maxSubscribers), daemonThreads("change-feed-"));
+        pool.allowCoreThreadTimeOut(true);
+        this.dispatcher = pool;
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(daemonThreads("change-feed-heartbeat-"));
+        this.heartbeat.scheduleAtFixedRate(this::sendHeartbeats, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+        long stallCheckMs = Math.max(1, sendTimeoutMs / 2);
+        this.heartbeat.scheduleAtFixedRate(this::evictStalledSubscribers, stallCheckMs, stallCheckMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Opens a stream for a new subscriber.
+     *
+     * @return the stream, or empty when max-subscribers are already connected
+     */
+    public Optional<SseEmitter> subscribe() {
+        if (subscribers.size() >= maxSubscribers) {
+            log.debug("Refusing change feed subscriber: {} already connected", maxSubscribers);
+            return Optional.empty();
+        }
+        SseEmitter emitter = createEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, bufferSize);
+        subscribers.add(subscriber);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        // Tell the client where the feed currently stands so it can detect gaps on reconnect
+        subscriber.enqueue(ChangeEventDto.builder().sequence(sequence.get()).changeType("CONNECTED").build());
+        return Optional.of(emitter);
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDataChange(DataChangeEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        ChangeEventDto change = ChangeEventDto.builder()
+                .sequence(sequence.incrementAndGet())
+                .entityType(event.entityType().name())
+                .changeType(event.changeType().name())
+                .entityId(event.entityId())
+                .domainIds(event.domainIds())
+                .data(event.payload())
+                .build();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.enqueue(change);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        dispatcher.shutdownNow();
+        subscribers.forEach(s -> s.emitter.complete());
+        subscribers.clear();
+    }
+
+    SseEmitter createEmitter(long timeoutMs) {
+        return new SseEmitter(timeoutMs);
+    }
+
+    private void evictStalledSubscribers() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            long started = subscriber.sendStartedNanos;
+            if (started != 0 && now - started > sendTimeoutNanos) {
+                // The emitter cannot be completed while the send holds it; drain() does that once it returns
+                log.debug("Evicting change feed subscriber blocked in a send for over {} ms",
+                        TimeUnit.NANOSECONDS.toMillis(sendTimeoutNanos));
+                subscriber.evicted = true;
+                subscribers.remove(subscriber);
+                subscriber.buffer.clear();
+            }
+        }
+    }
+
+    private void sendHeartbeats() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeatDue.set(true);
+            subscriber.scheduleDrain();
+        }
+    }
+
+    private static CustomizableThreadFactory daemonThreads(String prefix) {
+        CustomizableThreadFactory factory = new CustomizableThreadFactory(prefix);
+        factory.setDaemon(true);
+        return factory;
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final Queue<ChangeEventDto> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean overflowed = new AtomicBoolean();
+        private final AtomicBoolean heartbeatDue = new AtomicBoolean();
+        // System.nanoTime() when the current send started, 0 while none is in progress
+        private volatile long sendStartedNanos;
+        private volatile boolean evicted;
+
+        private Subscriber(SseEmitter emitter, int capacity) {
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(capacity);
+        }
+
+        private void enqueue(ChangeEventDto change) {
+            if (!buffer.offer(change)) {
+                // Client is too slow: drop the backlog instead of blocking the writer
+                buffer.clear();
+                overflowed.set(true);
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    dispatcher.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    // Queue full or shutting down; no drain is running, so the stream can be closed here
+                    draining.set(false);
+                    subscribers.remove(this);
+                    buffer.clear();
+                    emitter.complete();
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                if (overflowed.getAndSet(false)) {
+                    send(SseEmitter.event()
+                            .name("resync")
+                            .data(ChangeEventDto.builder().sequence(sequence.get()).changeType("RESYNC").build(),
+                                    MediaType.APPLICATION_JSON));
+                }
+                ChangeEventDto change;
+                while (!evicted && (change = buffer.poll()) != null) {
+                    send(SseEmitter.event()
+                            .id(String.valueOf(change.getSequence()))
+                            .name("change")
+                            .data(change, MediaType.APPLICATION_JSON));
+                }
+                if (!evicted && heartbeatDue.getAndSet(false)) {
+                    send(SseEmitter.event().comment("heartbeat"));
+                }
+                if (evicted) {
+                    emitter.complete();
+                    return;
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Dropping change feed subscriber: {}", e.getMessage());
+                subscribers.remove(this);
+                emitter.completeWithError(e);
+                return;
+            } finally {
+                draining.set(false);
+            }
+            // Pick up anything enqueued between the last poll and releasing the drain flag
+            if (!buffer.isEmpty() || overflowed.get()) {
+                scheduleDrain();
+            }
+        }
+
+        private void send(SseEmitter.SseEventBuilder event) throws IOException {
+            sendStartedNanos = System.nanoTime();
+            try {
+                emitter.send(event);
+            } finally {
+                sendStartedNanos = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.academic.erp.backend.service;
+
+import com.academic.erp.backend.dto.ChangeSetDto;
+
+public interface ChangeLogService {
+    /**
+     * Returns the changes recorded after {@code since}. When some of them were already purged
+     * by retention, returns no changes with resyncRequired set and nextSince at the latest version.
+     */
+    ChangeSetDto getChangesSince(Long since, int limit);
+
+    /**
+     * Returns the version of the newest recorded change (0 when there is none). It moves whenever
+     * any instance commits a write, so it tells a node-local cache that it may be out of date.
+     */
+    long getLatestVersion();
+}
@@ -0,0 +1,224 @@
+package com.academic.erp.backend.service;
+
+import com.academic.erp.backend.dto.ChangeLogEntryDto;
+import com.academic.erp.backend.dto.ChangeSetDto;
+import com.academic.erp.backend.entity.ChangeLogEntry;
+import com.academic.erp.backend.entity.Domain;
+import com.academic.erp.backend.entity.Student;
+import com.academic.erp.backend.event.DataChangeEvent;
+import com.academic.erp.backend.repository.ChangeLogRepository;
+import com.academic.erp.backend.repository.DomainRepository;
+import com.academic.erp.backend.repository.StudentRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Eager even with lazy initialization: the purge job is only scheduled once the bean exists
+@Lazy(false)
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChangeLogServiceImpl implements ChangeLogService {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    static final String PURGE_TASK_NAME = "change-log-purge";
+
+    private static final Duration PURGE_LOCK_AT_MOST_FOR = Duration.ofMinutes(30);
+
+    private final ChangeLogRepository changeLogRepository;
+    private final DomainRepository domainRepository;
+    private final StudentRepository studentRepository;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final ScheduledTaskLock scheduledTaskLock;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.change-log.retention-days:30}")
+    private int retentionDays;
+
+    /**
+     * Records the change in the same transaction as the write that caused it,
+     * so the log can never disagree with the tables it describes. The row gets its version
+     * from {@link #assignVersions()} once it has committed.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void recordChange(DataChangeEvent event) {
+        Long domainId = event.domainIds().size() == 1 ? event.domainIds().iterator().next() : null;
+        String payload = null;
+
+        if (event.changeType() != DataChangeEvent.ChangeType.DELETED) {
+            // Entities written by the current transaction are served from the persistence context
+            if (event.entityType() == DataChangeEvent.EntityType.STUDENT) {
+                Student student = studentRepository.findById(event.entityId()).orElse(null);
+                if (student != null) {
+                    domainId = student.getDomain().getDomainId();
+                    payload = toJson(studentSnapshot(student));
+                }
+            } else {
+                payload = domainRepository.findById(event.entityId())
+                        .map(domain -> toJson(domainSnapshot(domain)))
+                        .orElse(null);
+            }
+        }
+
+        changeLogRepository.save(ChangeLogEntry.builder()
+                .entityType(event.entityType().name())
+                .entityId(event.entityId())
+                .changeType(event.changeType().name())
+                .domainId(domainId)
+                .payload(payload)
+                .build());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ChangeSetDto getChangesSince(Long since, int limit) {
+        long from = since != null && since > 0 ? since : 0L;
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        // The purge always keeps the newest entry, so the oldest retained version tells whether
+        // anything after 'from' is gone
+        Long oldestVersion = changeLogRepository.findOldestVersion();
+        if (oldestVersion != null && from < oldestVersion - 1) {
+            return ChangeSetDto.builder()
+                    .since(from)
+                    .nextSince(changeLogRepository.findLatestVersion())
+                    .hasMore(false)
+                    .resyncRequired(true)
+                    .changes(List.of())
+                    .build();
+        }
+
+        List<ChangeLogEntry> page = changeLogRepository
+                .findByChangeVersionGreaterThanOrderByChangeVersionAsc(from, PageRequest.of(0, pageSize + 1));
+        boolean hasMore = page.size() > pageSize;
+
+        // Versions have no holes and never appear below one already visible (assignVersions),
+        // so the page is complete as read
+        List<ChangeLogEntryDto> changes = page.subList(0, Math.min(page.size(), pageSize)).stream()
+                .map(this::toDto)
+                .toList();
+        long nextSince = changes.isEmpty() ? from : changes.get(changes.size() - 1).getVersion();
+
+        return ChangeSetDto.builder()
+                .since(from)
+                .nextSince(nextSince)
+                .hasMore(hasMore)
+                .resyncRequired(false)
+                .changes(changes)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long getLatestVersion() {
+        return changeLogRepository.findLatestVersion();
+    }
+
+    /**
+     * Numbers committed change log rows that have no version yet, oldest first. Every instance
+     * runs this, but only one at a time: each run holds the lock on the change_log_sequence row
+     * until it commits, and its versions become visible together at that commit. Versions are
+     * therefore contiguous, and a reader that has seen version N never later finds a row below
+     * it. A transaction still in flight simply has no row to number yet.
+     */
+    @Scheduled(fixedDelayString = "${app.change-log.sequence-interval-ms:200}")
+    @Transactional
+    public void assignVersions() {
+        // Must be the transaction's first statement: a locking read sees the latest commit, and the
+        // snapshot the pending rows are read from is only taken after any other run has committed
+        long lastVersion = jdbcTemplate.queryForObject(
+                "SELECT last_version FROM change_log_sequence WHERE sequence_id = 1 FOR UPDATE", Long.class);
+        List<Long> pending = changeLogRepository.findUnversionedIds(PageRequest.of(0, MAX_PAGE_SIZE));
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> versions = new ArrayList<>(pending.size());
+        for (Long changeId : pending) {
+            versions.add(new Object[]{++lastVersion, changeId});
+        }
+        jdbcTemplate.batchUpdate("UPDATE change_log SET change_version = ? WHERE change_id = ?", versions);
+        jdbcTemplate.update("UPDATE change_log_sequence SET last_version = ? WHERE sequence_id = 1", lastVersion);
+    }
+
+    // Every replica schedules the purge; only the one holding its lease runs it
+    @Scheduled(cron = "${app.change-log.purge-cron:0 30 3 * * *}")
+    public void purgeExpiredChanges() {
+        scheduledTaskLock.runExclusively(PURGE_TASK_NAME, PURGE_LOCK_AT_MOST_FOR,
+                () -> transactionTemplate.executeWithoutResult(status -> purge()));
+    }
+
+    private void purge() {
+        // The newest entry stays even when expired: it marks where the purged history ends
+        int removed = changeLogRepository.deleteOlderThan(
+                LocalDateTime.now().minusDays(retentionDays), changeLogRepository.findLatestVersion());
+        if (removed > 0) {
+            log.info("Purged {} change log entries older than {} days", removed, retentionDays);
+        }
+    }
+
+    private ChangeLogEntryDto toDto(ChangeLogEntry entry) {
+        return ChangeLogEntryDto.builder()
+                .version(entry.getChangeVersion())
+                .entityType(entry.getEntityType())
+                .entityId(entry.getEntityId())
+                .changeType(entry.getChangeType())
+                .domainId(entry.getDomainId())
+                .data(entry.getPayload())
+                .changedAt(entry.getChangedAt())
+                .build();
+    }
+
+    private Map<String, Object> studentSnapshot(Student student) {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("studentId", student.getStudentId());
+        snapshot.put("rollNumber", student.getRollNumber());
+        snapshot.put("firstName", student.getFirstName());
+        snapshot.put("lastName", student.getLastName());
+        snapshot.put("email", student.getEmail());
+        snapshot.put("domainId", student.getDomain().getDomainId());
+        snapshot.put("joinYear", student.getJoinYear());
+        snapshot.put("examMarks", student.getExamMarks());
+        snapshot.put("isActive", student.getIsActive());
+        return snapshot;
+    }
+
+    private Map<String, Object> domainSnapshot(Domain domain) {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("domainId", domain.getDomainId());
+        snapshot.put("program", domain.getProgram());
+        snapshot.put("batch", domain.getBatch());
+        snapshot.put("capacity", domain.getCapacity());
+        snapshot.put("examName", domain.getExamName());
+        snapshot.put("cutoffMarks", domain.getCutoffMarks());
+        return snapshot;
+    }
+
+    private String toJson(Map<String, Object> snapshot) {
+        try {
+            return objectMapper.writeValueAsString(snapshot);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize change log snapshot", e);
+        }
+    }
+}
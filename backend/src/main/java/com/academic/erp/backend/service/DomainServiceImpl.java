@@ -3,15 +3,22 @@ package com.academic.erp.backend.service;
 import com.academic.erp.backend.dto.DomainRequestDto;
 import com.academic.erp.backend.dto.DomainResponseDto;
 import com.academic.erp.backend.dto.DomainUpdateImpactDto;
+import com.academic.erp.backend.dto.StudentResponseDto;
 import com.academic.erp.backend.entity.Domain;
 import com.academic.erp.backend.entity.Student;
+import com.academic.erp.backend.event.DataChangeEvent;
+import com.academic.erp.backend.exception.ResourceNotFoundException;
 import com.academic.erp.backend.repository.DomainRepository;
+import com.academic.erp.backend.repository.DomainStudentCountView;
 import com.academic.erp.backend.repository.StudentRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -19,12 +26,18 @@ public class DomainServiceImpl implements DomainService {
 
     private final DomainRepository domainRepository;
     private final StudentRepository studentRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StudentEmailRegistry studentEmailRegistry;
 
     @Override
     public List<DomainResponseDto> getAllDomains() {
+        // One grouped count for all domains rather than one roster query per domain
+        Map<Long, Long> activeCounts = studentRepository.countActiveByDomain()
+                .stream()
+                .collect(Collectors.toMap(DomainStudentCountView::getDomainId, DomainStudentCountView::getStudentCount));
         return domainRepository.findAll()
                 .stream()
-                .map(this::toDto)
+                .map(domain -> toDto(domain, activeCounts.getOrDefault(domain.getDomainId(), 0L)))
                 .toList();
     }
 
@@ -40,14 +53,18 @@ public class DomainServiceImpl implements DomainService {
                 .build();
         
         Domain saved = domainRepository.save(domain);
-        return toDto(saved);
+        DomainResponseDto response = toDto(saved);
+        eventPublisher.publishEvent(DataChangeEvent.domain(DataChangeEvent.ChangeType.CREATED, saved.getDomainId(), response));
+        return response;
     }
 
     @Override
     @Transactional
     public DomainResponseDto updateDomain(Long domainId, DomainRequestDto request) {
-        Domain domain = domainRepository.findById(domainId)
-                .orElseThrow(() -> new RuntimeException("Domain not found with id: " + domainId));
+        // Locked read from the database, never the second-level cache: the capacity and cutoff this
+        // update re-ranks from must be current, and admissions into the domain wait until commit
+        Domain domain = domainRepository.findByIdForUpdate(domainId)
+                .orElseThrow(() -> ResourceNotFoundException.domain(domainId));
         
         Integer oldCapacity = domain.getCapacity();
         Integer newCapacity = request.getCapacity();
@@ -59,7 +76,10 @@ public class DomainServiceImpl implements DomainService {
         domain.setExamName(request.getExamName());
         domain.setCutoffMarks(newCutoffMarks);
         
-        List<Student> students = studentRepository.findByDomain_DomainId(domainId);
+        // Already in merit order, so the name tie-break sort below only has to settle ties
+        List<Student> students = studentRepository.findByDomainIdInMeritOrder(domainId);
+        Map<Long, Boolean> previouslyActive = students.stream()
+                .collect(Collectors.toMap(Student::getStudentId, Student::getIsActive));
         
         // If capacity is reduced, prioritize students by marks (highest first), then by name (alphabetical)
         if (oldCapacity != null && newCapacity != null && newCapacity < oldCapacity) {
@@ -112,13 +132,22 @@ public class DomainServiceImpl implements DomainService {
         
         studentRepository.saveAll(students);
         Domain updated = domainRepository.save(domain);
-        return toDto(updated);
+        DomainResponseDto response = toDto(updated);
+        eventPublisher.publishEvent(DataChangeEvent.domain(DataChangeEvent.ChangeType.UPDATED, domainId, response));
+        for (Student student : students) {
+            if (!student.getIsActive().equals(previouslyActive.get(student.getStudentId()))) {
+                eventPublisher.publishEvent(DataChangeEvent.student(
+                        student.getIsActive() ? DataChangeEvent.ChangeType.ACTIVATED : DataChangeEvent.ChangeType.DEACTIVATED,
+                        student.getStudentId(), toStudentDto(student, updated), domainId));
+            }
+        }
+        return response;
     }
 
     @Override
     public DomainUpdateImpactDto getUpdateImpact(Long domainId, DomainRequestDto request) {
         Domain domain = domainRepository.findById(domainId)
-                .orElseThrow(() -> new RuntimeException("Domain not found with id: " + domainId));
+                .orElseThrow(() -> ResourceNotFoundException.domain(domainId));
         
         Integer oldCapacity = domain.getCapacity();
         Integer newCapacity = request.getCapacity();
@@ -128,11 +157,16 @@ public class DomainServiceImpl implements DomainService {
         long affectedCount = 0;
         String message = "No impact on students.";
         List<String> messages = new java.util.ArrayList<>();
+
+        boolean capacityReduced = oldCapacity != null && newCapacity != null && newCapacity < oldCapacity;
+        boolean cutoffChanged = oldCutoffMarks != null && newCutoffMarks != null && !newCutoffMarks.equals(oldCutoffMarks);
+        // Load the roster once for all checks below, and only if one of them needs it
+        List<Student> students = capacityReduced || cutoffChanged
+                ? studentRepository.findByDomain_DomainId(domainId)
+                : List.of();
         
         // Check capacity reduction impact
-        if (oldCapacity != null && newCapacity != null && newCapacity < oldCapacity) {
-            List<Student> students = studentRepository.findByDomain_DomainId(domainId);
-            
+        if (capacityReduced) {
             // Filter students who meet cutoff requirement
             List<Student> eligibleStudents = students.stream()
                     .filter(s -> newCutoffMarks == null || 
@@ -171,8 +205,7 @@ public class DomainServiceImpl implements DomainService {
         }
         
         // Check cutoff marks impact (only if capacity impact is not the primary concern)
-        if (oldCutoffMarks != null && newCutoffMarks != null && newCutoffMarks > oldCutoffMarks) {
-            List<Student> students = studentRepository.findByDomain_DomainId(domainId);
+        if (cutoffChanged && newCutoffMarks > oldCutoffMarks) {
             long cutoffAffected = students.stream()
                     .filter(s -> s.getExamMarks() == null || s.getExamMarks() < newCutoffMarks)
                     .count();
@@ -184,9 +217,8 @@ public class DomainServiceImpl implements DomainService {
                     cutoffAffected, newCutoffMarks
                 ));
             }
-        } else if (oldCutoffMarks != null && newCutoffMarks != null && newCutoffMarks < oldCutoffMarks) {
+        } else if (cutoffChanged && newCutoffMarks < oldCutoffMarks) {
             // If cutoff decreased, some previously disabled students might become active
-            List<Student> students = studentRepository.findByDomain_DomainId(domainId);
             long willBeEnabled = students.stream()
                     .filter(s -> !s.getIsActive() && s.getExamMarks() != null && s.getExamMarks() >= newCutoffMarks)
                     .count();
@@ -213,11 +245,10 @@ public class DomainServiceImpl implements DomainService {
     @Override
     public DomainUpdateImpactDto getDeleteImpact(Long domainId) {
         if (!domainRepository.existsById(domainId)) {
-            throw new RuntimeException("Domain not found with id: " + domainId);
+            throw ResourceNotFoundException.domain(domainId);
         }
         
-        List<Student> students = studentRepository.findByDomain_DomainId(domainId);
-        long studentCount = students.size();
+        long studentCount = studentRepository.countByDomain_DomainId(domainId);
         
         String message = "No students will be deleted.";
         if (studentCount > 0) {
@@ -234,30 +265,53 @@ public class DomainServiceImpl implements DomainService {
     @Override
     @Transactional
     public void deleteDomain(Long domainId) {
-        Domain domain = domainRepository.findById(domainId)
-                .orElseThrow(() -> new RuntimeException("Domain not found with id: " + domainId));
+        // Exclusive: waits for in-flight admissions into this domain and blocks new ones until commit
+        Domain domain = domainRepository.findByIdForUpdate(domainId)
+                .orElseThrow(() -> ResourceNotFoundException.domain(domainId));
         
         // Delete all students associated with this domain first
         List<Student> students = studentRepository.findByDomain_DomainId(domainId);
         if (!students.isEmpty()) {
             studentRepository.deleteAll(students);
+            studentEmailRegistry.release(students.stream().map(Student::getStudentId).toList());
+            students.forEach(student -> eventPublisher.publishEvent(
+                    DataChangeEvent.student(DataChangeEvent.ChangeType.DELETED, student.getStudentId(), null, domainId)));
         }
         
         // Then delete the domain
         domainRepository.delete(domain);
+        eventPublisher.publishEvent(DataChangeEvent.domain(DataChangeEvent.ChangeType.DELETED, domainId, null));
     }
 
     @Override
     public DomainResponseDto getDomainById(Long domainId) {
         Domain domain = domainRepository.findById(domainId)
-                .orElseThrow(() -> new RuntimeException("Domain not found with id: " + domainId));
+                .orElseThrow(() -> ResourceNotFoundException.domain(domainId));
         return toDto(domain);
     }
 
+    private StudentResponseDto toStudentDto(Student student, Domain domain) {
+        return StudentResponseDto.builder()
+                .studentId(student.getStudentId())
+                .rollNumber(student.getRollNumber())
+                .firstName(student.getFirstName())
+                .lastName(student.getLastName())
+                .email(student.getEmail())
+                .domainId(domain.getDomainId())
+                .domainProgram(domain.getProgram())
+                .joinYear(student.getJoinYear())
+                .examMarks(student.getExamMarks())
+                .active(student.getIsActive())
+                .createdAt(student.getCreatedAt())
+                .build();
+    }
+
     private DomainResponseDto toDto(Domain domain) {
         // Count only active students for this domain
-        long studentCount = studentRepository.findByDomain_DomainIdAndIsActiveTrue(domain.getDomainId()).size();
-        
+        return toDto(domain, studentRepository.countByDomain_DomainIdAndIsActiveTrue(domain.getDomainId()));
+    }
+
+    private DomainResponseDto toDto(Domain domain, long studentCount) {
         return DomainResponseDto.builder()
                 .domainId(domain.getDomainId())
                 .program(domain.getProgram())
@@ -0,0 +1,125 @@
+package com.academic.erp.backend.service;
+
+import com.academic.erp.backend.client.GuardedResourceRetriever;
+import com.academic.erp.backend.client.OutboundCallGuard;
+import com.academic.erp.backend.dto.TokenInfoResponse;
+import com.academic.erp.backend.exception.AuthenticationFailedException;
+import com.academic.erp.backend.exception.BusinessException;
+import com.academic.erp.backend.exception.ErrorCode;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.jwk.source.JWKSourceBuilder;
+import com.nimbusds.jose.proc.BadJOSEException;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jose.util.ResourceRetriever;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.proc.ConfigurableJWTProcessor;
+import com.nimbusds.jwt.proc.DefaultJWTClaimsVerifier;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.text.ParseException;
+import java.util.Date;
+import java.util.Set;
+
+/**
+ * Verifies Google ID tokens locally against Google's published signing keys.
+ * The key set is cached in memory and refreshed in the background ahead of expiry; a token
+ * signed with an unknown key id triggers an immediate (rate limited) refetch, which covers key rotation.
+ * Key sets are fetched through the pooled outbound client and {@link OutboundCallGuard}, like every
+ * other call to Google.
+ */
+@Component
+@ConditionalOnProperty(name = "google.id-token.verifier", havingValue = "jwks", matchIfMissing = true)
+@Slf4j
+public class GoogleJwksIdTokenVerifier implements IdTokenVerifier {
+
+    static final Set<String> GOOGLE_ISSUERS = Set.of("https://accounts.google.com", "accounts.google.com");
+
+    private static final int JWKS_SIZE_LIMIT = 64 * 1024;
+
+    private final ConfigurableJWTProcessor<SecurityContext> jwtProcessor;
+
+    @Autowired
+    public GoogleJwksIdTokenVerifier(
+            @Value("${google.client-id}") String clientId,
+            @Value("${google.id-token.jwks-uri:https://www.googleapis.com/oauth2/v3/certs}") String jwksUri,
+            @Value("${google.id-token.jwks-cache-ttl-ms:3600000}") long cacheTtlMs,
+            @Value("${google.id-token.jwks-refresh-ahead-ms:300000}") long refreshAheadMs,
+            @Value("${google.id-token.jwks-timeout-ms:2000}") int timeoutMs,
+            @Value("${google.id-token.clock-skew-seconds:60}") int clockSkewSeconds,
+            RestTemplate outboundRestTemplate,
+            OutboundCallGuard outboundCallGuard) {
+        this(clientId, googleKeySource(jwksUri, cacheTtlMs, refreshAheadMs, timeoutMs,
+                new GuardedResourceRetriever(outboundRestTemplate, outboundCallGuard, "google-jwks", JWKS_SIZE_LIMIT)),
+                clockSkewSeconds);
+    }
+
+    public GoogleJwksIdTokenVerifier(String clientId, JWKSource<SecurityContext> keySource, int clockSkewSeconds) {
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, keySource));
+        DefaultJWTClaimsVerifier<SecurityContext> claimsVerifier = new DefaultJWTClaimsVerifier<>(
+                clientId, null, Set.of("iss", "exp", "email"));
+        claimsVerifier.setMaxClockSkew(clockSkewSeconds);
+        processor.setJWTClaimsSetVerifier(claimsVerifier);
+        this.jwtProcessor = processor;
+    }
+
+    @Override
+    public TokenInfoResponse verify(String idToken) {
+        JWTClaimsSet claims;
+        try {
+            claims = jwtProcessor.process(idToken, null);
+        } catch (ParseException | BadJOSEException e) {
+            log.debug("Rejected ID token: {}", e.getMessage());
+            throw new AuthenticationFailedException("Invalid or expired token");
+        } catch (JOSEException e) {
+            // Key set could not be fetched or the signature could not be checked
+            throw new BusinessException(ErrorCode.UPSTREAM_UNAVAILABLE, "Could not verify ID token signature", e);
+        }
+
+        if (!GOOGLE_ISSUERS.contains(claims.getIssuer())) {
+            throw new AuthenticationFailedException("Invalid issuer in token");
+        }
+
+        try {
+            TokenInfoResponse tokenInfo = new TokenInfoResponse();
+            tokenInfo.setEmail(claims.getStringClaim("email"));
+            tokenInfo.setName(claims.getStringClaim("name"));
+            tokenInfo.setPicture(claims.getStringClaim("picture"));
+            tokenInfo.setAud(claims.getAudience().get(0));
+            tokenInfo.setIss(claims.getIssuer());
+            tokenInfo.setExp(epochSeconds(claims.getExpirationTime()));
+            tokenInfo.setIat(epochSeconds(claims.getIssueTime()));
+            return tokenInfo;
+        } catch (ParseException e) {
+            throw new AuthenticationFailedException("Invalid or expired token");
+        }
+    }
+
+    private static JWKSource<SecurityContext> googleKeySource(String jwksUri, long cacheTtlMs, long refreshAheadMs,
+                                                             int timeoutMs, ResourceRetriever retriever) {
+        try {
+            return JWKSourceBuilder.<SecurityContext>create(new URL(jwksUri), retriever)
+                    .cache(cacheTtlMs, timeoutMs)
+                    .refreshAheadCache(refreshAheadMs, true)
+                    .retrying(true)
+                    .build();
+        } catch (MalformedURLException e) {
+            throw new IllegalStateException("Invalid google.id-token.jwks-uri: " + jwksUri, e);
+        }
+    }
+
+    private static Long epochSeconds(Date date) {
+        return date != null ? date.getTime() / 1000 : null;
+    }
+}
@@ -0,0 +1,109 @@
+package com.academic.erp.backend.service;
+
+import com.academic.erp.backend.client.OutboundCallGuard;
+import com.academic.erp.backend.dto.TokenInfoResponse;
+import com.academic.erp.backend.exception.AuthenticationFailedException;
+import com.academic.erp.backend.exception.BusinessException;
+import com.academic.erp.backend.exception.ErrorCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Map;
+
+/**
+ * Verifies ID tokens remotely through Google's tokeninfo endpoint (one HTTPS round trip per call).
+ * Kept as a fallback; select it with google.id-token.verifier=tokeninfo.
+ */
+@Component
+@ConditionalOnProperty(name = "google.id-token.verifier", havingValue = "tokeninfo")
+@RequiredArgsConstructor
+@Slf4j
+public class GoogleTokenInfoIdTokenVerifier implements IdTokenVerifier {
+
+    @Value("${google.client-id}")
+    private String clientId;
+
+    // URI template, so the token never ends up in logs or metric tags
+    @Value("${google.tokeninfo-uri:https://oauth2.googleapis.com/tokeninfo?id_token={idToken}}")
+    private String tokenInfoEndpoint;
+
+    private final RestTemplate outboundRestTemplate;
+
+    private final OutboundCallGuard outboundCallGuard;
+
+    @Override
+    public TokenInfoResponse verify(String idToken) {
+        try {
+            ResponseEntity<Map<String, Object>> response = outboundCallGuard.call("google-tokeninfo", () -> outboundRestTemplate.exchange(
+                    tokenInfoEndpoint, HttpMethod.GET, null, new ParameterizedTypeReference<Map<String, Object>>() {}, idToken));
+
+            if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null) {
+                throw new AuthenticationFailedException("Invalid ID token");
+            }
+            
+            Map<String, Object> body = response.getBody();
+            
+            // Check for error in response
+            if (body.containsKey("error")) {
+                String errorDescription = (String) body.getOrDefault("error_description", body.get("error"));
+                throw new AuthenticationFailedException("Token validation error: " + errorDescription);
+            }
+                
+            // Validate client ID
+            String aud = (String) body.get("aud");
+            if (aud == null || !clientId.equals(aud)) {
+                throw new AuthenticationFailedException("Invalid client ID in token");
+            }
+
+            // Validate issuer
+            String iss = (String) body.get("iss");
+            if (iss == null || (!iss.equals("https://accounts.google.com") && !iss.equals("accounts.google.com"))) {
+                throw new AuthenticationFailedException("Invalid issuer in token");
+            }
+
+            // Check expiration
+            Object expObj = body.get("exp");
+            if (expObj != null) {
+                long exp = expObj instanceof Number ? ((Number) expObj).longValue() : Long.parseLong(expObj.toString());
+                if (exp * 1000 < System.currentTimeMillis()) {
+                    throw new AuthenticationFailedException("Token has expired");
+                }
+            }
+
+            // Build response
+            TokenInfoResponse tokenInfo = new TokenInfoResponse();
+            tokenInfo.setEmail((String) body.get("email"));
+            tokenInfo.setName((String) body.get("name"));
+            tokenInfo.setPicture((String) body.get("picture"));
+            tokenInfo.setAud(aud);
+            tokenInfo.setIss(iss);
+            if (expObj != null) {
+                tokenInfo.setExp(expObj instanceof Number ? ((Number) expObj).longValue() : Long.parseLong(expObj.toString()));
+            }
+            Object iatObj = body.get("iat");
+            if (iatObj != null) {
+                tokenInfo.setIat(iatObj instanceof Number ? ((Number) iatObj).longValue() : Long.parseLong(iatObj.toString()));
+            }
+
+            return tokenInfo;
+        } catch (BusinessException e) {
+            throw e;
+        } catch (org.springframework.web.client.HttpClientErrorException e) {
+            log.debug("HTTP client error validating token: {}", e.getResponseBodyAsString());
+            throw new AuthenticationFailedException("Invalid or expired token");
+        } catch (org.springframework.web.client.RestClientException e) {
+            throw new BusinessException(ErrorCode.UPSTREAM_UNAVAILABLE, "Google tokeninfo endpoint unavailable", e);
+        } catch (Exception e) {
+            log.error("Error validating ID token", e);
+            throw new AuthenticationFailedException("Failed to validate ID token: " + (e.getMessage() != null ? e.getMessage() : "Unknown error"));
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.academic.erp.backend.service;
+
+import com.academic.erp.backend.dto.TokenInfoResponse;
+
+/**
+ * Verifies a Google ID token (signature, audience, issuer and expiry) and returns its claims.
+ * Implementations throw a RuntimeException when the token is not acceptable.
+ */
+public interface IdTokenVerifier {
+    TokenInfoResponse verify(String idToken);
+}
@@ -0,0 +1,96 @@
+package com.academic.erp.backend.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Exact fixed-point histogram of exam marks. Marks are stored as DECIMAL(5,2) in [0, 100],
+ * so one bucket per hundredth (10001 buckets) represents every possible value without error.
+ * Unlike a t-digest it supports removal, which lets per-domain statistics be maintained
+ * incrementally, and two histograms merge by adding bucket counts.
+ */
+public final class MarksHistogram {
+
+    static final int BUCKETS = 10_001;
+
+    private final int[] counts = new int[BUCKETS];
+    private long count;
+    private long sumHundredths;
+
+    public static int toHundredths(double marks) {
+        int value = (int) Math.round(marks * 100);
+        return Math.max(0, Math.min(BUCKETS - 1, value));
+    }
+
+    public void add(int hundredths) {
+        counts[hundredths]++;
+        count++;
+        sumHundredths += hundredths;
+    }
+
+    public void remove(int hundredths) {
+        if (counts[hundredths] == 0) {
+            return;
+        }
+        counts[hundredths]--;
+        count--;
+        sumHundredths -= hundredths;
+    }
+
+    public void merge(MarksHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        sumHundredths += other.sumHundredths;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public Double mean() {
+        if (count == 0) {
+            return null;
+        }
+        return BigDecimal.valueOf(sumHundredths)
+                .divide(BigDecimal.valueOf(count * 100), 2, RoundingMode.HALF_UP)
+                .doubleValue();
+    }
+
+    public Double min() {
+        for (int i = 0; i < BUCKETS; i++) {
+            if (counts[i] > 0) {
+                return i / 100.0;
+            }
+        }
+        return null;
+    }
+
+    public Double max() {
+        for (int i = BUCKETS - 1; i >= 0; i--) {
+            if (counts[i] > 0) {
+                return i / 100.0;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Nearest-rank percentile: the smallest mark such that at least q of all marks are at or below it.
+     */
+    public Double percentile(double q) {
+        if (count == 0) {
+            return null;
+        }
+        long rank = Math.max(1, (long) Math.ceil(q * count));
+        long cumulative = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            cumulative += counts[i];
+            if (cumulative >= rank) {
+                return i / 100.0;
+            }
+        }
+        return max();
+    }
+}
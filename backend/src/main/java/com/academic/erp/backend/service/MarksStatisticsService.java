@@ -0,0 +1,9 @@
+package com.academic.erp.backend.service;
+
+import com.academic.erp.backend.dto.MarksStatisticsDto;
+import com.academic.erp.backend.dto.MarksStatisticsReportDto;
+
+public interface MarksStatisticsService {
+    MarksStatisticsDto getDomainStatistics(Long domainId);
+    MarksStatisticsReportDto computeAllDomainStatistics();
+}
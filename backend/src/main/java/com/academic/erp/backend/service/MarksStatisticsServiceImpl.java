@@ -0,0 +1,243 @@
+package com.academic.erp.backend.service;
+
+import com.academic.erp.backend.dto.MarksStatisticsDto;
+import com.academic.erp.backend.dto.MarksStatisticsReportDto;
+import com.academic.erp.backend.dto.StudentResponseDto;
+import com.academic.erp.backend.event.DataChangeEvent;
+import com.academic.erp.backend.exception.ResourceNotFoundException;
+import com.academic.erp.backend.repository.DomainRepository;
+import com.academic.erp.backend.repository.StudentMarksView;
+import com.academic.erp.backend.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps a marks histogram per domain and applies every committed student change to it
+ * incrementally, so statistics requests rarely pull the roster. A domain's state is seeded
+ * from a single column projection the first time it is asked for.
+ * <p>
+ * Commit events only reach the instance that made the write, so with several replicas a state
+ * misses the writes made elsewhere. Each state is therefore seeded again once it is older than
+ * {@code app.marks-statistics.reseed-interval}, which bounds how far the statistics served by one
+ * instance lag behind writes made on another.
+ */
+@Service
+public class MarksStatisticsServiceImpl implements MarksStatisticsService {
+
+    private final StudentRepository studentRepository;
+    private final DomainRepository domainRepository;
+    private final long reseedIntervalNanos;
+    private final LongSupplier nanoClock;
+
+    private final Map<Long, DomainMarks> states = new ConcurrentHashMap<>();
+    // Bumped per domain on every change so a seed that raced with a write is discarded. Bumps and
+    // seed installs both run inside states.compute for the domain, so neither can slip between
+    // the other's check and update.
+    private final Map<Long, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    @Autowired
+    public MarksStatisticsServiceImpl(StudentRepository studentRepository, DomainRepository domainRepository,
+                                      @Value("${app.marks-statistics.reseed-interval:30s}") Duration reseedInterval) {
+        this(studentRepository, domainRepository, reseedInterval, System::nanoTime);
+    }
+
+    MarksStatisticsServiceImpl(StudentRepository studentRepository, DomainRepository domainRepository,
+                               Duration reseedInterval, LongSupplier nanoClock) {
+        this.studentRepository = studentRepository;
+        this.domainRepository = domainRepository;
+        this.reseedIntervalNanos = reseedInterval.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public MarksStatisticsDto getDomainStatistics(Long domainId) {
+        DomainMarks state = states.get(domainId);
+        if (state != null && nanoClock.getAsLong() - state.seededAtNanos > reseedIntervalNanos) {
+            // May be missing writes made on other instances
+            states.remove(domainId, state);
+            state = null;
+        }
+        if (state == null) {
+            // Before any query: under REPEATABLE READ the snapshot is taken by the first read, so a
+            // change committed before it has either bumped this generation already or is in the rows
+            long generation = generation(domainId).get();
+            if (!domainRepository.existsById(domainId)) {
+                throw ResourceNotFoundException.domain(domainId);
+            }
+            DomainMarks seeded = new DomainMarks(nanoClock.getAsLong());
+            for (StudentMarksView row : studentRepository.findActiveMarksByDomainId(domainId)) {
+                seeded.put(row.getStudentId(), row.getExamMarks(), row.getCreatedAt());
+            }
+            install(domainId, seeded, generation);
+            state = seeded;
+        }
+        return state.toDto(domainId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public MarksStatisticsReportDto computeAllDomainStatistics() {
+        Map<Long, Long> seenGenerations = new HashMap<>();
+        generations.forEach((id, generation) -> seenGenerations.put(id, generation.get()));
+        long seededAtNanos = nanoClock.getAsLong();
+
+        Map<Long, List<StudentMarksView>> byDomain = studentRepository.findAllActiveMarks().stream()
+                .collect(Collectors.groupingBy(StudentMarksView::getDomainId));
+        // Domains without admitted students still get an (empty) entry
+        domainRepository.findAllDomainIds().forEach(id -> byDomain.putIfAbsent(id, List.of()));
+
+        // Build each domain's histogram independently, then merge them for the aggregate
+        Map<Long, DomainMarks> computed = byDomain.entrySet().parallelStream()
+                .collect(Collectors.toConcurrentMap(Map.Entry::getKey, entry -> {
+                    DomainMarks state = new DomainMarks(seededAtNanos);
+                    entry.getValue().forEach(row -> state.put(row.getStudentId(), row.getExamMarks(), row.getCreatedAt()));
+                    return state;
+                }));
+
+        MarksHistogram overall = computed.values().parallelStream()
+                .map(DomainMarks::snapshot)
+                .reduce(new MarksHistogram(), (left, right) -> {
+                    MarksHistogram merged = new MarksHistogram();
+                    merged.merge(left);
+                    merged.merge(right);
+                    return merged;
+                });
+
+        // Refresh the incremental states for domains that did not change during the pass
+        computed.forEach((domainId, state) -> states.compute(domainId, (id, current) ->
+                seenGenerations.getOrDefault(id, 0L) == generation(id).get() ? state : current));
+
+        List<MarksStatisticsDto> domains = computed.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> entry.getValue().toDto(entry.getKey()))
+                .toList();
+
+        return MarksStatisticsReportDto.builder()
+                .overall(toDto(null, overall, null))
+                .domains(domains)
+                .build();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDataChange(DataChangeEvent event) {
+        if (event.entityType() == DataChangeEvent.EntityType.DOMAIN) {
+            if (event.changeType() == DataChangeEvent.ChangeType.DELETED) {
+                states.compute(event.entityId(), (id, state) -> {
+                    generation(id).incrementAndGet();
+                    return null;
+                });
+            }
+            return;
+        }
+
+        // Drop the student's previous contribution wherever it was, then add the new one
+        StudentResponseDto added = event.payload() instanceof StudentResponseDto student
+                && Boolean.TRUE.equals(student.getActive()) && student.getExamMarks() != null ? student : null;
+        for (Long domainId : event.domainIds()) {
+            states.compute(domainId, (id, state) -> {
+                generation(id).incrementAndGet();
+                if (state != null) {
+                    state.remove(event.entityId());
+                    if (added != null && id.equals(added.getDomainId())) {
+                        state.put(added.getStudentId(), added.getExamMarks(), added.getCreatedAt());
+                    }
+                }
+                return state;
+            });
+        }
+    }
+
+    // Installs a seed unless a change to the domain was applied after its generation was read
+    private void install(Long domainId, DomainMarks seeded, long generation) {
+        states.compute(domainId, (id, current) ->
+                current == null && generation(id).get() == generation ? seeded : current);
+    }
+
+    private AtomicLong generation(Long domainId) {
+        return generations.computeIfAbsent(domainId, id -> new AtomicLong());
+    }
+
+    private static MarksStatisticsDto toDto(Long domainId, MarksHistogram histogram, Double lastAdmittedMarks) {
+        return MarksStatisticsDto.builder()
+                .domainId(domainId)
+                .admittedCount(histogram.count())
+                .mean(histogram.mean())
+                .median(histogram.percentile(0.5))
+                .p90(histogram.percentile(0.9))
+                .min(histogram.min())
+                .max(histogram.max())
+                .lastAdmittedMarks(lastAdmittedMarks)
+                .build();
+    }
+
+    /**
+     * Active students' marks for one domain, with the time each was admitted. Student IDs come
+     * from per-instance blocks of the pooled generator, so they do not follow admission order.
+     */
+    private static final class DomainMarks {
+
+        // Admission time first, then the ID for students admitted in the same instant; rows
+        // without a creation time (loaded outside the application) count as the oldest
+        private static final Comparator<Map.Entry<Long, AdmittedMarks>> ADMISSION_ORDER =
+                Comparator.<Map.Entry<Long, AdmittedMarks>, LocalDateTime>comparing(entry -> entry.getValue().admittedAt(),
+                                Comparator.nullsFirst(Comparator.naturalOrder()))
+                        .thenComparing(Map.Entry::getKey);
+
+        private final long seededAtNanos;
+        private final Map<Long, AdmittedMarks> marksByStudent = new HashMap<>();
+        private final MarksHistogram histogram = new MarksHistogram();
+
+        DomainMarks(long seededAtNanos) {
+            this.seededAtNanos = seededAtNanos;
+        }
+
+        synchronized void put(Long studentId, Double examMarks, LocalDateTime admittedAt) {
+            if (examMarks == null) {
+                return;
+            }
+            remove(studentId);
+            int hundredths = MarksHistogram.toHundredths(examMarks);
+            marksByStudent.put(studentId, new AdmittedMarks(hundredths, admittedAt));
+            histogram.add(hundredths);
+        }
+
+        synchronized void remove(Long studentId) {
+            AdmittedMarks previous = marksByStudent.remove(studentId);
+            if (previous != null) {
+                histogram.remove(previous.hundredths());
+            }
+        }
+
+        synchronized MarksHistogram snapshot() {
+            MarksHistogram copy = new MarksHistogram();
+            copy.merge(histogram);
+            return copy;
+        }
+
+        synchronized MarksStatisticsDto toDto(Long domainId) {
+            Double lastAdmittedMarks = marksByStudent.entrySet().stream()
+                    .max(ADMISSION_ORDER)
+                    .map(entry -> entry.getValue().hundredths() / 100.0)
+                    .orElse(null);
+            return MarksStatisticsServiceImpl.toDto(domainId, histogram, lastAdmittedMarks);
+        }
+    }
+
+    private record AdmittedMarks(int hundredths, LocalDateTime admittedAt) {}
+}
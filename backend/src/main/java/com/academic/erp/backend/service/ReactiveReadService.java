@@ -0,0 +1,12 @@
+package com.academic.erp.backend.service;
+
+import com.academic.erp.backend.dto.DomainResponseDto;
+import com.academic.erp.backend.dto.StudentResponseDto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveReadService {
+    Flux<DomainResponseDto> getAllDomains();
+    Mono<DomainResponseDto> getDomainById(Long domainId);
+    Flux<StudentResponseDto> getStudentsByDomain(Long domainId);
+}
@@ -0,0 +1,99 @@
+package com.academic.erp.backend.service;
+
+import com.academic.erp.backend.dto.DomainResponseDto;
+import com.academic.erp.backend.dto.StudentResponseDto;
+import com.academic.erp.backend.exception.ResourceNotFoundException;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only queries behind /api/reactive, issued over R2DBC so no request thread waits on the
+ * database. Rows are mapped straight into the response DTOs (no entities, no second-level cache),
+ * and every call is one statement: active counts and the roster's program come from the same query.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.reactive-api.enabled", havingValue = "true", matchIfMissing = true)
+public class ReactiveReadServiceImpl implements ReactiveReadService {
+
+    private static final String DOMAIN_SELECT = """
+            SELECT d.domain_id, d.program, d.batch, d.capacity, d.exam_name, d.cutoff_marks,
+                   (SELECT COUNT(*) FROM students s
+                    WHERE s.domain_id = d.domain_id AND s.is_active = TRUE) AS student_count
+            FROM domains d""";
+
+    private static final String ROSTER_SELECT = """
+            SELECT s.student_id, s.roll_number, s.first_name, s.last_name, s.email,
+                   s.join_year, s.exam_marks, s.is_active, s.created_at, d.program
+            FROM students s JOIN domains d ON d.domain_id = s.domain_id
+            WHERE s.domain_id = :domainId AND s.is_active = TRUE
+            ORDER BY s.student_id""";
+
+    private final DatabaseClient reactiveDatabaseClient;
+
+    @Override
+    public Flux<DomainResponseDto> getAllDomains() {
+        return reactiveDatabaseClient.sql(DOMAIN_SELECT + " ORDER BY d.domain_id")
+                .map(ReactiveReadServiceImpl::toDomainDto)
+                .all();
+    }
+
+    @Override
+    public Mono<DomainResponseDto> getDomainById(Long domainId) {
+        return reactiveDatabaseClient.sql(DOMAIN_SELECT + " WHERE d.domain_id = :domainId")
+                .bind("domainId", domainId)
+                .map(ReactiveReadServiceImpl::toDomainDto)
+                .one()
+                .switchIfEmpty(Mono.error(() -> ResourceNotFoundException.domain(domainId)));
+    }
+
+    @Override
+    public Flux<StudentResponseDto> getStudentsByDomain(Long domainId) {
+        // Same contract as the blocking roster: an unknown domain has no active students
+        return reactiveDatabaseClient.sql(ROSTER_SELECT)
+                .bind("domainId", domainId)
+                .map(row -> toStudentDto(row, domainId))
+                .all();
+    }
+
+    private static DomainResponseDto toDomainDto(Readable row) {
+        return DomainResponseDto.builder()
+                .domainId(row.get("domain_id", Long.class))
+                .program(row.get("program", String.class))
+                .batch(row.get("batch", String.class))
+                .capacity(row.get("capacity", Integer.class))
+                .examName(row.get("exam_name", String.class))
+                .cutoffMarks(toDouble(row.get("cutoff_marks", BigDecimal.class)))
+                .studentCount(row.get("student_count", Long.class))
+                .build();
+    }
+
+    private static StudentResponseDto toStudentDto(Readable row, Long domainId) {
+        return StudentResponseDto.builder()
+                .studentId(row.get("student_id", Long.class))
+                .rollNumber(row.get("roll_number", String.class))
+                .firstName(row.get("first_name", String.class))
+                .lastName(row.get("last_name", String.class))
+                .email(row.get("email", String.class))
+                .domainId(domainId)
+                .domainProgram(row.get("program", String.class))
+                .joinYear(row.get("join_year", Integer.class))
+                .examMarks(toDouble(row.get("exam_marks", BigDecimal.class)))
+                .active(row.get("is_active", Boolean.class))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .build();
+    }
+
+    // DECIMAL columns come back as BigDecimal from both MySQL and H2 drivers
+    private static Double toDouble(BigDecimal value) {
+        return value == null ? null : value.doubleValue();
+    }
+}
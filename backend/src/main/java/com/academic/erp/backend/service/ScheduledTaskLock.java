@@ -0,0 +1,93 @@
+package com.academic.erp.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Runs a scheduled job on one instance at a time, however many replicas fire the same cron.
+ * A job holds a lease in scheduled_task_locks (V6): taking it moves locked_until forward, which
+ * only succeeds once the previous lease has run out. lockAtMostFor bounds how long a crashed
+ * holder blocks the job; after a run the lease is kept until app.scheduled-locks.lock-at-least-for
+ * has passed, so an instance whose cron fires a little later finds it taken instead of running the
+ * job again. Lease times come from each instance's clock, so that minimum must exceed their skew.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ScheduledTaskLock {
+
+    private static final String INSTANCE = ManagementFactory.getRuntimeMXBean().getName();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.scheduled-locks.lock-at-least-for:1m}")
+    private Duration lockAtLeastFor;
+
+    /**
+     * Runs the task if no other instance holds its lease.
+     *
+     * @return whether the task ran
+     */
+    public boolean runExclusively(String taskName, Duration lockAtMostFor, Runnable task) {
+        return callExclusively(taskName, lockAtMostFor, () -> {
+            task.run();
+            return Boolean.TRUE;
+        }).isPresent();
+    }
+
+    /**
+     * Runs the task if no other instance holds its lease.
+     *
+     * @return the task's result, or empty when another instance holds the lease
+     */
+    public <T> Optional<T> callExclusively(String taskName, Duration lockAtMostFor, Supplier<T> task) {
+        LocalDateTime lockedAt = now();
+        if (!acquire(taskName, lockedAt, lockedAt.plus(lockAtMostFor))) {
+            log.debug("Skipping {}: another instance holds its lock", taskName);
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(task.get());
+        } finally {
+            LocalDateTime earliestRelease = lockedAt.plus(lockAtLeastFor);
+            LocalDateTime releaseAt = now().isAfter(earliestRelease) ? now() : earliestRelease;
+            jdbcTemplate.update("UPDATE scheduled_task_locks SET locked_until = ? WHERE task_name = ? AND locked_by = ?",
+                    releaseAt, taskName, INSTANCE);
+        }
+    }
+
+    private boolean acquire(String taskName, LocalDateTime now, LocalDateTime lockedUntil) {
+        int taken = jdbcTemplate.update(
+                "UPDATE scheduled_task_locks SET locked_until = ?, locked_at = ?, locked_by = ? " +
+                "WHERE task_name = ? AND locked_until <= ?",
+                lockedUntil, now, INSTANCE, taskName, now);
+        if (taken == 1) {
+            return true;
+        }
+        try {
+            jdbcTemplate.update(
+                    "INSERT INTO scheduled_task_locks (task_name, locked_until, locked_at, locked_by) VALUES (?, ?, ?, ?)",
+                    taskName, lockedUntil, now, INSTANCE);
+            return true;
+        } catch (DuplicateKeyException e) {
+            // The row exists and its lease has not run out
+            return false;
+        }
+    }
+
+    // Stored as DATETIME(6), so compare at the precision the database keeps
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+}
@@ -0,0 +1,211 @@
+package com.academic.erp.backend.service;
+
+import com.academic.erp.backend.dto.TokenInfoResponse;
+import com.academic.erp.backend.exception.AuthenticationFailedException;
+import com.academic.erp.backend.security.AuthenticatedUser;
+import com.nimbusds.jose.EncryptionMethod;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWEAlgorithm;
+import com.nimbusds.jose.JWEHeader;
+import com.nimbusds.jose.JWEObject;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.Payload;
+import com.nimbusds.jose.crypto.DirectDecrypter;
+import com.nimbusds.jose.crypto.DirectEncrypter;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jose.crypto.MACVerifier;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Mints and verifies the application's own session token: an HS256 JWT carrying the user's
+ * email, profile and roles. It is issued once Google has vouched for the user (login or refresh)
+ * and afterwards checked locally on every request.
+ * <p>
+ * Google's refresh token is kept client-side as well, in an encrypted (JWE, A256GCM) cookie,
+ * so no server-side session is needed and any replica can serve any request.
+ */
+@Service
+public class SessionTokenService {
+
+    public static final String COOKIE_NAME = "session_token";
+    public static final String REFRESH_COOKIE_NAME = "refresh_token";
+    static final String ISSUER = "academic-erp";
+    // The value application.properties used to fall back to; it is public, so never a valid key
+    static final String PLACEHOLDER_SECRET = "CHANGE_THIS_SECRET_KEY";
+    static final int MIN_SECRET_BYTES = 32;
+
+    private final JWSSigner signer;
+    private final JWSVerifier verifier;
+    private final DirectEncrypter encrypter;
+    private final DirectDecrypter decrypter;
+    private final long expirationMs;
+
+    public SessionTokenService(
+            @Value("${app.jwt.secret}") String secret,
+            @Value("${app.jwt.expiration}") long expirationMs) {
+        requireStrongSecret(secret);
+        // HS256 and A256GCM need 256-bit keys; derive separate ones from the one configured secret
+        byte[] signingKey = sha256(secret);
+        byte[] encryptionKey = sha256("refresh-cookie:" + secret);
+        try {
+            this.signer = new MACSigner(signingKey);
+            this.verifier = new MACVerifier(signingKey);
+            this.encrypter = new DirectEncrypter(encryptionKey);
+            this.decrypter = new DirectDecrypter(encryptionKey);
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Invalid app.jwt.secret", e);
+        }
+        this.expirationMs = expirationMs;
+    }
+
+    /**
+     * Refuses to start with a secret anyone could know or guess: anyone holding it can mint
+     * sessions (including admin ones) and read refresh cookies. Hashing cannot add entropy, so the
+     * secret itself must carry at least 256 bits, e.g. {@code openssl rand -base64 32}.
+     */
+    static void requireStrongSecret(String secret) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException("app.jwt.secret is not set; set APP_JWT_SECRET (e.g. openssl rand -base64 32)");
+        }
+        if (PLACEHOLDER_SECRET.equals(secret.trim())) {
+            throw new IllegalStateException("app.jwt.secret is still the placeholder " + PLACEHOLDER_SECRET);
+        }
+        if (secret.getBytes(StandardCharsets.UTF_8).length < MIN_SECRET_BYTES
+                || characterSetEntropyBits(secret) < 8 * MIN_SECRET_BYTES) {
+            throw new IllegalStateException("app.jwt.secret must carry at least " + MIN_SECRET_BYTES
+                    + " bytes of entropy (e.g. openssl rand -base64 32)");
+        }
+        // The character-set estimate assumes every character is random; long but repetitive
+        // secrets ("aaaa...", a word repeated) fail this second, frequency-based estimate
+        if (shannonEntropyBits(secret) < 5 * MIN_SECRET_BYTES) {
+            throw new IllegalStateException("app.jwt.secret is too repetitive; use a random value (e.g. openssl rand -base64 32)");
+        }
+    }
+
+    // length * log2(size of the character classes used): what the secret could carry if random
+    private static double characterSetEntropyBits(String secret) {
+        int pool = (secret.chars().anyMatch(Character::isLowerCase) ? 26 : 0)
+                + (secret.chars().anyMatch(Character::isUpperCase) ? 26 : 0)
+                + (secret.chars().anyMatch(Character::isDigit) ? 10 : 0)
+                + (secret.chars().anyMatch(ch -> !Character.isLetterOrDigit(ch)) ? 33 : 0);
+        return secret.length() * Math.log(pool) / Math.log(2);
+    }
+
+    // From the secret's own character frequencies
+    private static double shannonEntropyBits(String secret) {
+        Map<Integer, Long> counts = secret.chars().boxed()
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+        double bitsPerChar = 0;
+        for (long count : counts.values()) {
+            double p = (double) count / secret.length();
+            bitsPerChar -= p * Math.log(p) / Math.log(2);
+        }
+        return bitsPerChar * secret.length();
+    }
+
+    public long getExpirationMs() {
+        return expirationMs;
+    }
+
+    public String issue(TokenInfoResponse user) {
+        long now = System.currentTimeMillis();
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .issuer(ISSUER)
+                .subject(user.getEmail())
+                .claim("name", user.getName())
+                .claim("picture", user.getPicture())
+                .claim("roles", rolesFor(user.getEmail()))
+                .issueTime(new Date(now))
+                .expirationTime(new Date(now + expirationMs))
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), claims);
+        try {
+            jwt.sign(signer);
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Failed to sign session token", e);
+        }
+        return jwt.serialize();
+    }
+
+    public AuthenticatedUser verify(String token) {
+        try {
+            SignedJWT jwt = SignedJWT.parse(token);
+            if (!JWSAlgorithm.HS256.equals(jwt.getHeader().getAlgorithm()) || !jwt.verify(verifier)) {
+                throw new AuthenticationFailedException("Invalid session token");
+            }
+            JWTClaimsSet claims = jwt.getJWTClaimsSet();
+            Date exp = claims.getExpirationTime();
+            if (!ISSUER.equals(claims.getIssuer()) || exp == null || exp.getTime() <= System.currentTimeMillis()) {
+                throw new AuthenticationFailedException("Session token has expired");
+            }
+            List<String> roles = claims.getStringListClaim("roles");
+            return new AuthenticatedUser(
+                    claims.getSubject(),
+                    claims.getStringClaim("name"),
+                    claims.getStringClaim("picture"),
+                    exp.getTime() / 1000,
+                    roles != null ? List.copyOf(roles) : List.of());
+        } catch (ParseException | JOSEException e) {
+            throw new AuthenticationFailedException("Invalid session token");
+        }
+    }
+
+    public String encryptRefreshToken(String refreshToken) {
+        JWEObject jwe = new JWEObject(new JWEHeader(JWEAlgorithm.DIR, EncryptionMethod.A256GCM), new Payload(refreshToken));
+        try {
+            jwe.encrypt(encrypter);
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Failed to encrypt refresh token", e);
+        }
+        return jwe.serialize();
+    }
+
+    public String decryptRefreshToken(String cookieValue) {
+        try {
+            JWEObject jwe = JWEObject.parse(cookieValue);
+            jwe.decrypt(decrypter);
+            return jwe.getPayload().toString();
+        } catch (ParseException | JOSEException e) {
+            throw new AuthenticationFailedException("Invalid refresh token");
+        }
+    }
+
+    /**
+     * Every signed-in user gets ROLE_USER; admin accounts (email containing "admin" or
+     * "university.edu") also get ROLE_ADMIN.
+     */
+    public static List<String> rolesFor(String email) {
+        List<String> roles = new ArrayList<>();
+        roles.add("ROLE_USER");
+        String lowerEmail = email != null ? email.toLowerCase() : "";
+        if (lowerEmail.contains("admin") || lowerEmail.contains("university.edu")) {
+            roles.add("ROLE_ADMIN");
+        }
+        return roles;
+    }
+
+    private static byte[] sha256(String secret) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.academic.erp.backend.service;
+
+import com.academic.erp.backend.dto.StudentResponseDto;
+
+public interface StudentArchiveService {
+    int archiveGraduatedBatches();
+    boolean isArchivable(Integer joinYear);
+    StudentResponseDto getArchivedStudent(String rollNumber);
+}
@@ -0,0 +1,150 @@
+package com.academic.erp.backend.service;
+
+import com.academic.erp.backend.dto.StudentResponseDto;
+import com.academic.erp.backend.entity.ArchivedStudent;
+import com.academic.erp.backend.event.DataChangeEvent;
+import com.academic.erp.backend.exception.ResourceNotFoundException;
+import com.academic.erp.backend.repository.ArchivedStudentRepository;
+import com.academic.erp.backend.repository.StudentDomainView;
+import com.academic.erp.backend.repository.StudentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.util.List;
+
+/**
+ * Moves graduated batches out of the partitioned students table into students_archive, one intake
+ * year per transaction, so live rosters and roll number scans only cover the current years.
+ * Archived students leave the live API as deletions (change log, change feed, response caches)
+ * and stay retrievable by roll number. Each run first adds partitions for the upcoming intake years.
+ * Every replica schedules the job; {@link ScheduledTaskLock} lets one of them run it.
+ */
+// Eager even with lazy initialization: the archival job is only scheduled once the bean exists
+@Lazy(false)
+@Service
+@Slf4j
+public class StudentArchiveServiceImpl implements StudentArchiveService {
+
+    // Also taken by StudentPartitionMaintenance on startup, so the partition DDL never runs twice at once
+    static final String TASK_NAME = "student-archive";
+
+    // Longer than any archival run; a crashed instance delays the next run by at most this much
+    private static final Duration LOCK_AT_MOST_FOR = Duration.ofHours(2);
+
+    private final StudentRepository studentRepository;
+    private final ArchivedStudentRepository archivedStudentRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StudentEmailRegistry studentEmailRegistry;
+    private final StudentPartitionMaintenance partitionMaintenance;
+    private final ScheduledTaskLock scheduledTaskLock;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.student-archive.enabled:true}")
+    private boolean enabled;
+
+    // Intake years kept live, counting the current one
+    @Value("${app.student-archive.retain-years:6}")
+    private int retainYears;
+
+    public StudentArchiveServiceImpl(StudentRepository studentRepository,
+                                     ArchivedStudentRepository archivedStudentRepository,
+                                     ApplicationEventPublisher eventPublisher,
+                                     StudentEmailRegistry studentEmailRegistry,
+                                     StudentPartitionMaintenance partitionMaintenance,
+                                     ScheduledTaskLock scheduledTaskLock,
+                                     PlatformTransactionManager transactionManager) {
+        this.studentRepository = studentRepository;
+        this.archivedStudentRepository = archivedStudentRepository;
+        this.eventPublisher = eventPublisher;
+        this.studentEmailRegistry = studentEmailRegistry;
+        this.partitionMaintenance = partitionMaintenance;
+        this.scheduledTaskLock = scheduledTaskLock;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    @Scheduled(cron = "${app.student-archive.cron:0 0 4 * * *}")
+    public int archiveGraduatedBatches() {
+        return scheduledTaskLock.callExclusively(TASK_NAME, LOCK_AT_MOST_FOR, this::archive).orElse(0);
+    }
+
+    private int archive() {
+        // Also when archiving is off: upcoming intake years need their partition either way
+        partitionMaintenance.ensureUpcomingPartitions();
+        if (!enabled) {
+            return 0;
+        }
+        int archived = 0;
+        for (Integer joinYear : studentRepository.findJoinYearsBefore(firstRetainedYear())) {
+            Integer moved = transactionTemplate.execute(status -> archiveJoinYear(joinYear, status));
+            log.info("Archived {} students of the {} intake", moved, joinYear);
+            archived += moved;
+        }
+        return archived;
+    }
+
+    @Override
+    public boolean isArchivable(Integer joinYear) {
+        return joinYear != null && joinYear < firstRetainedYear();
+    }
+
+    @Override
+    public StudentResponseDto getArchivedStudent(String rollNumber) {
+        return archivedStudentRepository.findByRollNumber(rollNumber)
+                .map(this::toDto)
+                .orElseThrow(() -> ResourceNotFoundException.archivedStudent(rollNumber));
+    }
+
+    private int archiveJoinYear(Integer joinYear, TransactionStatus status) {
+        // The copy reads the year with locks (INSERT ... SELECT), so no admission can slip in
+        // between it, the lookup for the events and the delete
+        int copied = archivedStudentRepository.copyJoinYear(joinYear, LocalDateTime.now());
+        List<StudentDomainView> students = studentRepository.findStudentDomainsByJoinYear(joinYear);
+        studentEmailRegistry.releaseJoinYear(joinYear);
+        int deleted = studentRepository.deleteByJoinYear(joinYear);
+        if (copied != deleted) {
+            // The copy joins the domain for its program; students whose domain is gone (there is
+            // no foreign key since V4) would be deleted without an archived copy
+            log.error("Not archiving the {} intake: {} of its {} students reference a missing domain",
+                    joinYear, deleted - copied, deleted);
+            status.setRollbackOnly();
+            return 0;
+        }
+        // One event per student, as for a domain delete: delta sync consumers drop them individually
+        for (StudentDomainView student : students) {
+            eventPublisher.publishEvent(DataChangeEvent.student(
+                    DataChangeEvent.ChangeType.DELETED, student.getStudentId(), null, student.getDomainId()));
+        }
+        return deleted;
+    }
+
+    private int firstRetainedYear() {
+        return Year.now().getValue() - retainYears + 1;
+    }
+
+    private StudentResponseDto toDto(ArchivedStudent student) {
+        return StudentResponseDto.builder()
+                .studentId(student.getStudentId())
+                .rollNumber(student.getRollNumber())
+                .firstName(student.getFirstName())
+                .lastName(student.getLastName())
+                .email(student.getEmail())
+                .domainId(student.getDomainId())
+                .domainProgram(student.getDomainProgram())
+                .joinYear(student.getJoinYear())
+                .examMarks(student.getExamMarks())
+                .active(student.getIsActive())
+                .createdAt(student.getCreatedAt())
+                .build();
+    }
+}
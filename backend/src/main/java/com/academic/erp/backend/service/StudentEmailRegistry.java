@@ -0,0 +1,55 @@
+package com.academic.erp.backend.service;
+
+import com.academic.erp.backend.exception.BusinessException;
+import com.academic.erp.backend.exception.ErrorCode;
+import com.academic.erp.backend.repository.StudentEmailRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Keeps student_emails in step with the students table, inside the caller's transaction. A
+ * duplicate is rejected by the table's primary key, so two concurrent writes of the same email
+ * cannot both commit; the loser's transaction rolls back with DUPLICATE_EMAIL.
+ */
+@Component
+@RequiredArgsConstructor
+public class StudentEmailRegistry {
+
+    private final StudentEmailRepository studentEmailRepository;
+
+    public void register(String email, Long studentId) {
+        try {
+            studentEmailRepository.insert(email, studentId);
+        } catch (DataIntegrityViolationException e) {
+            throw duplicate(email);
+        }
+    }
+
+    public void change(Long studentId, String email) {
+        try {
+            // No row yet for students written before V5 outside the services (e.g. insert_data.sql)
+            if (studentEmailRepository.updateEmail(studentId, email) == 0) {
+                studentEmailRepository.insert(email, studentId);
+            }
+        } catch (DataIntegrityViolationException e) {
+            throw duplicate(email);
+        }
+    }
+
+    public void release(Collection<Long> studentIds) {
+        if (!studentIds.isEmpty()) {
+            studentEmailRepository.deleteByStudentIds(studentIds);
+        }
+    }
+
+    public void releaseJoinYear(Integer joinYear) {
+        studentEmailRepository.deleteByJoinYear(joinYear);
+    }
+
+    private static BusinessException duplicate(String email) {
+        return new BusinessException(ErrorCode.DUPLICATE_EMAIL, "Email already in use: " + email);
+    }
+}
@@ -0,0 +1,92 @@
+package com.academic.erp.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Year;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Keeps a partition per upcoming intake year in the MySQL students table (V4), so new batches do
+ * not all land in p_future. Runs on startup and before each archival run, splitting p_future with
+ * REORGANIZE PARTITION; p_future is empty until a year without its own partition is admitted, so
+ * the split normally moves no rows. Nothing to do on databases without partitioning (H2).
+ * The startup run holds the archival job's {@link ScheduledTaskLock}, so replicas starting
+ * together, or one starting during an archival run, never alter the table concurrently.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StudentPartitionMaintenance {
+
+    private static final String YEAR_PARTITIONS =
+            "SELECT partition_name FROM information_schema.partitions " +
+            "WHERE table_schema = DATABASE() AND table_name = 'students' AND partition_name REGEXP '^p[0-9]{4}$'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ScheduledTaskLock scheduledTaskLock;
+
+    // Intake years after the current one that get their partition in advance
+    @Value("${app.student-archive.partitions-ahead:2}")
+    private int partitionsAhead;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        try {
+            // Skipped while another instance holds the lock: that instance adds the partitions
+            scheduledTaskLock.runExclusively(StudentArchiveServiceImpl.TASK_NAME, Duration.ofMinutes(10),
+                    this::ensureUpcomingPartitions);
+        } catch (Exception e) {
+            // Not fatal: admissions still work, the new years just share p_future until the next run
+            log.error("Could not add upcoming student partitions: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Adds the missing year partitions up to the current year plus partitions-ahead. Callers hold
+     * the archival job's lock.
+     *
+     * @return the intake years that got a partition
+     */
+    public List<Integer> ensureUpcomingPartitions() {
+        if (!isMySql()) {
+            return List.of();
+        }
+        int lastPartitionedYear = jdbcTemplate.queryForList(YEAR_PARTITIONS, String.class)
+                .stream()
+                .mapToInt(name -> Integer.parseInt(name.substring(1)))
+                .max()
+                .orElse(Year.now().getValue() - 1);
+        List<Integer> years = IntStream.rangeClosed(lastPartitionedYear + 1, Year.now().getValue() + partitionsAhead)
+                .boxed()
+                .toList();
+        if (!years.isEmpty()) {
+            jdbcTemplate.execute(reorganizeStatement(years));
+            log.info("Added student partitions for intake years {}", years);
+        }
+        return years;
+    }
+
+    static String reorganizeStatement(List<Integer> years) {
+        return years.stream()
+                .map(year -> "PARTITION p" + year + " VALUES LESS THAN (" + (year + 1) + "), ")
+                .collect(Collectors.joining("",
+                        "ALTER TABLE students REORGANIZE PARTITION p_future INTO (",
+                        "PARTITION p_future VALUES LESS THAN MAXVALUE)"));
+    }
+
+    private boolean isMySql() {
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        return "MySQL".equalsIgnoreCase(product);
+    }
+}
@@ -1,8 +1,13 @@
 package com.academic.erp.backend.service;
 
+import com.academic.erp.backend.dto.StudentColumnsDto;
 import com.academic.erp.backend.dto.StudentResponseDto;
 import java.util.List;
+import java.util.Map;
 
 public interface StudentQueryService {
     List<StudentResponseDto> getStudentsByDomain(Long domainId);
+    List<String> resolveFields(String fields);
+    List<Map<String, Object>> getStudentFieldsByDomain(Long domainId, List<String> fields);
+    StudentColumnsDto getStudentColumnsByDomain(Long domainId, List<String> fields);
 }
@@ -1,12 +1,19 @@
 package com.academic.erp.backend.service;
 
+import com.academic.erp.backend.dto.StudentColumnsDto;
 import com.academic.erp.backend.dto.StudentResponseDto;
 import com.academic.erp.backend.entity.Student;
+import com.academic.erp.backend.exception.BusinessException;
+import com.academic.erp.backend.exception.ErrorCode;
 import com.academic.erp.backend.repository.StudentRepository;
+import com.academic.erp.backend.repository.StudentField;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -25,6 +32,8 @@ public class StudentQueryServiceImpl implements StudentQueryService {
                 .domainProgram(s.getDomain().getProgram())
                 .joinYear(s.getJoinYear())
                 .examMarks(s.getExamMarks())
+                .active(s.getIsActive())
+                .createdAt(s.getCreatedAt())
                 .build();
     }
 
@@ -35,4 +44,65 @@ public class StudentQueryServiceImpl implements StudentQueryService {
                 .map(this::toDto)
                 .toList();
     }
+
+    /**
+     * Parses a comma separated fields parameter into the canonical field order.
+     * A blank parameter selects every field.
+     */
+    @Override
+    public List<String> resolveFields(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return StudentField.NAMES;
+        }
+        List<String> requested = new ArrayList<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (!name.isEmpty()) {
+                requested.add(toField(name).fieldName());
+            }
+        }
+        List<String> selected = StudentField.NAMES.stream().filter(requested::contains).toList();
+        return selected.isEmpty() ? StudentField.NAMES : selected;
+    }
+
+    @Override
+    public List<Map<String, Object>> getStudentFieldsByDomain(Long domainId, List<String> fields) {
+        List<Object[]> rows = studentRepository.findActiveColumnsByDomainId(domainId, toFields(fields));
+        List<Map<String, Object>> result = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Map<String, Object> student = new LinkedHashMap<>();
+            for (int i = 0; i < fields.size(); i++) {
+                student.put(fields.get(i), row[i]);
+            }
+            result.add(student);
+        }
+        return result;
+    }
+
+    @Override
+    public StudentColumnsDto getStudentColumnsByDomain(Long domainId, List<String> fields) {
+        List<Object[]> rows = studentRepository.findActiveColumnsByDomainId(domainId, toFields(fields));
+        Map<String, List<Object>> columns = new LinkedHashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            List<Object> column = new ArrayList<>(rows.size());
+            for (Object[] row : rows) {
+                column.add(row[i]);
+            }
+            columns.put(fields.get(i), column);
+        }
+        return StudentColumnsDto.builder()
+                .fields(fields)
+                .count(rows.size())
+                .columns(columns)
+                .build();
+    }
+
+    private static List<StudentField> toFields(List<String> fields) {
+        return fields.stream().map(StudentQueryServiceImpl::toField).toList();
+    }
+
+    private static StudentField toField(String name) {
+        return StudentField.fromName(name).orElseThrow(() -> new BusinessException(ErrorCode.INVALID_REQUEST_PARAMETER,
+                "Unknown field '" + name + "'. Allowed fields: " + String.join(", ", StudentField.NAMES)));
+    }
 }
@@ -4,32 +4,44 @@ import com.academic.erp.backend.dto.StudentResponseDto;
 import com.academic.erp.backend.dto.StudentUpdateRequestDto;
 import com.academic.erp.backend.entity.Domain;
 import com.academic.erp.backend.entity.Student;
+import com.academic.erp.backend.event.DataChangeEvent;
+import com.academic.erp.backend.exception.ResourceNotFoundException;
 import com.academic.erp.backend.repository.DomainRepository;
 import com.academic.erp.backend.repository.StudentRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class StudentServiceImpl implements StudentService {
 
     private final StudentRepository studentRepository;
     private final DomainRepository domainRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StudentEmailRegistry studentEmailRegistry;
 
     @Override
     @Transactional
     public StudentResponseDto updateStudent(Long studentId, StudentUpdateRequestDto request) {
         // Fetch the student to update - only this one student will be modified
         Student student = studentRepository.findById(studentId)
-                .orElseThrow(() -> new RuntimeException("Student not found with id: " + studentId));
+                .orElseThrow(() -> ResourceNotFoundException.student(studentId));
+
+        if (!student.getEmail().equals(request.getEmail())) {
+            studentEmailRegistry.change(studentId, request.getEmail());
+        }
 
         // Always fetch the domain from the request (frontend sends domainId)
         // This ensures we use the correct domain's cutoff marks for comparison
-        Domain targetDomain = domainRepository.findById(request.getDomainId())
-                    .orElseThrow(() -> new RuntimeException("Domain not found with id: " + request.getDomainId()));
+        Domain targetDomain = domainRepository.findByIdForShare(request.getDomainId())
+                    .orElseThrow(() -> ResourceNotFoundException.domain(request.getDomainId()));
 
         // Check if domain is being changed
+        Long previousDomainId = student.getDomain().getDomainId();
         boolean domainChanged = !student.getDomain().getDomainId().equals(request.getDomainId());
         if (domainChanged) {
             // Update the student's domain reference to the new domain
@@ -59,22 +71,27 @@ public class StudentServiceImpl implements StudentService {
 
         // Save ONLY this student - no other students are affected
         Student updated = studentRepository.save(student);
-        return toDto(updated);
+        StudentResponseDto response = toDto(updated);
+        eventPublisher.publishEvent(DataChangeEvent.student(
+                DataChangeEvent.ChangeType.UPDATED, studentId, response, previousDomainId, targetDomain.getDomainId()));
+        return response;
     }
 
     @Override
     @Transactional
     public void deleteStudent(Long studentId) {
-        if (!studentRepository.existsById(studentId)) {
-            throw new RuntimeException("Student not found with id: " + studentId);
-        }
-        studentRepository.deleteById(studentId);
+        Student student = studentRepository.findById(studentId)
+                .orElseThrow(() -> ResourceNotFoundException.student(studentId));
+        Long domainId = student.getDomain().getDomainId();
+        studentRepository.delete(student);
+        studentEmailRegistry.release(List.of(studentId));
+        eventPublisher.publishEvent(DataChangeEvent.student(DataChangeEvent.ChangeType.DELETED, studentId, null, domainId));
     }
 
     @Override
     public StudentResponseDto getStudentById(Long studentId) {
         Student student = studentRepository.findById(studentId)
-                .orElseThrow(() -> new RuntimeException("Student not found with id: " + studentId));
+                .orElseThrow(() -> ResourceNotFoundException.student(studentId));
         return toDto(student);
     }
 
@@ -89,6 +106,8 @@ public class StudentServiceImpl implements StudentService {
                 .domainProgram(student.getDomain().getProgram())
                 .joinYear(student.getJoinYear())
                 .examMarks(student.getExamMarks())
+                .active(student.getIsActive())
+                .createdAt(student.getCreatedAt())
                 .build();
     }
 }
@@ -1,7 +1,11 @@
 package com.academic.erp.backend.service;
 
+import com.academic.erp.backend.client.OutboundCallGuard;
 import com.academic.erp.backend.dto.TokenExchangeResponse;
 import com.academic.erp.backend.dto.TokenInfoResponse;
+import com.academic.erp.backend.exception.AuthenticationFailedException;
+import com.academic.erp.backend.exception.BusinessException;
+import com.academic.erp.backend.exception.ErrorCode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -28,11 +32,16 @@ public class TokenService {
     @Value("${google.redirect-uri}")
     private String redirectUri;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    @Value("${google.token-uri:https://oauth2.googleapis.com/token}")
+    private String tokenEndpoint;
 
-    public TokenExchangeResponse exchangeCode(String authorizationCode) {
-        String tokenEndpoint = "https://oauth2.googleapis.com/token";
+    private final RestTemplate outboundRestTemplate;
+
+    private final OutboundCallGuard outboundCallGuard;
+
+    private final IdTokenVerifier idTokenVerifier;
 
+    public TokenExchangeResponse exchangeCode(String authorizationCode) {
         MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
         params.add("code", authorizationCode);
         params.add("client_id", clientId);
@@ -46,11 +55,11 @@ public class TokenService {
         HttpEntity<MultiValueMap<String, String>> request = new HttpEntity<>(params, headers);
 
         try {
-            ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
-                    tokenEndpoint, HttpMethod.POST, request, new ParameterizedTypeReference<Map<String, Object>>() {});
+            ResponseEntity<Map<String, Object>> response = outboundCallGuard.call("google-token", () -> outboundRestTemplate.exchange(
+                    tokenEndpoint, HttpMethod.POST, request, new ParameterizedTypeReference<Map<String, Object>>() {}));
             
             if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null) {
-                throw new RuntimeException("Failed to exchange authorization code: Invalid response from Google");
+                throw new AuthenticationFailedException("Failed to exchange authorization code: Invalid response from Google");
             }
             
             Map<String, Object> body = response.getBody();
@@ -58,14 +67,14 @@ public class TokenService {
             // Check for error in response
             if (body.containsKey("error")) {
                 String errorDescription = (String) body.getOrDefault("error_description", body.get("error"));
-                throw new RuntimeException("OAuth error: " + errorDescription);
+                throw new AuthenticationFailedException("OAuth error: " + errorDescription);
             }
 
             String accessToken = (String) body.get("access_token");
             String idToken = (String) body.get("id_token");
             
             if (accessToken == null || idToken == null) {
-                throw new RuntimeException("Failed to exchange authorization code: Missing tokens in response");
+                throw new AuthenticationFailedException("Failed to exchange authorization code: Missing tokens in response");
             }
 
             return new TokenExchangeResponse(
@@ -75,85 +84,59 @@ public class TokenService {
                     (String) body.get("token_type"),
                     body.get("expires_in") != null ? ((Number) body.get("expires_in")).longValue() : null
             );
+        } catch (BusinessException e) {
+            throw e;
         } catch (org.springframework.web.client.HttpClientErrorException e) {
-            log.error("HTTP client error exchanging code: {}", e.getResponseBodyAsString());
-            throw new RuntimeException("Authentication failed: Invalid authorization code");
+            log.warn("HTTP client error exchanging code: {}", e.getResponseBodyAsString());
+            throw new AuthenticationFailedException("Authentication failed: Invalid authorization code");
         } catch (org.springframework.web.client.RestClientException e) {
-            log.error("REST client error exchanging code", e);
-            throw new RuntimeException("Service temporarily unavailable. Please try again.");
+            throw new BusinessException(ErrorCode.UPSTREAM_UNAVAILABLE, "Google token endpoint unavailable", e);
         } catch (Exception e) {
             log.error("Error exchanging authorization code", e);
-            throw new RuntimeException("Failed to exchange authorization code: " + (e.getMessage() != null ? e.getMessage() : "Unknown error"));
+            throw new AuthenticationFailedException("Failed to exchange authorization code: " + (e.getMessage() != null ? e.getMessage() : "Unknown error"));
         }
     }
 
-    public TokenInfoResponse validateIdToken(String idToken) {
-        String tokenInfoEndpoint = "https://oauth2.googleapis.com/tokeninfo?id_token=" + idToken;
+    /**
+     * Uses a Google refresh token to obtain a fresh ID token (the refresh token itself is
+     * usually not rotated, so the returned refresh token may be null).
+     */
+    public TokenExchangeResponse refreshTokens(String refreshToken) {
+        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+        params.add("refresh_token", refreshToken);
+        params.add("client_id", clientId);
+        params.add("client_secret", clientSecret);
+        params.add("grant_type", "refresh_token");
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
 
         try {
-            ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
-                    tokenInfoEndpoint, HttpMethod.GET, null, new ParameterizedTypeReference<Map<String, Object>>() {});
+            ResponseEntity<Map<String, Object>> response = outboundCallGuard.call("google-token", () -> outboundRestTemplate.exchange(
+                    tokenEndpoint, HttpMethod.POST, new HttpEntity<>(params, headers), new ParameterizedTypeReference<Map<String, Object>>() {}));
 
-            if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null) {
-                throw new RuntimeException("Invalid ID token");
-            }
-            
             Map<String, Object> body = response.getBody();
-            
-            // Check for error in response
-            if (body.containsKey("error")) {
-                String errorDescription = (String) body.getOrDefault("error_description", body.get("error"));
-                throw new RuntimeException("Token validation error: " + errorDescription);
-            }
-                
-            // Validate client ID
-            String aud = (String) body.get("aud");
-            if (aud == null || !clientId.equals(aud)) {
-                throw new RuntimeException("Invalid client ID in token");
-            }
-
-            // Validate issuer
-            String iss = (String) body.get("iss");
-            if (iss == null || (!iss.equals("https://accounts.google.com") && !iss.equals("accounts.google.com"))) {
-                throw new RuntimeException("Invalid issuer in token");
-            }
-
-            // Check expiration
-            Object expObj = body.get("exp");
-            if (expObj != null) {
-                long exp = expObj instanceof Number ? ((Number) expObj).longValue() : Long.parseLong(expObj.toString());
-                if (exp * 1000 < System.currentTimeMillis()) {
-                    throw new RuntimeException("Token has expired");
-                }
+            if (body == null || body.get("id_token") == null) {
+                throw new AuthenticationFailedException("Failed to refresh session: Missing ID token in response");
             }
 
-            // Build response
-            TokenInfoResponse tokenInfo = new TokenInfoResponse();
-            tokenInfo.setEmail((String) body.get("email"));
-            tokenInfo.setName((String) body.get("name"));
-            tokenInfo.setPicture((String) body.get("picture"));
-            tokenInfo.setAud(aud);
-            tokenInfo.setIss(iss);
-            if (expObj != null) {
-                tokenInfo.setExp(expObj instanceof Number ? ((Number) expObj).longValue() : Long.parseLong(expObj.toString()));
-            }
-            Object iatObj = body.get("iat");
-            if (iatObj != null) {
-                tokenInfo.setIat(iatObj instanceof Number ? ((Number) iatObj).longValue() : Long.parseLong(iatObj.toString()));
-            }
-
-            return tokenInfo;
+            return new TokenExchangeResponse(
+                    (String) body.get("access_token"),
+                    (String) body.get("refresh_token"),
+                    (String) body.get("id_token"),
+                    (String) body.get("token_type"),
+                    body.get("expires_in") != null ? ((Number) body.get("expires_in")).longValue() : null
+            );
         } catch (org.springframework.web.client.HttpClientErrorException e) {
-            log.error("HTTP client error validating token: {}", e.getResponseBodyAsString());
-            throw new RuntimeException("Invalid or expired token");
+            log.warn("HTTP client error refreshing tokens: {}", e.getResponseBodyAsString());
+            throw new AuthenticationFailedException("Session refresh failed: Invalid or revoked refresh token");
         } catch (org.springframework.web.client.RestClientException e) {
-            log.error("REST client error validating token", e);
-            throw new RuntimeException("Service temporarily unavailable. Please try again.");
-        } catch (Exception e) {
-            log.error("Error validating ID token", e);
-            throw new RuntimeException("Failed to validate ID token: " + (e.getMessage() != null ? e.getMessage() : "Unknown error"));
+            throw new BusinessException(ErrorCode.UPSTREAM_UNAVAILABLE, "Google token endpoint unavailable", e);
         }
     }
 
-}
+    public TokenInfoResponse validateIdToken(String idToken) {
+        return idTokenVerifier.verify(idToken);
+    }
 
+}
@@ -0,0 +1,42 @@
+-- H2 counterpart of mysql/V1 for the embedded test database. H2 indexes the foreign key itself,
+-- which stands in for idx_student_domain.
+
+CREATE TABLE domains (
+    domain_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    program VARCHAR(120) NOT NULL,
+    batch VARCHAR(255),
+    capacity INT CHECK (capacity >= 0 AND capacity <= 150),
+    exam_name VARCHAR(120),
+    cutoff_marks DECIMAL(5,2) CHECK (cutoff_marks >= 0 AND cutoff_marks <= 100),
+    created_at TIMESTAMP(6)
+);
+CREATE INDEX idx_domain_program ON domains (program);
+CREATE INDEX idx_domain_batch ON domains (batch);
+
+CREATE TABLE students (
+    student_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    roll_number VARCHAR(50) UNIQUE,
+    first_name VARCHAR(120) NOT NULL,
+    last_name VARCHAR(120) NOT NULL,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    domain_id BIGINT NOT NULL,
+    join_year INT NOT NULL,
+    exam_marks DECIMAL(5,2) NOT NULL CHECK (exam_marks >= 0 AND exam_marks <= 100),
+    is_active BOOLEAN NOT NULL DEFAULT TRUE,
+    created_at TIMESTAMP(6),
+    CONSTRAINT fk_students_domain FOREIGN KEY (domain_id) REFERENCES domains(domain_id)
+);
+CREATE INDEX idx_student_email ON students (email);
+CREATE INDEX idx_student_roll ON students (roll_number);
+CREATE INDEX idx_student_join_year ON students (join_year);
+
+CREATE TABLE change_log (
+    change_version BIGINT AUTO_INCREMENT PRIMARY KEY,
+    entity_type VARCHAR(20) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    change_type VARCHAR(20) NOT NULL,
+    domain_id BIGINT,
+    payload VARCHAR(1048576),
+    changed_at TIMESTAMP(6) NOT NULL
+);
+CREATE INDEX idx_change_log_changed_at ON change_log (changed_at);
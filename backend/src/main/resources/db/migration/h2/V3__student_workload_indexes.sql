@@ -0,0 +1,12 @@
+-- Same indexes as mysql/V3, so the EXPLAIN tests see the production index set
+
+CREATE INDEX idx_students_domain_active ON students (domain_id, is_active);
+CREATE INDEX idx_students_join_year_roll ON students (join_year, roll_number);
+CREATE INDEX idx_students_domain_marks ON students (domain_id, exam_marks DESC);
+
+DROP INDEX IF EXISTS idx_student_join_year;
+
+-- H2 always backs a foreign key with its own single-column index and its planner then prefers
+-- that over the composite indexes, unlike MySQL which reuses idx_students_domain_active. The
+-- embedded database drops the constraint so its plans match the production ones.
+ALTER TABLE students DROP CONSTRAINT fk_students_domain;
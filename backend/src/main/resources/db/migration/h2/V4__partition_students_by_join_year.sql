@@ -0,0 +1,41 @@
+-- H2 counterpart of mysql/V4. H2 has no partitioning; the embedded database gets the same keys
+-- (so email uniqueness is left to the services here too) and the archive table, uncompressed.
+-- The embedded database is always empty at this point, so students is simply recreated instead
+-- of looking up the generated names of its V1 unique constraints.
+
+DROP TABLE students;
+
+CREATE TABLE students (
+    student_id BIGINT NOT NULL,
+    roll_number VARCHAR(50),
+    first_name VARCHAR(120) NOT NULL,
+    last_name VARCHAR(120) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    domain_id BIGINT NOT NULL,
+    join_year INT NOT NULL,
+    exam_marks DECIMAL(5,2) NOT NULL CHECK (exam_marks >= 0 AND exam_marks <= 100),
+    is_active BOOLEAN NOT NULL DEFAULT TRUE,
+    created_at TIMESTAMP(6),
+    PRIMARY KEY (student_id, join_year)
+);
+CREATE INDEX idx_student_email ON students (email);
+CREATE INDEX idx_students_domain_active ON students (domain_id, is_active);
+CREATE UNIQUE INDEX idx_students_join_year_roll ON students (join_year, roll_number);
+CREATE INDEX idx_students_domain_marks ON students (domain_id, exam_marks DESC);
+
+CREATE TABLE students_archive (
+    student_id BIGINT NOT NULL PRIMARY KEY,
+    roll_number VARCHAR(50),
+    first_name VARCHAR(120) NOT NULL,
+    last_name VARCHAR(120) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    domain_id BIGINT NOT NULL,
+    domain_program VARCHAR(120) NOT NULL,
+    join_year INT NOT NULL,
+    exam_marks DECIMAL(5,2) NOT NULL,
+    is_active BOOLEAN NOT NULL,
+    created_at TIMESTAMP(6),
+    archived_at TIMESTAMP(6) NOT NULL
+);
+CREATE UNIQUE INDEX idx_students_archive_roll ON students_archive (roll_number);
+CREATE INDEX idx_students_archive_join_year ON students_archive (join_year);
@@ -0,0 +1,12 @@
+-- H2 counterpart of mysql/V5: the email registry table that enforces unique student emails.
+
+CREATE TABLE student_emails (
+    email VARCHAR(255) NOT NULL PRIMARY KEY,
+    student_id BIGINT NOT NULL
+);
+CREATE UNIQUE INDEX idx_student_emails_student ON student_emails (student_id);
+
+INSERT INTO student_emails (email, student_id)
+SELECT email, MIN(student_id)
+FROM students
+GROUP BY email;
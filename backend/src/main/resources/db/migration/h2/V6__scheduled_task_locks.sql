@@ -0,0 +1,8 @@
+-- H2 counterpart of mysql/V6: leases for scheduled jobs that must run on one instance only.
+
+CREATE TABLE scheduled_task_locks (
+    task_name VARCHAR(64) NOT NULL PRIMARY KEY,
+    locked_until TIMESTAMP(6) NOT NULL,
+    locked_at TIMESTAMP(6) NOT NULL,
+    locked_by VARCHAR(255) NOT NULL
+);
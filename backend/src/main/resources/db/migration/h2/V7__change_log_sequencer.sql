@@ -0,0 +1,18 @@
+-- H2 counterpart of mysql/V7: pooled change_id key, versions assigned by the sequencer.
+
+ALTER TABLE change_log ADD COLUMN change_id BIGINT BEFORE change_version;
+UPDATE change_log SET change_id = change_version;
+ALTER TABLE change_log DROP PRIMARY KEY;
+ALTER TABLE change_log ALTER COLUMN change_version DROP IDENTITY;
+ALTER TABLE change_log ALTER COLUMN change_version SET NULL;
+ALTER TABLE change_log ALTER COLUMN change_id SET NOT NULL;
+ALTER TABLE change_log ADD PRIMARY KEY (change_id);
+CREATE UNIQUE INDEX idx_change_log_version ON change_log (change_version);
+
+CREATE TABLE change_log_sequence (
+    sequence_id TINYINT NOT NULL PRIMARY KEY,
+    last_version BIGINT NOT NULL
+);
+
+INSERT INTO change_log_sequence (sequence_id, last_version)
+SELECT 1, COALESCE(MAX(change_version), 0) FROM change_log;
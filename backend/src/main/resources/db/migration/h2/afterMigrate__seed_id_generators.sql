@@ -0,0 +1,14 @@
+MERGE INTO id_generators (sequence_name, next_val)
+KEY (sequence_name)
+SELECT 'domains', GREATEST(COALESCE((SELECT next_val FROM id_generators WHERE sequence_name = 'domains'), 0),
+                           COALESCE(MAX(domain_id), 0) + 50) FROM domains;
+
+MERGE INTO id_generators (sequence_name, next_val)
+KEY (sequence_name)
+SELECT 'students', GREATEST(COALESCE((SELECT next_val FROM id_generators WHERE sequence_name = 'students'), 0),
+                            COALESCE(MAX(student_id), 0) + 50) FROM students;
+
+MERGE INTO id_generators (sequence_name, next_val)
+KEY (sequence_name)
+SELECT 'change_log', GREATEST(COALESCE((SELECT next_val FROM id_generators WHERE sequence_name = 'change_log'), 0),
+                              COALESCE(MAX(change_id), 0) + 50) FROM change_log;
@@ -0,0 +1,44 @@
+-- Schema as it stood before versioned migrations (previously created by DatabaseInitializationService).
+-- Existing databases are baselined at this version and skip it.
+
+CREATE TABLE domains (
+    domain_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    program VARCHAR(120) NOT NULL,
+    batch VARCHAR(255),
+    capacity INT CHECK (capacity >= 0 AND capacity <= 150),
+    exam_name VARCHAR(120),
+    cutoff_marks DECIMAL(5,2) CHECK (cutoff_marks >= 0 AND cutoff_marks <= 100),
+    created_at DATETIME(6),
+    INDEX idx_domain_program (program),
+    INDEX idx_domain_batch (batch)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE students (
+    student_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    roll_number VARCHAR(50) UNIQUE,
+    first_name VARCHAR(120) NOT NULL,
+    last_name VARCHAR(120) NOT NULL,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    domain_id BIGINT NOT NULL,
+    join_year INT NOT NULL,
+    exam_marks DECIMAL(5,2) NOT NULL CHECK (exam_marks >= 0 AND exam_marks <= 100),
+    is_active BIT NOT NULL DEFAULT 1,
+    created_at DATETIME(6),
+    CONSTRAINT fk_students_domain FOREIGN KEY (domain_id) REFERENCES domains(domain_id),
+    INDEX idx_student_domain (domain_id),
+    INDEX idx_student_email (email),
+    INDEX idx_student_roll (roll_number),
+    INDEX idx_student_join_year (join_year)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Delta sync (GET /api/changes?since=N)
+CREATE TABLE change_log (
+    change_version BIGINT AUTO_INCREMENT PRIMARY KEY,
+    entity_type VARCHAR(20) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    change_type VARCHAR(20) NOT NULL,
+    domain_id BIGINT,
+    payload TEXT,
+    changed_at DATETIME(6) NOT NULL,
+    INDEX idx_change_log_changed_at (changed_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,8 @@
+-- Pooled ID allocation for domains and students (see IdGenerators). Each row holds the upper
+-- bound of the last block of IDs handed out; afterMigrate seeds it from the current maxima.
+-- IF NOT EXISTS: databases baselined at V1 may already have it from the old startup DDL.
+
+CREATE TABLE IF NOT EXISTS id_generators (
+    sequence_name VARCHAR(64) NOT NULL PRIMARY KEY,
+    next_val BIGINT NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
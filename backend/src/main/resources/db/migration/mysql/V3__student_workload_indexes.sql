@@ -0,0 +1,27 @@
+-- Composite indexes for the hot student queries:
+--   (domain_id, is_active)       active rosters and active counts per domain
+--   (join_year, roll_number)     roll number scan when admitting (prefix LIKE within one intake year)
+--   (domain_id, exam_marks DESC) merit order for capacity re-ranking, read without a filesort
+-- InnoDB secondary indexes carry the primary key, so count and projection queries are covered.
+
+CREATE INDEX idx_students_domain_active ON students (domain_id, is_active);
+CREATE INDEX idx_students_join_year_roll ON students (join_year, roll_number);
+CREATE INDEX idx_students_domain_marks ON students (domain_id, exam_marks DESC);
+
+-- The single-column indexes they supersede only cost writes now. MySQL has no DROP INDEX IF EXISTS
+-- and databases created by Hibernate may not have them, hence the lookups.
+SET @drop_domain_index = (SELECT IF(COUNT(*) > 0, 'ALTER TABLE students DROP INDEX idx_student_domain', 'DO 0')
+                          FROM information_schema.statistics
+                          WHERE table_schema = DATABASE() AND table_name = 'students'
+                            AND index_name = 'idx_student_domain');
+PREPARE drop_index FROM @drop_domain_index;
+EXECUTE drop_index;
+DEALLOCATE PREPARE drop_index;
+
+SET @drop_join_year_index = (SELECT IF(COUNT(*) > 0, 'ALTER TABLE students DROP INDEX idx_student_join_year', 'DO 0')
+                             FROM information_schema.statistics
+                             WHERE table_schema = DATABASE() AND table_name = 'students'
+                               AND index_name = 'idx_student_join_year');
+PREPARE drop_index FROM @drop_join_year_index;
+EXECUTE drop_index;
+DEALLOCATE PREPARE drop_index;
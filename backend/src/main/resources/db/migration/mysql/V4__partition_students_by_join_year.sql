@@ -0,0 +1,90 @@
+-- Range-partitions students by join_year and adds the compressed students_archive table that
+-- StudentArchiveServiceImpl moves graduated batches into.
+--
+-- MySQL requires every unique key of a partitioned table to contain the partitioning column and
+-- does not allow foreign keys on it:
+--   * the primary key becomes (student_id, join_year); student_id alone stays unique through the
+--     pooled ID generator
+--   * roll numbers embed the join year, so unique (join_year, roll_number) is as strict as the old
+--     unique roll_number; it replaces idx_students_join_year_roll
+--   * email uniqueness is enforced by the admission and update services (idx_student_email stays)
+--   * the students -> domains foreign key is dropped; students are only written through the
+--     services, which resolve the domain first and delete a domain's students with it
+--
+-- Queries filtering on join_year (the roll number scan on admission) are pruned to one partition.
+-- Rosters and counts by domain still visit every partition, through idx_students_domain_active in
+-- each, but archival keeps only the live years populated.
+
+-- Constraint and index names differ on databases created by Hibernate before V1, hence the lookups
+SET @drop_foreign_keys = (SELECT IFNULL(CONCAT('ALTER TABLE students ',
+                                               GROUP_CONCAT(CONCAT('DROP FOREIGN KEY `', constraint_name, '`'))),
+                                        'DO 0')
+                          FROM information_schema.table_constraints
+                          WHERE table_schema = DATABASE() AND table_name = 'students'
+                            AND constraint_type = 'FOREIGN KEY');
+PREPARE drop_constraints FROM @drop_foreign_keys;
+EXECUTE drop_constraints;
+DEALLOCATE PREPARE drop_constraints;
+
+SET @drop_unique_keys = (SELECT IFNULL(CONCAT('ALTER TABLE students ',
+                                              GROUP_CONCAT(DISTINCT CONCAT('DROP INDEX `', index_name, '`'))),
+                                       'DO 0')
+                         FROM information_schema.statistics
+                         WHERE table_schema = DATABASE() AND table_name = 'students'
+                           AND non_unique = 0 AND index_name <> 'PRIMARY');
+PREPARE drop_constraints FROM @drop_unique_keys;
+EXECUTE drop_constraints;
+DEALLOCATE PREPARE drop_constraints;
+
+-- Superseded by the unique key below
+SET @drop_roll_index = (SELECT IF(COUNT(*) > 0, 'ALTER TABLE students DROP INDEX idx_student_roll', 'DO 0')
+                        FROM information_schema.statistics
+                        WHERE table_schema = DATABASE() AND table_name = 'students'
+                          AND index_name = 'idx_student_roll');
+PREPARE drop_constraints FROM @drop_roll_index;
+EXECUTE drop_constraints;
+DEALLOCATE PREPARE drop_constraints;
+
+ALTER TABLE students
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (student_id, join_year),
+    DROP INDEX idx_students_join_year_roll,
+    ADD UNIQUE INDEX idx_students_join_year_roll (join_year, roll_number);
+
+-- One partition per intake year; add the next years with REORGANIZE PARTITION p_future in a later
+-- migration before they start
+ALTER TABLE students
+    PARTITION BY RANGE (join_year) (
+        PARTITION p_before_2020 VALUES LESS THAN (2020),
+        PARTITION p2020 VALUES LESS THAN (2021),
+        PARTITION p2021 VALUES LESS THAN (2022),
+        PARTITION p2022 VALUES LESS THAN (2023),
+        PARTITION p2023 VALUES LESS THAN (2024),
+        PARTITION p2024 VALUES LESS THAN (2025),
+        PARTITION p2025 VALUES LESS THAN (2026),
+        PARTITION p2026 VALUES LESS THAN (2027),
+        PARTITION p2027 VALUES LESS THAN (2028),
+        PARTITION p2028 VALUES LESS THAN (2029),
+        PARTITION p2029 VALUES LESS THAN (2030),
+        PARTITION p2030 VALUES LESS THAN (2031),
+        PARTITION p_future VALUES LESS THAN MAXVALUE
+    );
+
+-- Cold storage for graduated batches: written once by the archival job, read by roll number only.
+-- The program is copied because the domain may be deleted after its students graduated.
+CREATE TABLE students_archive (
+    student_id BIGINT NOT NULL PRIMARY KEY,
+    roll_number VARCHAR(50),
+    first_name VARCHAR(120) NOT NULL,
+    last_name VARCHAR(120) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    domain_id BIGINT NOT NULL,
+    domain_program VARCHAR(120) NOT NULL,
+    join_year INT NOT NULL,
+    exam_marks DECIMAL(5,2) NOT NULL,
+    is_active BIT NOT NULL,
+    created_at DATETIME(6),
+    archived_at DATETIME(6) NOT NULL,
+    UNIQUE INDEX idx_students_archive_roll (roll_number),
+    INDEX idx_students_archive_join_year (join_year)
+) ENGINE=InnoDB ROW_FORMAT=COMPRESSED KEY_BLOCK_SIZE=8 DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,17 @@
+-- Restores a database-enforced unique email, which V4 had to drop from the partitioned students
+-- table. student_emails is small and unpartitioned, and the services write it in the same
+-- transaction as the student row (StudentEmailRegistry), so of two concurrent admissions or
+-- updates with the same email only one can commit. The collation keeps the comparison
+-- case-insensitive, as idx_student_email was.
+
+CREATE TABLE student_emails (
+    email VARCHAR(255) NOT NULL PRIMARY KEY,
+    student_id BIGINT NOT NULL,
+    UNIQUE INDEX idx_student_emails_student (student_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Duplicates that slipped in while only the services checked keep the email with the first student
+INSERT INTO student_emails (email, student_id)
+SELECT email, MIN(student_id)
+FROM students
+GROUP BY email;
@@ -0,0 +1,11 @@
+-- Lets scheduled jobs that must run on one instance only (archival with its partition DDL, the
+-- change log purge) claim a lease: ScheduledTaskLock takes a job's row by moving locked_until
+-- forward, which only succeeds once the previous holder's lease has run out. Rows are created on
+-- first use.
+
+CREATE TABLE scheduled_task_locks (
+    task_name VARCHAR(64) NOT NULL PRIMARY KEY,
+    locked_until DATETIME(6) NOT NULL,
+    locked_at DATETIME(6) NOT NULL,
+    locked_by VARCHAR(255) NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
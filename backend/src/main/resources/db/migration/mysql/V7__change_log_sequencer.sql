@@ -0,0 +1,27 @@
+-- Change versions are no longer AUTO_INCREMENT values taken at insert. Those became visible in
+-- commit order, not version order, so a reader could not tell a transaction still in flight from
+-- a rolled-back one and had to skip holes after a timeout, losing late commits. Rows now get a
+-- pooled change_id (batched inserts, see IdGenerators) and no version; the sequencer
+-- (ChangeLogServiceImpl.assignVersions) numbers committed rows contiguously from
+-- change_log_sequence, whose single row it locks, so versions never have holes.
+
+ALTER TABLE change_log
+    ADD COLUMN change_id BIGINT NULL FIRST,
+    MODIFY change_version BIGINT NOT NULL,
+    DROP PRIMARY KEY;
+
+UPDATE change_log SET change_id = change_version;
+
+ALTER TABLE change_log
+    MODIFY change_id BIGINT NOT NULL,
+    ADD PRIMARY KEY (change_id),
+    MODIFY change_version BIGINT NULL,
+    ADD UNIQUE INDEX idx_change_log_version (change_version);
+
+CREATE TABLE change_log_sequence (
+    sequence_id TINYINT NOT NULL PRIMARY KEY,
+    last_version BIGINT NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+INSERT INTO change_log_sequence (sequence_id, last_version)
+SELECT 1, COALESCE(MAX(change_version), 0) FROM change_log;
@@ -0,0 +1,17 @@
+-- Runs after every migrate, i.e. on each startup. Moves each ID generator past the highest ID
+-- already in its table, so rows inserted outside the application (insert_data.sql relies on
+-- AUTO_INCREMENT) never collide with the blocks Hibernate hands out. A generator row stores the
+-- upper bound of the next block, hence MAX(id) + the allocation size (50, IdGenerators).
+-- Values only ever move forward, so this is safe while other instances are allocating.
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'domains', COALESCE(MAX(domain_id), 0) + 50 FROM domains
+ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val));
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'students', COALESCE(MAX(student_id), 0) + 50 FROM students
+ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val));
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'change_log', COALESCE(MAX(change_id), 0) + 50 FROM change_log
+ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val));
@@ -0,0 +1,169 @@
+package com.academic.erp.backend.benchmark;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Compares student insert throughput with IDENTITY keys (one round trip per row, which is what
+ * Hibernate is forced into) against pooled table-generated keys with JDBC batching and
+ * rewriteBatchedStatements (what Student and Domain use now).
+ * <p>
+ * Needs a MySQL server; run with {@code mvn test -Pbenchmark}. Connection settings default to
+ * the local development database and can be overridden with -Dbenchmark.jdbc-url,
+ * -Dbenchmark.username and -Dbenchmark.password. Uses scratch tables that are dropped afterwards.
+ */
+@Tag("benchmark")
+class IdGenerationBenchmarkTests {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 5_000);
+    private static final int ALLOCATION_SIZE = 50;
+    private static final String BASE_URL = System.getProperty("benchmark.jdbc-url",
+            "jdbc:mysql://localhost:3306/erp_admission?createDatabaseIfNotExist=true");
+
+    private static boolean available;
+
+    @BeforeAll
+    static void createTables() {
+        try (Connection connection = connect(false); Statement stmt = connection.createStatement()) {
+            for (String table : new String[] {"bench_students_identity", "bench_students_pooled"}) {
+                stmt.execute("DROP TABLE IF EXISTS " + table);
+                stmt.execute("CREATE TABLE " + table + " (" +
+                        "student_id BIGINT " + (table.endsWith("identity") ? "AUTO_INCREMENT " : "") + "PRIMARY KEY, " +
+                        "roll_number VARCHAR(50), first_name VARCHAR(120) NOT NULL, last_name VARCHAR(120) NOT NULL, " +
+                        "email VARCHAR(255) NOT NULL UNIQUE, domain_id BIGINT NOT NULL, join_year INT NOT NULL, " +
+                        "exam_marks DECIMAL(5,2) NOT NULL, is_active BIT NOT NULL DEFAULT 1) ENGINE=InnoDB");
+            }
+            stmt.execute("DROP TABLE IF EXISTS bench_id_generators");
+            stmt.execute("CREATE TABLE bench_id_generators (sequence_name VARCHAR(64) PRIMARY KEY, next_val BIGINT NOT NULL) ENGINE=InnoDB");
+            stmt.execute("INSERT INTO bench_id_generators VALUES ('students', " + ALLOCATION_SIZE + ")");
+            available = true;
+        } catch (SQLException e) {
+            System.out.println("Skipping ID generation benchmark, database unavailable: " + e.getMessage());
+        }
+    }
+
+    @AfterAll
+    static void dropTables() throws SQLException {
+        if (!available) {
+            return;
+        }
+        try (Connection connection = connect(false); Statement stmt = connection.createStatement()) {
+            stmt.execute("DROP TABLE IF EXISTS bench_students_identity");
+            stmt.execute("DROP TABLE IF EXISTS bench_students_pooled");
+            stmt.execute("DROP TABLE IF EXISTS bench_id_generators");
+        }
+    }
+
+    @Test
+    void identityVersusPooledBatchedInserts() throws SQLException {
+        assumeTrue(available, "database unavailable");
+
+        long identityNanos = insertWithIdentity();
+        long pooledNanos = insertWithPooledIds();
+
+        report("IDENTITY, row by row", identityNanos);
+        report("pooled IDs, batched", pooledNanos);
+        System.out.printf("Speed-up: %.1fx%n", (double) identityNanos / pooledNanos);
+
+        assertEquals(ROWS, count("bench_students_identity"));
+        assertEquals(ROWS, count("bench_students_pooled"));
+    }
+
+    private long insertWithIdentity() throws SQLException {
+        try (Connection connection = connect(false);
+             PreparedStatement insert = connection.prepareStatement(
+                     "INSERT INTO bench_students_identity (roll_number, first_name, last_name, email, domain_id, join_year, exam_marks) " +
+                             "VALUES (?, ?, ?, ?, ?, ?, ?)", Statement.RETURN_GENERATED_KEYS)) {
+            connection.setAutoCommit(false);
+            long start = System.nanoTime();
+            for (int i = 0; i < ROWS; i++) {
+                bind(insert, 1, i, "identity");
+                insert.executeUpdate();
+                try (ResultSet keys = insert.getGeneratedKeys()) {
+                    keys.next();
+                }
+            }
+            connection.commit();
+            return System.nanoTime() - start;
+        }
+    }
+
+    private long insertWithPooledIds() throws SQLException {
+        try (Connection connection = connect(true);
+             PreparedStatement allocate = connection.prepareStatement(
+                     "UPDATE bench_id_generators SET next_val = LAST_INSERT_ID(next_val + ?) WHERE sequence_name = 'students'");
+             PreparedStatement lastId = connection.prepareStatement("SELECT LAST_INSERT_ID()");
+             PreparedStatement insert = connection.prepareStatement(
+                     "INSERT INTO bench_students_pooled (student_id, roll_number, first_name, last_name, email, domain_id, join_year, exam_marks) " +
+                             "VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+            connection.setAutoCommit(false);
+            long start = System.nanoTime();
+            long nextId = 0;
+            long hi = -1;
+            for (int i = 0; i < ROWS; i++) {
+                if (nextId > hi) {
+                    // One round trip reserves a block of IDs, as Hibernate's pooled optimizer does
+                    allocate.setInt(1, ALLOCATION_SIZE);
+                    allocate.executeUpdate();
+                    try (ResultSet rs = lastId.executeQuery()) {
+                        rs.next();
+                        hi = rs.getLong(1) - ALLOCATION_SIZE;
+                    }
+                    nextId = hi - ALLOCATION_SIZE + 1;
+                }
+                insert.setLong(1, nextId++);
+                bind(insert, 2, i, "pooled");
+                insert.addBatch();
+                if ((i + 1) % ALLOCATION_SIZE == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+            return System.nanoTime() - start;
+        }
+    }
+
+    private static void bind(PreparedStatement insert, int firstIndex, int i, String variant) throws SQLException {
+        insert.setString(firstIndex, "BT2024" + i);
+        insert.setString(firstIndex + 1, "First" + i);
+        insert.setString(firstIndex + 2, "Last" + i);
+        insert.setString(firstIndex + 3, variant + i + "@bench.example.com");
+        insert.setLong(firstIndex + 4, 1L + (i % 5));
+        insert.setInt(firstIndex + 5, 2024);
+        insert.setDouble(firstIndex + 6, 40 + (i % 60));
+    }
+
+    private static int count(String table) throws SQLException {
+        try (Connection connection = connect(false);
+             Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM " + table)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private static void report(String label, long nanos) {
+        double seconds = nanos / 1e9;
+        System.out.printf("%-22s %6d rows in %7.3f s = %9.0f rows/s%n", label, ROWS, seconds, ROWS / seconds);
+    }
+
+    private static Connection connect(boolean rewriteBatchedStatements) throws SQLException {
+        String url = BASE_URL + (BASE_URL.contains("?") ? "&" : "?") + "rewriteBatchedStatements=" + rewriteBatchedStatements;
+        return DriverManager.getConnection(url,
+                System.getProperty("benchmark.username", "root"),
+                System.getProperty("benchmark.password", "root"));
+    }
+}
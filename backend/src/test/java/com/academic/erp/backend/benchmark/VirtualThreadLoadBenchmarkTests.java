@@ -0,0 +1,192 @@
+package com.academic.erp.backend.benchmark;
+
+import com.academic.erp.backend.Application;
+import com.academic.erp.backend.dto.TokenInfoResponse;
+import com.academic.erp.backend.service.SessionTokenService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Compares request throughput and tail latency with requests handled on Tomcat's platform-thread
+ * pool against virtual threads (spring.threads.virtual.enabled), with more concurrent clients than
+ * the pool has threads. While the virtual-thread run is measured, JFR counts pinned virtual threads.
+ * <p>
+ * Starts the application once per mode against a MySQL server holding the sample data
+ * (insert_data.sql); run with {@code mvn test -Pbenchmark}. Connection settings as for
+ * IdGenerationBenchmarkTests. -Dbenchmark.concurrency sets the number of clients (default 400),
+ * -Dbenchmark.requests the measured requests per mode (default 20000) and -Dbenchmark.path the
+ * endpoint (default: the first domain, which costs a database round trip per request).
+ * The clients run in the same JVM as the server, so compare the modes with each other only.
+ */
+@Tag("benchmark")
+class VirtualThreadLoadBenchmarkTests {
+
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 400);
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 20_000);
+    private static final int WARMUP_REQUESTS = REQUESTS / 5;
+    private static final String JDBC_URL = System.getProperty("benchmark.jdbc-url",
+            "jdbc:mysql://localhost:3306/erp_admission");
+
+    @Test
+    void platformVersusVirtualThreads() throws Exception {
+        Result platform = run(false);
+        assumeTrue(platform != null, "database unavailable");
+        Result virtual = run(true);
+
+        System.out.printf("%d clients, %d requests per mode, GET %s%n", CONCURRENCY, REQUESTS, platform.path());
+        platform.report("platform threads");
+        virtual.report("virtual threads");
+        System.out.printf("Virtual threads pinned for 1 ms or more: %d%n", virtual.pinnedEvents());
+
+        assertEquals(0, platform.failures());
+        assertEquals(0, virtual.failures());
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        ConfigurableApplicationContext context;
+        try {
+            context = new SpringApplicationBuilder(Application.class).run(
+                    "--server.port=0",
+                    "--spring.threads.virtual.enabled=" + virtualThreads,
+                    "--spring.datasource.url=" + JDBC_URL,
+                    "--spring.datasource.username=" + System.getProperty("benchmark.username", "root"),
+                    "--spring.datasource.password=" + System.getProperty("benchmark.password", "root"),
+                    "--spring.jpa.show-sql=false",
+                    "--spring.devtools.restart.enabled=false",
+                    "--app.jwt.secret=" + randomSecret(),
+                    "--app.rate-limit.enabled=false",
+                    "--app.write-limiter.enabled=false");
+        } catch (RuntimeException e) {
+            System.out.println("Skipping virtual thread benchmark, application did not start: " + e.getMessage());
+            return null;
+        }
+
+        try (context) {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            String token = context.getBean(SessionTokenService.class).issue(
+                    new TokenInfoResponse("benchmark.admin@example.com", "Benchmark", null, null, null, null, null));
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build();
+            String base = "http://localhost:" + port;
+            String path = System.getProperty("benchmark.path");
+            if (path == null) {
+                path = firstDomainPath(client, base, token, context.getBean(ObjectMapper.class));
+            }
+            HttpRequest request = get(base + path, token);
+
+            load(client, request, WARMUP_REQUESTS);
+            if (!virtualThreads) {
+                return load(client, request, REQUESTS).withPath(path);
+            }
+            Path file = Files.createTempFile("pinning", ".jfr");
+            try (Recording recording = new Recording()) {
+                recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ofMillis(1));
+                recording.start();
+                Result result = load(client, request, REQUESTS);
+                recording.stop();
+                recording.dump(file);
+                return result.withPath(path).withPinnedEvents(RecordingFile.readAllEvents(file).size());
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    // Closed loop: every client sends its next request as soon as the previous one completes
+    private static Result load(HttpClient client, HttpRequest request, int requests) {
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CONCURRENCY; c++) {
+                clients.submit(() -> {
+                    for (int i = next.getAndIncrement(); i < requests; i = next.getAndIncrement()) {
+                        long sent = System.nanoTime();
+                        try {
+                            if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+                                failures.incrementAndGet();
+                            }
+                        } catch (IOException | InterruptedException e) {
+                            failures.incrementAndGet();
+                        }
+                        latencies[i] = System.nanoTime() - sent;
+                    }
+                });
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        Arrays.sort(latencies);
+        return new Result(null, requests, elapsed, latencies, failures.get(), 0);
+    }
+
+    private static String firstDomainPath(HttpClient client, String base, String token, ObjectMapper objectMapper)
+            throws IOException, InterruptedException {
+        JsonNode domains = objectMapper.readTree(
+                client.send(get(base + "/api/domains", token), HttpResponse.BodyHandlers.ofString()).body());
+        assumeTrue(domains.isArray() && !domains.isEmpty(), "no domains; load insert_data.sql first");
+        return "/api/domains/" + domains.get(0).get("domainId").asLong();
+    }
+
+    private static HttpRequest get(String uri, String token) {
+        return HttpRequest.newBuilder(URI.create(uri))
+                .header("Cookie", SessionTokenService.COOKIE_NAME + "=" + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    private record Result(String path, int requests, long elapsedNanos, long[] sortedLatencies,
+                          int failures, int pinnedEvents) {
+
+        Result withPath(String path) {
+            return new Result(path, requests, elapsedNanos, sortedLatencies, failures, pinnedEvents);
+        }
+
+        Result withPinnedEvents(int pinnedEvents) {
+            return new Result(path, requests, elapsedNanos, sortedLatencies, failures, pinnedEvents);
+        }
+
+        void report(String label) {
+            System.out.printf("%-17s %8.0f req/s   p50 %7.1f ms   p99 %7.1f ms   max %7.1f ms   failures %d%n",
+                    label, requests / (elapsedNanos / 1e9), percentile(0.50), percentile(0.99),
+                    sortedLatencies[sortedLatencies.length - 1] / 1e6, failures);
+        }
+
+        private double percentile(double p) {
+            return sortedLatencies[Math.min(sortedLatencies.length - 1, (int) Math.ceil(p * sortedLatencies.length) - 1)] / 1e6;
+        }
+    }
+
+    private static String randomSecret() {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        return Base64.getEncoder().encodeToString(secret);
+    }
+}
@@ -0,0 +1,168 @@
+package com.academic.erp.backend.cache;
+
+import com.academic.erp.backend.event.DataChangeEvent;
+import com.academic.erp.backend.service.ChangeLogService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ResponseCacheTests {
+
+    private static final Long DOMAIN_ID = 7L;
+    private static final List<String> ROSTER = List.of("BT2024001", "BT2024002");
+
+    private final ChangeLogService changeLogService = mock(ChangeLogService.class);
+    private final ResponseCache cache = new ResponseCache(new ObjectMapper(), changeLogService);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void matchingEtagIsAnsweredWithNotModifiedWithoutLoading() {
+        ResponseEntity<byte[]> first = cache.roster(DOMAIN_ID, request(null, null), loader(ROSTER));
+        String etag = first.getHeaders().getETag();
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertNotNull(etag);
+        assertEquals("[\"BT2024001\",\"BT2024002\"]", new String(first.getBody(), StandardCharsets.UTF_8));
+
+        ResponseEntity<byte[]> second = cache.roster(DOMAIN_ID, request(etag, null), loader(ROSTER));
+
+        assertEquals(HttpStatus.NOT_MODIFIED, second.getStatusCode());
+        assertEquals(etag, second.getHeaders().getETag());
+        assertNull(second.getBody());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void writeChangesTheEtagAndRebuilds() {
+        String etag = cache.roster(DOMAIN_ID, request(null, null), loader(ROSTER)).getHeaders().getETag();
+
+        cache.onDataChange(DataChangeEvent.student(DataChangeEvent.ChangeType.CREATED, 1L, null, DOMAIN_ID));
+        ResponseEntity<byte[]> after = cache.roster(DOMAIN_ID, request(etag, null), loader(ROSTER));
+
+        assertEquals(HttpStatus.OK, after.getStatusCode());
+        assertNotEquals(etag, after.getHeaders().getETag());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void gzipIsServedToClientsThatAcceptIt() throws IOException {
+        ResponseEntity<byte[]> plain = cache.roster(DOMAIN_ID, request(null, null), loader(ROSTER));
+        ResponseEntity<byte[]> gzip = cache.roster(DOMAIN_ID, request(null, "gzip, deflate, br"), loader(ROSTER));
+
+        assertEquals("gzip", gzip.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, gzip.getHeaders().getFirst(HttpHeaders.VARY));
+        assertEquals(plain.getHeaders().getETag(), gzip.getHeaders().getETag());
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip.getBody()))) {
+            assertEquals(new String(plain.getBody(), StandardCharsets.UTF_8), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertNull(plain.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        // Both encodings come from the one cached entry
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void emptyRosterOfAnUnknownDomainIsNeverNotModified() {
+        // An ETag a client may hold for a domain ID that has no roster
+        String etag = cache.roster(DOMAIN_ID, request(null, null), loader(List.of())).getHeaders().getETag();
+
+        ResponseEntity<byte[]> again = cache.roster(DOMAIN_ID, request(etag, null), loader(List.of()));
+
+        assertEquals(HttpStatus.OK, again.getStatusCode());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void deletedDomainIsNotServedFromCache() {
+        String etag = cache.roster(DOMAIN_ID, request(null, null), loader(ROSTER)).getHeaders().getETag();
+
+        cache.onDataChange(DataChangeEvent.domain(DataChangeEvent.ChangeType.DELETED, DOMAIN_ID, null));
+        ResponseEntity<byte[]> after = cache.roster(DOMAIN_ID, request(etag, null), loader(List.of()));
+
+        assertEquals(HttpStatus.OK, after.getStatusCode());
+        assertEquals("[]", new String(after.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void rosterLoadedWhileItsDomainIsDeletedIsNotKept() {
+        cache.roster(DOMAIN_ID, request(null, null), () -> {
+            loads.incrementAndGet();
+            // Read before the delete committed, installed after it
+            cache.onDataChange(DataChangeEvent.domain(DataChangeEvent.ChangeType.DELETED, DOMAIN_ID, null));
+            return ROSTER;
+        });
+
+        cache.roster(DOMAIN_ID, request(null, null), loader(List.of()));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void writeOnAnotherInstanceInvalidatesOnTheNextSync() {
+        when(changeLogService.getLatestVersion()).thenReturn(41L);
+        cache.syncWithChangeLog();
+        String etag = cache.roster(DOMAIN_ID, request(null, null), loader(ROSTER)).getHeaders().getETag();
+
+        // Nothing new in the change log: the entry stays
+        cache.syncWithChangeLog();
+        assertEquals(HttpStatus.NOT_MODIFIED, cache.roster(DOMAIN_ID, request(etag, null), loader(ROSTER)).getStatusCode());
+
+        // No commit event on this instance, only the change log moved
+        when(changeLogService.getLatestVersion()).thenReturn(42L);
+        cache.syncWithChangeLog();
+        ResponseEntity<byte[]> after = cache.roster(DOMAIN_ID, request(etag, null), loader(ROSTER));
+
+        assertEquals(HttpStatus.OK, after.getStatusCode());
+        assertNotEquals(etag, after.getHeaders().getETag());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void rosterLoadedDuringASyncIsNotKept() {
+        when(changeLogService.getLatestVersion()).thenReturn(7L);
+        cache.roster(DOMAIN_ID, request(null, null), () -> {
+            loads.incrementAndGet();
+            // Another instance's write shows up after the load read the roster
+            cache.syncWithChangeLog();
+            return ROSTER;
+        });
+
+        cache.roster(DOMAIN_ID, request(null, null), loader(ROSTER));
+
+        assertEquals(2, loads.get());
+    }
+
+    private Supplier<Object> loader(Object body) {
+        return () -> {
+            loads.incrementAndGet();
+            return body;
+        };
+    }
+
+    private static MockHttpServletRequest request(String ifNoneMatch, String acceptEncoding) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/students/domain/" + DOMAIN_ID);
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,190 @@
+package com.academic.erp.backend.cache;
+
+import com.academic.erp.backend.dto.TokenInfoResponse;
+import com.academic.erp.backend.service.TokenService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ValidatedTokenCacheTests {
+
+    private static final int CALLERS = 32;
+
+    private final TokenService tokenService = mock(TokenService.class);
+    private final ValidatedTokenCache cache = new ValidatedTokenCache(tokenService, new SimpleMeterRegistry(), 100, 3600);
+
+    @Test
+    void concurrentCallersShareOneValidation() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger validations = new AtomicInteger();
+        when(tokenService.validateIdToken(anyString())).thenAnswer(invocation -> {
+            validations.incrementAndGet();
+            release.await(5, TimeUnit.SECONDS);
+            return tokenInfo("jane@university.edu");
+        });
+
+        List<Future<TokenInfoResponse>> results = runConcurrently("token-a", release);
+
+        for (Future<TokenInfoResponse> result : results) {
+            assertEquals("jane@university.edu", result.get(5, TimeUnit.SECONDS).getEmail());
+        }
+        assertEquals(1, validations.get());
+    }
+
+    @Test
+    void concurrentCallersShareOneFailureAndNothingIsCached() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger validations = new AtomicInteger();
+        when(tokenService.validateIdToken(anyString())).thenAnswer(invocation -> {
+            validations.incrementAndGet();
+            release.await(5, TimeUnit.SECONDS);
+            throw new RuntimeException("Invalid or expired token");
+        });
+
+        for (Future<TokenInfoResponse> result : runConcurrently("token-b", release)) {
+            Exception e = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertEquals("Invalid or expired token", e.getCause().getMessage());
+        }
+        assertEquals(1, validations.get());
+
+        assertThrows(RuntimeException.class, () -> cache.validate("token-b"));
+        assertEquals(2, validations.get());
+    }
+
+    @Test
+    void failedValidationIsRetriedOnTheNextCall() {
+        when(tokenService.validateIdToken("token-d"))
+                .thenThrow(new RuntimeException("Invalid or expired token"))
+                .thenReturn(tokenInfo("ana@university.edu"));
+
+        assertThrows(RuntimeException.class, () -> cache.validate("token-d"));
+        assertEquals("ana@university.edu", cache.validate("token-d").getEmail());
+        assertEquals("ana@university.edu", cache.validate("token-d").getEmail());
+
+        verify(tokenService, times(2)).validateIdToken("token-d");
+    }
+
+    @Test
+    void entryExpiresWithTheToken() {
+        AtomicLong nanos = new AtomicLong();
+        ValidatedTokenCache ticking = new ValidatedTokenCache(tokenService, new SimpleMeterRegistry(), 100, 3600, nanos::get);
+        TokenInfoResponse info = tokenInfo("lee@university.edu");
+        info.setExp(System.currentTimeMillis() / 1000 + 30);
+        when(tokenService.validateIdToken("token-e")).thenReturn(info);
+
+        ticking.validate("token-e");
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(25));
+        ticking.validate("token-e");
+        verify(tokenService, times(1)).validateIdToken("token-e");
+
+        // Past exp, well inside max-ttl
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        ticking.validate("token-e");
+        verify(tokenService, times(2)).validateIdToken("token-e");
+    }
+
+    @Test
+    void maxTtlCapsLongLivedTokens() {
+        AtomicLong nanos = new AtomicLong();
+        ValidatedTokenCache ticking = new ValidatedTokenCache(tokenService, new SimpleMeterRegistry(), 100, 60, nanos::get);
+        TokenInfoResponse info = tokenInfo("kim@university.edu");
+        info.setExp(System.currentTimeMillis() / 1000 + 3 * 3600);
+        when(tokenService.validateIdToken("token-f")).thenReturn(info);
+
+        ticking.validate("token-f");
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(61));
+        ticking.validate("token-f");
+
+        verify(tokenService, times(2)).validateIdToken("token-f");
+    }
+
+    @Test
+    void alreadyExpiredTokenIsNotCached() {
+        TokenInfoResponse info = tokenInfo("max@university.edu");
+        info.setExp(System.currentTimeMillis() / 1000 - 5);
+        when(tokenService.validateIdToken("token-g")).thenReturn(info);
+
+        cache.validate("token-g");
+        cache.validate("token-g");
+
+        verify(tokenService, times(2)).validateIdToken("token-g");
+    }
+
+    @Test
+    void sizeBoundEvictsEntries() throws InterruptedException {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ValidatedTokenCache bounded = new ValidatedTokenCache(tokenService, registry, 2, 3600);
+        when(tokenService.validateIdToken(anyString())).thenAnswer(invocation -> tokenInfo(invocation.getArgument(0)));
+
+        for (int i = 0; i < 10; i++) {
+            bounded.validate("token-" + i);
+        }
+
+        // Caffeine evicts in its maintenance pass, which runs asynchronously after the writes
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.get("cache.size").tag("cache", "validatedIdTokens").gauge().value() > 2
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(registry.get("cache.size").tag("cache", "validatedIdTokens").gauge().value() <= 2);
+        assertTrue(registry.get("cache.evictions").tag("cache", "validatedIdTokens").functionCounter().count() >= 8);
+    }
+
+    @Test
+    void evictForcesRevalidation() {
+        when(tokenService.validateIdToken("token-c")).thenReturn(tokenInfo("sam@university.edu"));
+
+        cache.validate("token-c");
+        cache.validate("token-c");
+        cache.evict("token-c");
+        cache.validate("token-c");
+
+        verify(tokenService, times(2)).validateIdToken("token-c");
+    }
+
+    private List<Future<TokenInfoResponse>> runConcurrently(String token, CountDownLatch release) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(CALLERS);
+        CountDownLatch started = new CountDownLatch(CALLERS);
+        List<Future<TokenInfoResponse>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(pool.submit(() -> {
+                    started.countDown();
+                    return cache.validate(token);
+                }));
+            }
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            // Give every caller time to reach the in-flight validation before it completes
+            Thread.sleep(200);
+            release.countDown();
+            return results;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static TokenInfoResponse tokenInfo(String email) {
+        TokenInfoResponse info = new TokenInfoResponse();
+        info.setEmail(email);
+        info.setExp(System.currentTimeMillis() / 1000 + 600);
+        return info;
+    }
+}
@@ -0,0 +1,98 @@
+package com.academic.erp.backend.client;
+
+import com.academic.erp.backend.config.OutboundHttpConfig;
+import com.nimbusds.jose.util.Resource;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GuardedResourceRetrieverTests {
+
+    private static final String KEYS = "{\"keys\":[]}";
+
+    private HttpServer server;
+    private CloseableHttpClient httpClient;
+    private GuardedResourceRetriever retriever;
+    private URL certsUrl;
+
+    private final AtomicInteger hits = new AtomicInteger();
+    private volatile int status = 200;
+    private volatile String body = KEYS;
+
+    @BeforeEach
+    void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/certs", exchange -> {
+            hits.incrementAndGet();
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+        server.start();
+        certsUrl = new URL("http://127.0.0.1:" + server.getAddress().getPort() + "/certs");
+
+        OutboundHttpConfig config = new OutboundHttpConfig();
+        ReflectionTestUtils.setField(config, "maxConnections", 10);
+        ReflectionTestUtils.setField(config, "maxConnectionsPerRoute", 10);
+        ReflectionTestUtils.setField(config, "connectTimeoutMs", 500L);
+        ReflectionTestUtils.setField(config, "readTimeoutMs", 500L);
+        ReflectionTestUtils.setField(config, "poolTimeoutMs", 500L);
+        ReflectionTestUtils.setField(config, "idleEvictionSeconds", 30L);
+        httpClient = config.outboundHttpClient();
+        OutboundCallGuard guard = new OutboundCallGuard(new SimpleMeterRegistry(), 10, 50, 2, 60_000);
+        retriever = new GuardedResourceRetriever(
+                config.outboundRestTemplate(new RestTemplateBuilder(), httpClient), guard, "jwks", 1024);
+    }
+
+    @AfterEach
+    void stopStub() throws IOException {
+        httpClient.close();
+        server.stop(0);
+    }
+
+    @Test
+    void returnsTheBodyAndContentType() throws IOException {
+        Resource resource = retriever.retrieveResource(certsUrl);
+
+        assertEquals(KEYS, resource.getContent());
+        assertEquals("application/json", resource.getContentType());
+    }
+
+    @Test
+    void serverErrorsOpenTheCircuitAndSurfaceAsIOException() {
+        status = 503;
+
+        assertThrows(IOException.class, () -> retriever.retrieveResource(certsUrl));
+        assertThrows(IOException.class, () -> retriever.retrieveResource(certsUrl));
+
+        IOException rejected = assertThrows(IOException.class, () -> retriever.retrieveResource(certsUrl));
+        assertInstanceOf(UpstreamUnavailableException.class, rejected.getCause());
+        assertEquals(2, hits.get());
+    }
+
+    @Test
+    void oversizedResponseIsRejected() {
+        body = "x".repeat(2048);
+
+        assertThrows(IOException.class, () -> retriever.retrieveResource(certsUrl));
+    }
+}
@@ -0,0 +1,175 @@
+package com.academic.erp.backend.client;
+
+import com.academic.erp.backend.config.OutboundHttpConfig;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OutboundCallGuardTests {
+
+    private HttpServer server;
+    private ExecutorService serverThreads;
+    private CloseableHttpClient httpClient;
+    private RestTemplate restTemplate;
+    private String baseUrl;
+
+    private final AtomicInteger hits = new AtomicInteger();
+    private volatile int status = 200;
+    private volatile long delayMs = 0;
+
+    @BeforeEach
+    void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/token", exchange -> {
+            hits.incrementAndGet();
+            sleep(delayMs);
+            byte[] body = "{\"ok\":true}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        serverThreads = Executors.newFixedThreadPool(8);
+        server.setExecutor(serverThreads);
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        OutboundHttpConfig config = new OutboundHttpConfig();
+        ReflectionTestUtils.setField(config, "maxConnections", 10);
+        ReflectionTestUtils.setField(config, "maxConnectionsPerRoute", 10);
+        ReflectionTestUtils.setField(config, "connectTimeoutMs", 500L);
+        ReflectionTestUtils.setField(config, "readTimeoutMs", 300L);
+        ReflectionTestUtils.setField(config, "poolTimeoutMs", 500L);
+        ReflectionTestUtils.setField(config, "idleEvictionSeconds", 30L);
+        httpClient = config.outboundHttpClient();
+        restTemplate = config.outboundRestTemplate(new RestTemplateBuilder(), httpClient);
+    }
+
+    @AfterEach
+    void stopStub() throws IOException {
+        httpClient.close();
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    @Test
+    void slowUpstreamTimesOutInsteadOfHanging() {
+        OutboundCallGuard guard = guard(10, 5);
+        delayMs = 2_000;
+
+        long start = System.nanoTime();
+        assertThrows(ResourceAccessException.class, () -> guard.call("stub", this::fetch));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1_500);
+    }
+
+    @Test
+    void circuitOpensAfterConsecutiveFailuresAndFailsFast() {
+        OutboundCallGuard guard = guard(10, 3);
+        status = 503;
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(HttpServerErrorException.class, () -> guard.call("stub", this::fetch));
+        }
+        assertEquals(OutboundCallGuard.State.OPEN, guard.state("stub"));
+
+        assertThrows(UpstreamUnavailableException.class, () -> guard.call("stub", this::fetch));
+        assertEquals(3, hits.get());
+    }
+
+    @Test
+    void clientErrorsDoNotOpenTheCircuit() {
+        OutboundCallGuard guard = guard(10, 2);
+        status = 400;
+
+        for (int i = 0; i < 5; i++) {
+            assertThrows(HttpClientErrorException.class, () -> guard.call("stub", this::fetch));
+        }
+        assertEquals(OutboundCallGuard.State.CLOSED, guard.state("stub"));
+    }
+
+    @Test
+    void halfOpenTrialClosesCircuitAgain() throws InterruptedException {
+        OutboundCallGuard guard = new OutboundCallGuard(new SimpleMeterRegistry(), 10, 50, 1, 100);
+        status = 500;
+        assertThrows(HttpServerErrorException.class, () -> guard.call("stub", this::fetch));
+        assertEquals(OutboundCallGuard.State.OPEN, guard.state("stub"));
+
+        Thread.sleep(150);
+        status = 200;
+        assertEquals("{\"ok\":true}", guard.call("stub", this::fetch));
+        assertEquals(OutboundCallGuard.State.CLOSED, guard.state("stub"));
+    }
+
+    @Test
+    void bulkheadRejectsCallsBeyondLimit() throws Exception {
+        OutboundCallGuard guard = guard(2, 100);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch inside = new CountDownLatch(2);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = callers.submit(() -> guard.call("stub", () -> block(inside, release)));
+            Future<?> second = callers.submit(() -> guard.call("stub", () -> block(inside, release)));
+            assertTrue(inside.await(2, TimeUnit.SECONDS));
+
+            assertThrows(UpstreamUnavailableException.class, () -> guard.call("stub", this::fetch));
+
+            release.countDown();
+            first.get(2, TimeUnit.SECONDS);
+            second.get(2, TimeUnit.SECONDS);
+            assertEquals("{\"ok\":true}", guard.call("stub", this::fetch));
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    private OutboundCallGuard guard(int maxConcurrentCalls, int failureThreshold) {
+        return new OutboundCallGuard(new SimpleMeterRegistry(), maxConcurrentCalls, 50, failureThreshold, 60_000);
+    }
+
+    private String fetch() {
+        return restTemplate.getForObject(baseUrl + "/token", String.class);
+    }
+
+    private static String block(CountDownLatch inside, CountDownLatch release) {
+        inside.countDown();
+        try {
+            release.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "done";
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.academic.erp.backend.config;
+
+import com.academic.erp.backend.dto.ChangeEventDto;
+import com.academic.erp.backend.dto.DomainResponseDto;
+import com.academic.erp.backend.dto.StudentResponseDto;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.asyncer.r2dbc.mysql.MySqlConnectionFactoryProvider;
+import net.ttddyy.dsproxy.proxy.ProxyJdbcObject;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BackendRuntimeHintsTests {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @BeforeEach
+    void registerHints() {
+        new BackendRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void dtosCanBeSerializedReflectively() {
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(DomainResponseDto.class, "getStudentCount")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(StudentResponseDto.class, "getRollNumber")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(ChangeEventDto.class, "getSequence")).accepts(hints);
+    }
+
+    @Test
+    void vendorMigrationsAreIncluded() {
+        assertThat(RuntimeHintsPredicates.resource().forResource("db/migration/mysql/V1__baseline_schema.sql")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("db/migration/mysql/V3__student_workload_indexes.sql")).accepts(hints);
+    }
+
+    @Test
+    void jdbcObjectsCanBeProxied() {
+        assertThat(RuntimeHintsPredicates.proxies().forInterfaces(ProxyJdbcObject.class, Connection.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.proxies().forInterfaces(ProxyJdbcObject.class, PreparedStatement.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.proxies().forInterfaces(ProxyJdbcObject.class, ResultSet.class)).accepts(hints);
+    }
+
+    @Test
+    void secondLevelCacheProvidersCanBeInstantiated() {
+        assertThat(RuntimeHintsPredicates.reflection().onType(JCacheRegionFactory.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(CaffeineCachingProvider.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("reference.conf")).accepts(hints);
+    }
+
+    @Test
+    void r2dbcDriverCanBeDiscovered() {
+        assertThat(RuntimeHintsPredicates.reflection().onType(MySqlConnectionFactoryProvider.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource()
+                .forResource("META-INF/services/io.r2dbc.spi.ConnectionFactoryProvider")).accepts(hints);
+    }
+}
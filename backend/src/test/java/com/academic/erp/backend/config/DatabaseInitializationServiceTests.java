@@ -0,0 +1,95 @@
+package com.academic.erp.backend.config;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DatabaseInitializationServiceTests {
+
+    @Test
+    void concurrentCallersRunMigrationsOneAtATime() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        Flyway flyway = slowFlyway(() -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            sleep(20);
+            running.decrementAndGet();
+        });
+        DatabaseInitializationService service = new DatabaseInitializationService(flyway);
+
+        runOnVirtualThreads(4, service::applyPendingMigrations);
+
+        assertThat(maxRunning.get()).isEqualTo(1);
+    }
+
+    @Test
+    void waitingOnMigrationDoesNotPinVirtualThreads() throws Exception {
+        // The migration blocks (as JDBC does) while other callers wait for it; neither may pin a carrier
+        DatabaseInitializationService service = new DatabaseInitializationService(slowFlyway(() -> sleep(50)));
+
+        List<RecordedEvent> pinned = recordPinnedEvents(() -> runOnVirtualThreads(4, service::applyPendingMigrations));
+
+        assertThat(pinned).isEmpty();
+    }
+
+    private static Flyway slowFlyway(Runnable migration) {
+        Flyway flyway = mock(Flyway.class);
+        when(flyway.migrate()).thenAnswer(invocation -> {
+            migration.run();
+            MigrateResult result = new MigrateResult("9", "H2", "public");
+            result.success = true;
+            return result;
+        });
+        return flyway;
+    }
+
+    private static void runOnVirtualThreads(int count, Runnable task) throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            threads.add(Thread.ofVirtual().start(task));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    private static List<RecordedEvent> recordPinnedEvents(ThrowingRunnable action) throws Exception {
+        Path file = Files.createTempFile("pinning", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO);
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
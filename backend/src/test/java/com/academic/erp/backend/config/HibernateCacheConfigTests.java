@@ -0,0 +1,158 @@
+package com.academic.erp.backend.config;
+
+import com.academic.erp.backend.entity.CacheRegions;
+import com.academic.erp.backend.entity.Domain;
+import com.academic.erp.backend.repository.DomainRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.cache.CacheManager;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * The second-level cache as Hibernate runs it: repeated domain lookups are answered without SQL,
+ * the locked reads used by writes still go to the database, regions keep to their configured bound, and a region not created by {@link HibernateCacheConfig}
+ * is rejected rather than created unbounded.
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:embedded-database.properties",
+        properties = "app.l2-cache.domains.max-size=" + HibernateCacheConfigTests.DOMAINS_MAX_SIZE)
+class HibernateCacheConfigTests {
+
+    static final int DOMAINS_MAX_SIZE = 2;
+
+    private static final String PROGRAM = "Master of Science in L2 Caching";
+
+    @Autowired
+    private DomainRepository domainRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager hibernateCacheManager;
+
+    @Autowired
+    private HibernatePropertiesCustomizer hibernateCacheCustomizer;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private SessionFactoryImplementor sessionFactory;
+    private Statistics statistics;
+    private final List<Long> domainIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        statistics = sessionFactory.getStatistics();
+        for (int i = 0; i < DOMAINS_MAX_SIZE + 3; i++) {
+            domainIds.add(domainRepository.save(Domain.builder()
+                    .program(i == 0 ? PROGRAM : PROGRAM + " " + i)
+                    .batch("2024")
+                    .capacity(30)
+                    .build()).getDomainId());
+        }
+        // Inserts populate the entity region; start every test from a cold cache
+        sessionFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        domainRepository.deleteAllById(domainIds);
+    }
+
+    @Test
+    void secondFindByIdIsServedFromTheCache() {
+        domainRepository.findById(domainIds.get(0));
+        long statements = statistics.getPrepareStatementCount();
+
+        assertThat(domainRepository.findById(domainIds.get(0))).isPresent();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+        assertThat(statistics.getDomainDataRegionStatistics(CacheRegions.DOMAINS).getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void lockedReadBypassesTheCache() {
+        domainRepository.findById(domainIds.get(0));
+        long loads = statistics.getEntityStatistics(Domain.class.getName()).getLoadCount();
+
+        transactionTemplate.executeWithoutResult(status ->
+                assertThat(domainRepository.findByIdForUpdate(domainIds.get(0))).isPresent());
+
+        assertThat(statistics.getEntityStatistics(Domain.class.getName()).getLoadCount()).isEqualTo(loads + 1);
+        assertThat(statistics.getDomainDataRegionStatistics(CacheRegions.DOMAINS).getHitCount()).isZero();
+    }
+
+    @Test
+    void secondFindByProgramIsServedFromTheCache() {
+        domainRepository.findByProgram(PROGRAM);
+        long statements = statistics.getPrepareStatementCount();
+
+        assertThat(domainRepository.findByProgram(PROGRAM)).map(Domain::getDomainId).contains(domainIds.get(0));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+        assertThat(statistics.getQueryRegionStatistics(CacheRegions.DOMAIN_BY_PROGRAM).getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void regionKeepsToItsBound() {
+        domainIds.forEach(domainRepository::findById);
+
+        com.github.benmanes.caffeine.cache.Cache<?, ?> region = hibernateCacheManager
+                .getCache(CacheRegions.DOMAINS)
+                .unwrap(com.github.benmanes.caffeine.cache.Cache.class);
+        region.cleanUp();
+        assertThat(region.estimatedSize()).isLessThanOrEqualTo(DOMAINS_MAX_SIZE);
+    }
+
+    @Test
+    void hibernateUsesTheConfiguredRegions() {
+        JCacheRegionFactory regionFactory = (JCacheRegionFactory) sessionFactory.getCache().getRegionFactory();
+
+        assertThat(regionFactory.getCacheManager()).isSameAs(hibernateCacheManager);
+    }
+
+    @Test
+    void regionMissingFromTheConfigurationIsRejected() {
+        Map<String, Object> properties = new HashMap<>();
+        hibernateCacheCustomizer.customize(properties);
+        RegionProbe probe = new RegionProbe();
+        // Not stopped afterwards: stopping closes the cache manager, which the application still uses
+        probe.start(sessionFactory.getSessionFactoryOptions(), properties);
+
+        assertThat(probe.region(CacheRegions.DOMAINS, sessionFactory)).isSameAs(hibernateCacheManager.getCache(CacheRegions.DOMAINS));
+        assertThat(probe.region(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, sessionFactory)).isNotNull();
+        assertThrows(CacheException.class, () -> probe.region("students", sessionFactory));
+        assertThat(hibernateCacheManager.getCache("students")).isNull();
+    }
+
+    // Resolves regions the way Hibernate does when it builds the session factory
+    private static final class RegionProbe extends JCacheRegionFactory {
+
+        private javax.cache.Cache<Object, Object> region(String name, SessionFactoryImplementor sessionFactory) {
+            return getOrCreateCache(name, sessionFactory);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.academic.erp.backend.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * With lazy initialization on (as fast-startup.sh runs the application), the persistence beans
+ * and the scheduled change log purge must still be created at startup, and the web layer must not.
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:embedded-database.properties",
+        properties = "spring.main.lazy-initialization=true")
+class LazyInitializationTests {
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Test
+    void persistenceAndScheduledBeansAreCreatedAtStartup() {
+        assertThat(createdAtStartup("dataSource")).isTrue();
+        assertThat(createdAtStartup("flywayInitializer")).isTrue();
+        assertThat(createdAtStartup("entityManagerFactory")).isTrue();
+        assertThat(createdAtStartup("changeLogServiceImpl")).isTrue();
+        assertThat(createdAtStartup("studentArchiveServiceImpl")).isTrue();
+    }
+
+    @Test
+    void controllersAreCreatedOnFirstUse() {
+        assertThat(createdAtStartup("domainController")).isFalse();
+        assertThat(createdAtStartup("studentController")).isFalse();
+    }
+
+    private boolean createdAtStartup(String beanName) {
+        return context.getBeanFactory().containsSingleton(beanName);
+    }
+}
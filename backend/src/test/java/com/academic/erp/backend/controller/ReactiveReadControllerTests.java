@@ -0,0 +1,185 @@
+package com.academic.erp.backend.controller;
+
+import com.academic.erp.backend.entity.Domain;
+import com.academic.erp.backend.entity.Student;
+import com.academic.erp.backend.repository.ChangeLogRepository;
+import com.academic.erp.backend.repository.DomainRepository;
+import com.academic.erp.backend.repository.StudentRepository;
+import com.academic.erp.backend.security.AuthenticatedUser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The /api/reactive reads run over R2DBC against the same embedded database the JPA repositories
+ * write to, and must return what the blocking endpoints return for the same data.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(locations = "classpath:embedded-database.properties")
+class ReactiveReadControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DomainRepository domainRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    private Domain engineering;
+    private Domain science;
+
+    @BeforeEach
+    void seed() {
+        changeLogRepository.deleteAllInBatch();
+        studentRepository.deleteAllInBatch();
+        domainRepository.deleteAllInBatch();
+
+        engineering = domainRepository.save(domain("Bachelor of Technology in CSE", 55.5));
+        science = domainRepository.save(domain("Bachelor of Science", 60.0));
+        // Admission marks the student inactive when the marks are below the domain's cutoff
+        studentRepository.save(student(engineering, 0, 60.0));
+        studentRepository.save(student(engineering, 1, 70.0));
+        studentRepository.save(student(engineering, 2, 80.0));
+        studentRepository.save(student(engineering, 3, 40.0));
+        studentRepository.save(student(science, 0, 65.0));
+    }
+
+    @Test
+    void domainListMatchesTheBlockingEndpoint() throws Exception {
+        JsonNode reactive = json(perform(get("/api/reactive/domains").accept(MediaType.APPLICATION_JSON)));
+        JsonNode blocking = objectMapper.readTree(mockMvc.perform(get("/api/domains").with(authentication(user())))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray());
+
+        assertEquals(2, reactive.size());
+        assertEquals(sortedBy(blocking, "domainId"), reactive);
+        assertEquals(3, reactive.get(0).get("studentCount").asLong());
+        assertEquals(55.5, reactive.get(0).get("cutoffMarks").asDouble());
+    }
+
+    @Test
+    void domainById() throws Exception {
+        perform(get("/api/reactive/domains/{id}", science.getDomainId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.program").value("Bachelor of Science"))
+                .andExpect(jsonPath("$.studentCount").value(1));
+    }
+
+    @Test
+    void unknownDomainIsNotFound() throws Exception {
+        perform(get("/api/reactive/domains/{id}", -1L))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").exists());
+    }
+
+    @Test
+    void rosterStreamsOneActiveStudentPerLine() throws Exception {
+        String body = perform(get("/api/reactive/students/domain/{id}", engineering.getDomainId())
+                .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        List<String> lines = body.lines().filter(line -> !line.isBlank()).toList();
+        assertEquals(3, lines.size());
+        for (String line : lines) {
+            JsonNode student = objectMapper.readTree(line);
+            assertEquals(engineering.getDomainId().longValue(), student.get("domainId").asLong());
+            assertEquals("Bachelor of Technology in CSE", student.get("domainProgram").asText());
+            assertEquals(true, student.get("active").asBoolean());
+        }
+    }
+
+    @Test
+    void rosterAsJsonArrayMatchesTheBlockingEndpoint() throws Exception {
+        JsonNode reactive = json(perform(get("/api/reactive/students/domain/{id}", engineering.getDomainId())
+                .accept(MediaType.APPLICATION_JSON)));
+        JsonNode blocking = objectMapper.readTree(mockMvc.perform(get("/api/students/domain/{id}", engineering.getDomainId())
+                        .with(authentication(user())))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray());
+
+        assertEquals(sortedBy(blocking, "studentId"), reactive);
+    }
+
+    private ResultActions perform(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult started = mockMvc.perform(request.with(authentication(user())))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started));
+    }
+
+    private JsonNode json(ResultActions result) throws Exception {
+        return objectMapper.readTree(result.andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsByteArray());
+    }
+
+    private JsonNode sortedBy(JsonNode array, String field) {
+        List<JsonNode> elements = new ArrayList<>();
+        array.forEach(elements::add);
+        elements.sort(Comparator.comparingLong(node -> node.get(field).asLong()));
+        return objectMapper.valueToTree(elements);
+    }
+
+    private static Domain domain(String program, double cutoffMarks) {
+        return Domain.builder()
+                .program(program)
+                .batch("2024")
+                .capacity(10)
+                .examName("JEE Main")
+                .cutoffMarks(cutoffMarks)
+                .build();
+    }
+
+    private static Student student(Domain domain, int index, double examMarks) {
+        return Student.builder()
+                .rollNumber("BT2024" + domain.getDomainId() + "-" + index)
+                .firstName("First" + index)
+                .lastName("Last" + domain.getDomainId())
+                .email("student" + domain.getDomainId() + "." + index + "@example.com")
+                .domain(domain)
+                .joinYear(2024)
+                .examMarks(examMarks)
+                .build();
+    }
+
+    private static UsernamePasswordAuthenticationToken user() {
+        AuthenticatedUser principal = new AuthenticatedUser("admin@example.com", "Admin", null, null, List.of("ROLE_USER"));
+        return new UsernamePasswordAuthenticationToken(principal, null, List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+}
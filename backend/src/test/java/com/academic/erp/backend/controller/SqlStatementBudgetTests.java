@@ -0,0 +1,271 @@
+package com.academic.erp.backend.controller;
+
+import com.academic.erp.backend.cache.ResponseCache;
+import com.academic.erp.backend.entity.Domain;
+import com.academic.erp.backend.entity.Student;
+import com.academic.erp.backend.entity.StudentEmail;
+import com.academic.erp.backend.event.DataChangeEvent;
+import com.academic.erp.backend.repository.ChangeLogRepository;
+import com.academic.erp.backend.repository.DomainRepository;
+import com.academic.erp.backend.repository.StudentEmailRepository;
+import com.academic.erp.backend.repository.StudentRepository;
+import com.academic.erp.backend.security.AuthenticatedUser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Statement and row budgets for every data endpoint, measured through the Server-Timing header
+ * written by SqlAccountingFilter against an embedded database seeded with
+ * {@value #DOMAINS} domains of {@value #STUDENTS_PER_DOMAIN} students. Budgets are upper bounds:
+ * a change that adds a query per row (N+1) or starts loading whole rosters fails here first.
+ * Response caches are invalidated before each call, so every budget covers the cold path.
+ * <p>
+ * The database is H2 in MODE=MySQL (embedded-database.properties), not MySQL: statement counts
+ * hold for both since they come from Hibernate and the services, but plans, lock waits and the
+ * driver's multi-row rewrite of batches are not exercised here.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(locations = "classpath:embedded-database.properties")
+class SqlStatementBudgetTests {
+
+    private static final int DOMAINS = 5;
+    private static final int STUDENTS_PER_DOMAIN = 4;
+    // Below the JDBC batch size and the ID block size (50), so budgets stay the same
+    private static final int LARGE_ROSTER = 10 * STUDENTS_PER_DOMAIN;
+    private static final Pattern SERVER_TIMING = Pattern.compile("db;dur=[\\d.]+;desc=\"(\\d+) statements, (\\d+) rows\"");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DomainRepository domainRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    @Autowired
+    private StudentEmailRepository studentEmailRepository;
+
+    @Autowired
+    private ResponseCache responseCache;
+
+    private final List<Domain> domains = new ArrayList<>();
+    private final List<Student> students = new ArrayList<>();
+    private int seeded;
+
+    @BeforeEach
+    void seed() {
+        changeLogRepository.deleteAllInBatch();
+        studentEmailRepository.deleteAllInBatch();
+        studentRepository.deleteAllInBatch();
+        domainRepository.deleteAllInBatch();
+        domains.clear();
+        students.clear();
+        addDomains(DOMAINS);
+    }
+
+    @Test
+    void listDomainsUsesTwoStatementsRegardlessOfDomainCount() throws Exception {
+        assertBudget(get("/api/domains"), 2, DOMAINS + DOMAINS);
+
+        addDomains(3 * DOMAINS);
+        assertBudget(get("/api/domains"), 2, 4 * DOMAINS + 4 * DOMAINS);
+    }
+
+    @Test
+    void getDomain() throws Exception {
+        // The domain itself usually comes from the second-level cache; the active count never does
+        assertBudget(get("/api/domains/{id}", domainId()), 2, 2);
+    }
+
+    @Test
+    void domainStatistics() throws Exception {
+        assertBudget(get("/api/domains/{id}/statistics", domainId()), 2, 1 + STUDENTS_PER_DOMAIN);
+        assertBudget(get("/api/domains/statistics"), 2, DOMAINS * STUDENTS_PER_DOMAIN + DOMAINS);
+    }
+
+    @Test
+    void createDomain() throws Exception {
+        // Insert, active count and change log entry, plus two statements for each new ID block
+        // reserved (domains and change log)
+        assertBudget(post("/api/domains").contentType(MediaType.APPLICATION_JSON).content(domainJson(60, 50.0)), 7, 2);
+    }
+
+    @Test
+    void updateImpactAndDeleteImpact() throws Exception {
+        assertBudget(post("/api/domains/{id}/impact", domainId())
+                .contentType(MediaType.APPLICATION_JSON).content(domainJson(2, 70.0)), 2, 1 + STUDENTS_PER_DOMAIN);
+        assertBudget(get("/api/domains/{id}/delete-impact", domainId()), 2, 2);
+    }
+
+    @Test
+    void updateDomainReRanksOnlyItsOwnRoster() throws Exception {
+        // Roster, one batched update each for students and domain, the active count and one batched
+        // insert of change log rows (the domain and every student whose state changes), plus two
+        // statements and a row when a new change log ID block is reserved
+        assertBudget(patch("/api/domains/{id}", domainId())
+                        .contentType(MediaType.APPLICATION_JSON).content(domainJson(2, 50.0)),
+                7, 2 + STUDENTS_PER_DOMAIN);
+
+        // Same statements for a roster ten times the size (still within one batch and one ID block)
+        Domain large = addDomain(LARGE_ROSTER);
+        assertBudget(patch("/api/domains/{id}", large.getDomainId())
+                        .contentType(MediaType.APPLICATION_JSON).content(domainJson(2, 50.0)),
+                7, 2 + LARGE_ROSTER);
+    }
+
+    @Test
+    void deleteDomain() throws Exception {
+        // The domain is read with a row lock (bypassing the entity cache); student deletes, email
+        // releases and change log rows are each one batch. A new change log ID block costs two more
+        // statements and a row
+        assertBudget(delete("/api/domains/{id}", domainId()), 8, 2 + STUDENTS_PER_DOMAIN);
+
+        Domain large = addDomain(LARGE_ROSTER);
+        assertBudget(delete("/api/domains/{id}", large.getDomainId()), 8, 2 + LARGE_ROSTER);
+    }
+
+    @Test
+    void getStudent() throws Exception {
+        assertBudget(get("/api/students/{id}", studentId()), 2, 2);
+    }
+
+    @Test
+    void rosterInEveryShape() throws Exception {
+        assertBudget(get("/api/students/domain/{id}", domainId()), 2, 1 + STUDENTS_PER_DOMAIN);
+        invalidateCaches();
+        assertBudget(get("/api/students/domain/{id}", domainId()).param("fields", "rollNumber,examMarks"),
+                2, 1 + STUDENTS_PER_DOMAIN);
+        invalidateCaches();
+        assertBudget(get("/api/students/domain/{id}", domainId()).param("format", "columnar"),
+                2, 1 + STUDENTS_PER_DOMAIN);
+    }
+
+    @Test
+    void admitStudent() throws Exception {
+        // Capacity re-ranking after the insert reloads the roster; each new ID block (students,
+        // change log) costs two statements
+        assertBudget(post("/api/students/admit").contentType(MediaType.APPLICATION_JSON).content("""
+                {"firstName":"New","lastName":"Student","email":"new.student@example.com",
+                 "domainId":%d,"joinYear":2024,"examMarks":88.5}""".formatted(domainId())), 8, 2 + STUDENTS_PER_DOMAIN);
+    }
+
+    @Test
+    void updateStudent() throws Exception {
+        // A changed email is rewritten in student_emails, and the target domain is read with a share
+        // lock; a new change log ID block costs two statements
+        Student student = students.get(0);
+        assertBudget(patch("/api/students/{id}", student.getStudentId()).contentType(MediaType.APPLICATION_JSON).content("""
+                {"studentId":%d,"firstName":"Renamed","lastName":"Student","email":"renamed@example.com",
+                 "domainId":%d,"joinYear":2024,"examMarks":91.0}""".formatted(student.getStudentId(), domainId())), 7, 2);
+    }
+
+    @Test
+    void deleteStudent() throws Exception {
+        // Including the release of the student's email and a new change log ID block
+        assertBudget(delete("/api/students/{id}", studentId()), 6, 2);
+    }
+
+    private void assertBudget(MockHttpServletRequestBuilder request, int maxStatements, int maxRows) throws Exception {
+        invalidateCaches();
+        MvcResult result = mockMvc.perform(request.with(authentication(user()))).andReturn();
+        String description = request.buildRequest(null).getMethod() + " " + result.getRequest().getRequestURI();
+        int status = result.getResponse().getStatus();
+        assertTrue(status < 400, description + " failed with " + status + ": " + result.getResponse().getContentAsString());
+
+        String serverTiming = result.getResponse().getHeader("Server-Timing");
+        assertNotNull(serverTiming, description + " has no Server-Timing header");
+        Matcher matcher = SERVER_TIMING.matcher(serverTiming);
+        assertTrue(matcher.matches(), serverTiming);
+        int statements = Integer.parseInt(matcher.group(1));
+        int rows = Integer.parseInt(matcher.group(2));
+        assertTrue(statements <= maxStatements,
+                description + " ran " + statements + " statements, budget is " + maxStatements);
+        assertTrue(rows <= maxRows,
+                description + " fetched " + rows + " rows, budget is " + maxRows);
+    }
+
+    private void invalidateCaches() {
+        for (Domain domain : domains) {
+            responseCache.onDataChange(DataChangeEvent.domain(DataChangeEvent.ChangeType.UPDATED, domain.getDomainId(), null));
+        }
+    }
+
+    private void addDomains(int count) {
+        for (int d = 0; d < count; d++) {
+            addDomain(STUDENTS_PER_DOMAIN);
+        }
+    }
+
+    private Domain addDomain(int studentCount) {
+        Domain domain = domainRepository.save(Domain.builder()
+                .program("Program " + seeded)
+                .batch("2024")
+                .capacity(10)
+                .examName("JEE Main")
+                .cutoffMarks(50.0)
+                .build());
+        domains.add(domain);
+        for (int s = 0; s < studentCount; s++) {
+            Student student = studentRepository.save(Student.builder()
+                    .rollNumber("BT2024" + seeded + "-" + s)
+                    .firstName("First" + s)
+                    .lastName("Last" + seeded)
+                    .email("student" + seeded + "." + s + "@example.com")
+                    .domain(domain)
+                    .joinYear(2024)
+                    .examMarks(60.0 + 10 * (s % STUDENTS_PER_DOMAIN))
+                    .build());
+            studentEmailRepository.save(new StudentEmail(student.getEmail(), student.getStudentId()));
+            students.add(student);
+        }
+        seeded++;
+        return domain;
+    }
+
+    private Long domainId() {
+        return domains.get(0).getDomainId();
+    }
+
+    private Long studentId() {
+        return students.get(0).getStudentId();
+    }
+
+    private static String domainJson(int capacity, double cutoffMarks) {
+        return """
+                {"program":"Program X","batch":"2024","capacity":%d,"examName":"JEE Main","cutoffMarks":%s}"""
+                .formatted(capacity, cutoffMarks);
+    }
+
+    private static UsernamePasswordAuthenticationToken user() {
+        AuthenticatedUser principal = new AuthenticatedUser("admin@example.com", "Admin", null, null, List.of("ROLE_USER"));
+        return new UsernamePasswordAuthenticationToken(principal, null, List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+}
@@ -0,0 +1,132 @@
+package com.academic.erp.backend.exception;
+
+import com.academic.erp.backend.entity.Student;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class GlobalExceptionHandlerTests {
+
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new ThrowingController())
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .build();
+
+    @Test
+    void everyErrorCodeMapsToItsStatus() throws Exception {
+        for (ErrorCode code : ErrorCode.values()) {
+            // Spelled out rather than read from the enum, so a changed status shows up here
+            HttpStatus expected = switch (code) {
+                case STUDENT_NOT_FOUND, ARCHIVED_STUDENT_NOT_FOUND, DOMAIN_NOT_FOUND -> HttpStatus.NOT_FOUND;
+                case INVALID_DOMAIN, STUDENT_ID_MISMATCH, INVALID_REQUEST_PARAMETER, EXAM_MARKS_REQUIRED,
+                     INVALID_REFERENCE, VALUE_OUT_OF_RANGE, INVALID_DATA -> HttpStatus.BAD_REQUEST;
+                case SEAT_RANGE_EXHAUSTED, DUPLICATE_EMAIL, DUPLICATE_ROLL_NUMBER, DUPLICATE_ENTRY -> HttpStatus.CONFLICT;
+                case AUTHENTICATION_FAILED -> HttpStatus.UNAUTHORIZED;
+                case UPSTREAM_UNAVAILABLE, DATABASE_INITIALIZATION_FAILED -> HttpStatus.SERVICE_UNAVAILABLE;
+            };
+            mockMvc.perform(get("/business/{code}", code.name()))
+                    .andExpect(status().is(expected.value()))
+                    .andExpect(jsonPath("$.code").value(code.name()))
+                    .andExpect(jsonPath("$.error").value(code.getMessage() != null ? code.getMessage() : "detail"));
+        }
+    }
+
+    @Test
+    void studentWithoutExamMarksIsABadRequest() throws Exception {
+        mockMvc.perform(get("/student-without-marks"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value(ErrorCode.EXAM_MARKS_REQUIRED.name()));
+    }
+
+    @Test
+    void illegalArgumentIsABadRequest() throws Exception {
+        mockMvc.perform(get("/illegal-argument"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Unknown field: grade"));
+    }
+
+    @Test
+    void constraintViolationsAreMappedByStateCodeAndConstraintName() throws Exception {
+        for (int i = 0; i < VIOLATIONS.size(); i++) {
+            ErrorCode expected = VIOLATIONS.get(i).expected();
+            mockMvc.perform(get("/violation/{index}", i))
+                    .andExpect(status().is(expected.getStatus().value()))
+                    .andExpect(jsonPath("$.code").value(expected.name()));
+        }
+    }
+
+    @Test
+    void otherRuntimeExceptionsAreServerErrors() throws Exception {
+        mockMvc.perform(get("/runtime"))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.code").doesNotExist());
+    }
+
+    private record Violation(String sqlState, int vendorCode, String constraintName, String message, ErrorCode expected) {
+
+        DataIntegrityViolationException toException() {
+            SQLException cause = new SQLException(message, sqlState, vendorCode);
+            return new DataIntegrityViolationException(message,
+                    new ConstraintViolationException(message, cause, constraintName));
+        }
+    }
+
+    private static final List<Violation> VIOLATIONS = List.of(
+            // MySQL: one SQL state for every violation, told apart by error code
+            new Violation("23000", 1062, "students.idx_students_join_year_roll",
+                    "Duplicate entry '2024-BT2024001' for key 'students.idx_students_join_year_roll'", ErrorCode.DUPLICATE_ROLL_NUMBER),
+            new Violation("23000", 1452, null,
+                    "Cannot add or update a child row: a foreign key constraint fails", ErrorCode.INVALID_REFERENCE),
+            new Violation("23000", 3819, "domains_chk_1",
+                    "Check constraint 'domains_chk_1' is violated.", ErrorCode.VALUE_OUT_OF_RANGE),
+            // The message mentions an email, but the violated index decides
+            new Violation("23000", 1062, "domains.idx_domains_program",
+                    "Duplicate entry 'email' for key 'domains.idx_domains_program'", ErrorCode.DUPLICATE_ENTRY),
+            // H2: standard SQL states
+            new Violation("23505", 23505, "\"public.idx_students_join_year_roll ON public.students(join_year, roll_number) VALUES (2024, 'BT2024001')\"",
+                    "Unique index or primary key violation", ErrorCode.DUPLICATE_ROLL_NUMBER),
+            new Violation("23502", 23502, null,
+                    "NULL not allowed for column \"exam_marks\"", ErrorCode.INVALID_DATA)
+    );
+
+    @RestController
+    static class ThrowingController {
+
+        @GetMapping("/violation/{index}")
+        void violation(@PathVariable int index) {
+            throw VIOLATIONS.get(index).toException();
+        }
+
+        @GetMapping("/business/{code}")
+        void business(@PathVariable String code) {
+            throw new BusinessException(ErrorCode.valueOf(code), "detail");
+        }
+
+        @GetMapping("/student-without-marks")
+        void studentWithoutMarks() {
+            new Student().onCreate();
+        }
+
+        @GetMapping("/illegal-argument")
+        void illegalArgument() {
+            throw new IllegalArgumentException("Unknown field: grade");
+        }
+
+        @GetMapping("/runtime")
+        void runtime() {
+            throw new IllegalStateException("unexpected");
+        }
+    }
+}
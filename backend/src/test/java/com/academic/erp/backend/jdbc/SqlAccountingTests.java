@@ -0,0 +1,120 @@
+package com.academic.erp.backend.jdbc;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SqlAccountingTests {
+
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        // Every query returns three rows
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(statement.executeQuery()).thenAnswer(invocation -> {
+            ResultSet resultSet = mock(ResultSet.class);
+            when(resultSet.next()).thenReturn(true, true, true, false);
+            return resultSet;
+        });
+        Connection connection = mock(Connection.class);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenReturn(connection);
+
+        SqlAccountingListener listener = new SqlAccountingListener();
+        dataSource = ProxyDataSourceBuilder.create(target)
+                .listener(listener)
+                .methodListener(listener)
+                .proxyResultSet()
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SqlAccounting.endRequest();
+    }
+
+    @Test
+    void countsStatementsAndFetchedRowsPerRequest() throws SQLException {
+        SqlAccounting.Tally tally = SqlAccounting.beginRequest();
+
+        query("select * from students where domain_id = ?");
+
+        assertEquals(1, tally.getStatements());
+        assertEquals(3, tally.getRows());
+        assertTrue(tally.getNanos() >= 0);
+    }
+
+    @Test
+    void attributesStatementsToRepositoryCallsIncludingNestedOnes() throws SQLException {
+        SqlAccounting.Tally request = SqlAccounting.beginRequest();
+
+        SqlAccounting.Tally outer = SqlAccounting.beginRepositoryCall();
+        query("select * from domains");
+        SqlAccounting.Tally inner = SqlAccounting.beginRepositoryCall();
+        query("select * from students");
+        SqlAccounting.Tally innerTally = SqlAccounting.endRepositoryCall(inner);
+        SqlAccounting.Tally outerTally = SqlAccounting.endRepositoryCall(outer);
+        query("select 1");
+
+        assertEquals(1, innerTally.getStatements());
+        assertEquals(2, outerTally.getStatements());
+        assertEquals(6, outerTally.getRows());
+        assertEquals(3, request.getStatements());
+    }
+
+    @Test
+    void ignoresStatementsOutsideAnyScope() throws SQLException {
+        query("select 1");
+
+        SqlAccounting.Tally tally = SqlAccounting.beginRequest();
+        assertEquals(0, tally.getStatements());
+    }
+
+    @Test
+    void reportsQueryShapesRepeatedBeyondThreshold() throws SQLException {
+        SqlAccounting.Tally tally = SqlAccounting.beginRequest();
+
+        query("select * from domains");
+        for (int i = 0; i < 4; i++) {
+            query("select count(*) from students where domain_id = " + i + " and is_active = 1");
+        }
+
+        Map<String, Integer> repeated = tally.repeatedShapes(3);
+        assertEquals(Map.of("select count(*) from students where domain_id = ? and is_active = ?", 4), repeated);
+        assertTrue(tally.repeatedShapes(4).isEmpty());
+    }
+
+    @Test
+    void normalizesLiteralsAndParameterLists() {
+        assertEquals("select * from students where email = ? and student_id in (?)",
+                SqlAccounting.shapeOf("select *\n  from students where email = 'a''b@x.com' and student_id in (?, ?,?)"));
+        assertEquals(SqlAccounting.shapeOf("select * from t where id in (?)"),
+                SqlAccounting.shapeOf("select * from t where id in (?, ?, ?, ?)"));
+    }
+
+    private void query(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql);
+             ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                // drain
+            }
+        }
+    }
+}
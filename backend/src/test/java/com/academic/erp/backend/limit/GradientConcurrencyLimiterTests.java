@@ -0,0 +1,72 @@
+package com.academic.erp.backend.limit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GradientConcurrencyLimiterTests {
+
+    private static final long MILLIS = 1_000_000L;
+
+    @Test
+    void rejectsBeyondLimit() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(3, 1, 10, 0.2, 1.5);
+
+        assertEquals(1, limiter.tryAcquire());
+        assertEquals(2, limiter.tryAcquire());
+        assertEquals(3, limiter.tryAcquire());
+        assertEquals(-1, limiter.tryAcquire());
+
+        limiter.release(10 * MILLIS, 3, false);
+        assertEquals(3, limiter.tryAcquire());
+    }
+
+    @Test
+    void growsWhileLatencyIsSteadyAndSaturated() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(10, 2, 100, 0.2, 1.5, 100, 5);
+
+        for (int i = 0; i < 200; i++) {
+            limiter.onSample(20 * MILLIS, limiter.getLimit(), false);
+        }
+
+        assertTrue(limiter.getLimit() > 10, "limit should grow, was " + limiter.getLimit());
+    }
+
+    @Test
+    void doesNotGrowWhenMostlyIdle() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(10, 2, 100, 0.2, 1.5, 100, 5);
+
+        for (int i = 0; i < 200; i++) {
+            limiter.onSample(20 * MILLIS, 1, false);
+        }
+
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    void shrinksWhenLatencyRises() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(50, 2, 100, 0.2, 1.5, 100, 5);
+        for (int i = 0; i < 100; i++) {
+            limiter.onSample(20 * MILLIS, 1, false);
+        }
+
+        // Requests start queueing for connections: latency goes up tenfold
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(200 * MILLIS, limiter.getLimit(), false);
+        }
+
+        assertTrue(limiter.getLimit() < 50, "limit should shrink, was " + limiter.getLimit());
+    }
+
+    @Test
+    void failuresCutTheLimitButNotBelowMinimum() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(20, 4, 100, 0.2, 1.5);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.onSample(0, 0, true);
+        }
+
+        assertEquals(4, limiter.getLimit());
+    }
+}
@@ -0,0 +1,114 @@
+package com.academic.erp.backend.repository;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs EXPLAIN on the SQL that the hot student repository methods actually generate, against the
+ * schema built by the migrations, and checks that each one is served by its composite index
+ * from V3__student_workload_indexes.
+ * <p>
+ * Only H2's plan is checked (MODE=MySQL, the embedded test database). That catches a query that no
+ * longer matches an index's leading columns, but it says nothing about the plan MySQL's optimizer
+ * picks in production, which depends on its own cost model and table statistics. Checking that
+ * plan needs a MySQL instance (e.g. Testcontainers), which this build does not have.
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:embedded-database.properties")
+class StudentH2IndexPlanTests {
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final List<String> executed = new CopyOnWriteArrayList<>();
+    private final Thread testThread = Thread.currentThread();
+    private final QueryExecutionListener recorder = new QueryExecutionListener() {
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            // Scheduled jobs (e.g. the change log sequencer) share the data source
+            if (Thread.currentThread() == testThread) {
+                queryInfoList.forEach(query -> executed.add(query.getQuery()));
+            }
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+    };
+
+    @BeforeEach
+    void recordQueries() {
+        assertThat(dataSource).isInstanceOf(ProxyDataSource.class);
+        ((ProxyDataSource) dataSource).getProxyConfig().getQueryListener().addListener(recorder);
+    }
+
+    @AfterEach
+    void stopRecording() {
+        ((ProxyDataSource) dataSource).getProxyConfig().getQueryListener().getListeners().remove(recorder);
+    }
+
+    @Test
+    void activeRosterUsesDomainActiveIndex() {
+        assertThat(plan(() -> studentRepository.findByDomain_DomainIdAndIsActiveTrue(1L)))
+                .contains("idx_students_domain_active");
+    }
+
+    @Test
+    void activeCountUsesDomainActiveIndex() {
+        assertThat(plan(() -> studentRepository.countByDomain_DomainIdAndIsActiveTrue(1L)))
+                .contains("idx_students_domain_active");
+    }
+
+    @Test
+    void activeMarksProjectionUsesDomainActiveIndex() {
+        assertThat(plan(() -> studentRepository.findActiveMarksByDomainId(1L)))
+                .contains("idx_students_domain_active");
+    }
+
+    @Test
+    void rollNumberScanUsesJoinYearRollIndex() {
+        assertThat(plan(() -> studentRepository.findByRollNumberStartingWithAndJoinYear("BT2024", 2024)))
+                .contains("idx_students_join_year_roll");
+    }
+
+    @Test
+    void meritOrderIsReadFromDomainMarksIndexWithoutSorting() {
+        assertThat(plan(() -> studentRepository.findByDomainIdInMeritOrder(1L)))
+                .contains("idx_students_domain_marks")
+                .contains("index sorted");
+    }
+
+    private String plan(Runnable repositoryCall) {
+        executed.clear();
+        repositoryCall.run();
+        List<String> selects = executed.stream()
+                .filter(sql -> sql.stripLeading().toLowerCase().startsWith("select"))
+                .toList();
+        assertThat(selects).hasSize(1);
+
+        // H2 accepts EXPLAIN on the parameterized statement and prints the chosen index per table
+        String sql = selects.get(0);
+        int parameters = (int) sql.chars().filter(c -> c == '?').count();
+        String plan = new JdbcTemplate(dataSource)
+                .queryForObject("EXPLAIN " + sql, String.class, new Object[parameters]);
+        return plan.toLowerCase();
+    }
+}
@@ -0,0 +1,137 @@
+package com.academic.erp.backend.service;
+
+import com.academic.erp.backend.event.DataChangeEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChangeFeedServiceTests {
+
+    private static final long SEND_TIMEOUT_MS = 200;
+
+    // More stalled clients than the old fixed dispatcher pool had threads
+    private static final int STALLED_SUBSCRIBERS = 4;
+    private static final int MAX_SUBSCRIBERS = 8;
+    private static final int SEND_THREADS = 2 * STALLED_SUBSCRIBERS;
+
+    private final CountDownLatch unblock = new CountDownLatch(1);
+    private final List<RecordingEmitter> emitters = new ArrayList<>();
+    private final TestChangeFeedService service = new TestChangeFeedService();
+
+    @AfterEach
+    void release() {
+        unblock.countDown();
+        service.shutdown();
+    }
+
+    @Test
+    void stalledSubscribersDoNotDelayOthers() throws Exception {
+        for (int i = 0; i < STALLED_SUBSCRIBERS; i++) {
+            service.blocking = true;
+            service.subscribe();
+        }
+        service.blocking = false;
+        service.subscribe();
+        RecordingEmitter responsive = emitters.get(STALLED_SUBSCRIBERS);
+        assertNotNull(responsive.sent.poll(1, TimeUnit.SECONDS), "CONNECTED event");
+
+        service.onDataChange(DataChangeEvent.student(DataChangeEvent.ChangeType.CREATED, 1L, null, 1L));
+
+        assertNotNull(responsive.sent.poll(1, TimeUnit.SECONDS), "change event");
+    }
+
+    @Test
+    void subscriberBlockedPastTheSendTimeoutIsEvictedAndClosed() throws Exception {
+        service.blocking = true;
+        service.subscribe();
+        service.blocking = false;
+        service.subscribe();
+        RecordingEmitter stalled = emitters.get(0);
+        RecordingEmitter responsive = emitters.get(1);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (service.subscriberCount() > 1 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(1, service.subscriberCount());
+
+        // Evicted subscribers get nothing more; the rest keep receiving
+        service.onDataChange(DataChangeEvent.student(DataChangeEvent.ChangeType.CREATED, 1L, null, 1L));
+        responsive.sent.poll(1, TimeUnit.SECONDS);
+        assertNotNull(responsive.sent.poll(1, TimeUnit.SECONDS), "change event");
+
+        // Once the blocked write returns, the stream is closed so the client reconnects
+        unblock.countDown();
+        assertTrue(stalled.completed.await(5, TimeUnit.SECONDS));
+        assertEquals(1, stalled.sent.size(), "only the CONNECTED event that was in flight");
+    }
+
+    @Test
+    void subscriptionsBeyondTheLimitAreRefused() {
+        for (int i = 0; i < MAX_SUBSCRIBERS; i++) {
+            service.subscribe();
+        }
+
+        assertTrue(service.subscribe().isEmpty());
+        assertEquals(MAX_SUBSCRIBERS, service.subscriberCount());
+    }
+
+    private final class TestChangeFeedService extends ChangeFeedService {
+
+        private volatile boolean blocking;
+
+        private TestChangeFeedService() {
+            super(16, 60_000, SEND_TIMEOUT_MS, 3600, MAX_SUBSCRIBERS, SEND_THREADS);
+        }
+
+        @Override
+        SseEmitter createEmitter(long timeoutMs) {
+            RecordingEmitter emitter = new RecordingEmitter(timeoutMs, blocking);
+            emitters.add(emitter);
+            return emitter;
+        }
+    }
+
+    private final class RecordingEmitter extends SseEmitter {
+
+        private final boolean blocking;
+        private final BlockingQueue<SseEventBuilder> sent = new LinkedBlockingQueue<>();
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        private RecordingEmitter(long timeoutMs, boolean blocking) {
+            super(timeoutMs);
+            this.blocking = blocking;
+        }
+
+        @Override
+        public void send(SseEventBuilder event) throws IOException {
+            if (blocking) {
+                // A client that stopped reading: the write waits until the socket drains
+                try {
+                    unblock.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            sent.add(event);
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.academic.erp.backend.service;
+
+import com.academic.erp.backend.dto.ChangeLogEntryDto;
+import com.academic.erp.backend.dto.ChangeSetDto;
+import com.academic.erp.backend.entity.ChangeLogEntry;
+import com.academic.erp.backend.repository.ChangeLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Delta sync paging over the change log: version assignment to committed rows, retention and the
+ * resync signal for consumers that fell behind it.
+ */
+@SpringBootTest
+// Relies on the default retention (30 days)
+@TestPropertySource(locations = "classpath:embedded-database.properties")
+class ChangeLogServiceTests {
+
+    @Autowired
+    private ChangeLogServiceImpl changeLogService;
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<Long> versions = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        changeLogRepository.deleteAllInBatch();
+        jdbcTemplate.update("DELETE FROM scheduled_task_locks WHERE task_name = ?", ChangeLogServiceImpl.PURGE_TASK_NAME);
+        versions.clear();
+        List<Long> changeIds = new ArrayList<>();
+        for (long studentId = 1; studentId <= 5; studentId++) {
+            changeIds.add(changeLogRepository.save(entry(studentId)).getChangeId());
+        }
+        changeLogService.assignVersions();
+        changeIds.forEach(changeId -> versions.add(versionOf(changeId)));
+    }
+
+    @Test
+    void versionsFollowTheOrderOfTheChanges() {
+        for (int i = 1; i < versions.size(); i++) {
+            assertThat(versions.get(i)).isEqualTo(versions.get(i - 1) + 1);
+        }
+    }
+
+    @Test
+    void pagesFollowNextSince() {
+        long since = versions.get(0) - 1;
+
+        ChangeSetDto first = changeLogService.getChangesSince(since, 2);
+        assertThat(first.getChanges()).extracting(ChangeLogEntryDto::getVersion).containsExactly(versions.get(0), versions.get(1));
+        assertThat(first.getHasMore()).isTrue();
+        assertThat(first.getNextSince()).isEqualTo(versions.get(1));
+
+        ChangeSetDto second = changeLogService.getChangesSince(first.getNextSince(), 2);
+        ChangeSetDto last = changeLogService.getChangesSince(second.getNextSince(), 2);
+        assertThat(last.getChanges()).extracting(ChangeLogEntryDto::getVersion).containsExactly(versions.get(4));
+        assertThat(last.getHasMore()).isFalse();
+        assertThat(last.getResyncRequired()).isFalse();
+    }
+
+    @Test
+    void lateCommitIsNumberedAfterwardsInsteadOfSkipped() throws Exception {
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        try {
+            // A transaction that logged its change but takes a while to commit
+            Future<Long> lateChange = writer.submit(() -> transactionTemplate.execute(status -> {
+                Long changeId = changeLogRepository.saveAndFlush(entry(6L)).getChangeId();
+                written.countDown();
+                await(release);
+                return changeId;
+            }));
+            await(written);
+            Long committedMeanwhile = changeLogRepository.save(entry(7L)).getChangeId();
+            changeLogService.assignVersions();
+            assertThat(versionOf(committedMeanwhile)).isEqualTo(versions.get(4) + 1);
+
+            release.countDown();
+            Long changeId = lateChange.get(10, TimeUnit.SECONDS);
+            changeLogService.assignVersions();
+
+            // A consumer that already read up to the meanwhile commit still gets the late one
+            ChangeSetDto changes = changeLogService.getChangesSince(versions.get(4) + 1, 10);
+            assertThat(changes.getChanges()).extracting(ChangeLogEntryDto::getEntityId).containsExactly(6L);
+            assertThat(versionOf(changeId)).isEqualTo(versions.get(4) + 2);
+        } finally {
+            release.countDown();
+            writer.shutdownNow();
+        }
+    }
+
+    @Test
+    void rolledBackChangeLeavesNoHole() {
+        transactionTemplate.executeWithoutResult(status -> {
+            changeLogRepository.saveAndFlush(entry(6L));
+            status.setRollbackOnly();
+        });
+        Long changeId = changeLogRepository.save(entry(7L)).getChangeId();
+
+        changeLogService.assignVersions();
+
+        assertThat(versionOf(changeId)).isEqualTo(versions.get(4) + 1);
+    }
+
+    @Test
+    void purgeKeepsTheRetentionWindowAndTheNewestEntry() {
+        jdbcTemplate.update("UPDATE change_log SET changed_at = ? WHERE change_version <= ?",
+                LocalDateTime.now().minusDays(31), versions.get(1));
+        jdbcTemplate.update("UPDATE change_log SET changed_at = ? WHERE change_version = ?",
+                LocalDateTime.now().minusDays(40), versions.get(4));
+
+        changeLogService.purgeExpiredChanges();
+
+        assertThat(changeLogRepository.findAll()).extracting(ChangeLogEntry::getChangeVersion)
+                .containsExactlyInAnyOrder(versions.get(2), versions.get(3), versions.get(4));
+    }
+
+    @Test
+    void purgeIsSkippedWhileAnotherInstanceHoldsItsLease() {
+        jdbcTemplate.update("UPDATE change_log SET changed_at = ? WHERE change_version <= ?",
+                LocalDateTime.now().minusDays(31), versions.get(1));
+        jdbcTemplate.update("INSERT INTO scheduled_task_locks (task_name, locked_until, locked_at, locked_by) VALUES (?, ?, ?, ?)",
+                ChangeLogServiceImpl.PURGE_TASK_NAME, LocalDateTime.now().plusMinutes(5), LocalDateTime.now(), "4242@other-host");
+
+        changeLogService.purgeExpiredChanges();
+
+        assertThat(changeLogRepository.count()).isEqualTo(versions.size());
+    }
+
+    @Test
+    void consumerBehindThePurgedHistoryMustResync() {
+        jdbcTemplate.update("UPDATE change_log SET changed_at = ? WHERE change_version <= ?",
+                LocalDateTime.now().minusDays(31), versions.get(1));
+        changeLogService.purgeExpiredChanges();
+
+        ChangeSetDto behind = changeLogService.getChangesSince(versions.get(0), 10);
+        assertThat(behind.getResyncRequired()).isTrue();
+        assertThat(behind.getChanges()).isEmpty();
+        assertThat(behind.getNextSince()).isEqualTo(versions.get(4));
+
+        // Everything after the last purged version is still there
+        ChangeSetDto caughtUp = changeLogService.getChangesSince(versions.get(1), 10);
+        assertThat(caughtUp.getResyncRequired()).isFalse();
+        assertThat(caughtUp.getChanges()).extracting(ChangeLogEntryDto::getVersion)
+                .containsExactly(versions.get(2), versions.get(3), versions.get(4));
+    }
+
+    private Long versionOf(Long changeId) {
+        return changeLogRepository.findById(changeId).orElseThrow().getChangeVersion();
+    }
+
+    private static ChangeLogEntry entry(long studentId) {
+        return ChangeLogEntry.builder()
+                .entityType("STUDENT")
+                .entityId(studentId)
+                .changeType("CREATED")
+                .build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.academic.erp.backend.service;
+
+import com.academic.erp.backend.dto.TokenInfoResponse;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GoogleJwksIdTokenVerifierTests {
+
+    private static final String CLIENT_ID = "test-client.apps.googleusercontent.com";
+
+    private static RSAKey signingKey;
+    private static RSAKey otherKey;
+    private static GoogleJwksIdTokenVerifier verifier;
+
+    @BeforeAll
+    static void setUp() throws JOSEException {
+        signingKey = new RSAKeyGenerator(2048).keyID("test-key").generate();
+        otherKey = new RSAKeyGenerator(2048).keyID("test-key").generate();
+        verifier = new GoogleJwksIdTokenVerifier(CLIENT_ID,
+                new ImmutableJWKSet<>(new JWKSet(signingKey.toPublicJWK())), 60);
+    }
+
+    @Test
+    void acceptsValidToken() throws JOSEException {
+        long exp = System.currentTimeMillis() / 1000 + 600;
+        String token = sign(signingKey, claims("https://accounts.google.com", CLIENT_ID, exp));
+
+        TokenInfoResponse info = verifier.verify(token);
+
+        assertEquals("jane@university.edu", info.getEmail());
+        assertEquals("Jane Doe", info.getName());
+        assertEquals(CLIENT_ID, info.getAud());
+        assertEquals(exp, info.getExp());
+    }
+
+    @Test
+    void acceptsIssuerWithoutScheme() throws JOSEException {
+        String token = sign(signingKey, claims("accounts.google.com", CLIENT_ID, inMinutes(10)));
+        assertEquals("accounts.google.com", verifier.verify(token).getIss());
+    }
+
+    @Test
+    void rejectsTokenSignedByUnknownKey() throws JOSEException {
+        String token = sign(otherKey, claims("https://accounts.google.com", CLIENT_ID, inMinutes(10)));
+        assertThrows(RuntimeException.class, () -> verifier.verify(token));
+    }
+
+    @Test
+    void rejectsWrongAudience() throws JOSEException {
+        String token = sign(signingKey, claims("https://accounts.google.com", "someone-else", inMinutes(10)));
+        assertThrows(RuntimeException.class, () -> verifier.verify(token));
+    }
+
+    @Test
+    void rejectsWrongIssuer() throws JOSEException {
+        String token = sign(signingKey, claims("https://evil.example.com", CLIENT_ID, inMinutes(10)));
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> verifier.verify(token));
+        assertEquals("Invalid issuer in token", ex.getMessage());
+    }
+
+    @Test
+    void rejectsExpiredToken() throws JOSEException {
+        String token = sign(signingKey, claims("https://accounts.google.com", CLIENT_ID, inMinutes(-10)));
+        assertThrows(RuntimeException.class, () -> verifier.verify(token));
+    }
+
+    @Test
+    void rejectsTamperedPayload() throws JOSEException {
+        String token = sign(signingKey, claims("https://accounts.google.com", CLIENT_ID, inMinutes(10)));
+        String[] parts = token.split("\\.");
+        String forgedPayload = sign(signingKey, claims("https://accounts.google.com", CLIENT_ID, inMinutes(60))).split("\\.")[1];
+        String tampered = parts[0] + "." + forgedPayload + "." + parts[2];
+        assertThrows(RuntimeException.class, () -> verifier.verify(tampered));
+    }
+
+    private static JWTClaimsSet claims(String issuer, String audience, long exp) {
+        return new JWTClaimsSet.Builder()
+                .issuer(issuer)
+                .audience(audience)
+                .subject("1234567890")
+                .claim("email", "jane@university.edu")
+                .claim("name", "Jane Doe")
+                .issueTime(new Date())
+                .expirationTime(new Date(exp * 1000))
+                .build();
+    }
+
+    private static long inMinutes(int minutes) {
+        return System.currentTimeMillis() / 1000 + minutes * 60L;
+    }
+
+    private static String sign(RSAKey key, JWTClaimsSet claims) throws JOSEException {
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(), claims);
+        jwt.sign(new RSASSASigner(key));
+        return jwt.serialize();
+    }
+}
@@ -0,0 +1,176 @@
+package com.academic.erp.backend.service;
+
+import com.academic.erp.backend.dto.MarksStatisticsDto;
+import com.academic.erp.backend.dto.StudentResponseDto;
+import com.academic.erp.backend.event.DataChangeEvent;
+import com.academic.erp.backend.repository.DomainRepository;
+import com.academic.erp.backend.repository.StudentMarksView;
+import com.academic.erp.backend.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MarksStatisticsServiceTests {
+
+    private static final Long DOMAIN_ID = 1L;
+    private static final Long OTHER_DOMAIN_ID = 2L;
+    private static final Duration RESEED_INTERVAL = Duration.ofSeconds(30);
+    private static final LocalDateTime ADMITTED = LocalDateTime.of(2024, 7, 15, 10, 30);
+
+    private final StudentRepository studentRepository = mock(StudentRepository.class);
+    private final DomainRepository domainRepository = mock(DomainRepository.class);
+    private final AtomicLong nanoTime = new AtomicLong();
+    private final MarksStatisticsServiceImpl service =
+            new MarksStatisticsServiceImpl(studentRepository, domainRepository, RESEED_INTERVAL, nanoTime::get);
+
+    @BeforeEach
+    void seed() {
+        when(domainRepository.existsById(DOMAIN_ID)).thenReturn(true);
+        when(studentRepository.findActiveMarksByDomainId(DOMAIN_ID))
+                .thenReturn(List.of(marks(10L, 60.0), marks(11L, 80.0)));
+    }
+
+    @Test
+    void committedChangesAreAppliedWithoutReloadingTheRoster() {
+        assertEquals(2, service.getDomainStatistics(DOMAIN_ID).getAdmittedCount());
+
+        service.onDataChange(DataChangeEvent.student(
+                DataChangeEvent.ChangeType.CREATED, 12L, student(12L, DOMAIN_ID, 90.0, true), DOMAIN_ID));
+        // Moved away: leaves this domain's histogram
+        service.onDataChange(DataChangeEvent.student(
+                DataChangeEvent.ChangeType.UPDATED, 10L, student(10L, OTHER_DOMAIN_ID, 60.0, true), DOMAIN_ID, OTHER_DOMAIN_ID));
+        // Re-ranked out of the active roster
+        service.onDataChange(DataChangeEvent.student(
+                DataChangeEvent.ChangeType.DEACTIVATED, 11L, student(11L, DOMAIN_ID, 80.0, false), DOMAIN_ID));
+
+        MarksStatisticsDto statistics = service.getDomainStatistics(DOMAIN_ID);
+        assertEquals(1, statistics.getAdmittedCount());
+        assertEquals(90.0, statistics.getMax());
+        assertEquals(90.0, statistics.getLastAdmittedMarks());
+        verify(studentRepository, times(1)).findActiveMarksByDomainId(DOMAIN_ID);
+    }
+
+    @Test
+    void seedIsDiscardedWhenAChangeLandsWhileItLoads() {
+        when(studentRepository.findActiveMarksByDomainId(DOMAIN_ID)).thenAnswer(invocation -> {
+            // Committed after the rows were read, before the seed is installed
+            service.onDataChange(DataChangeEvent.student(
+                    DataChangeEvent.ChangeType.CREATED, 12L, student(12L, DOMAIN_ID, 90.0, true), DOMAIN_ID));
+            return List.of(marks(10L, 60.0), marks(11L, 80.0));
+        }).thenReturn(List.of(marks(10L, 60.0), marks(11L, 80.0), marks(12L, 90.0)));
+
+        service.getDomainStatistics(DOMAIN_ID);
+
+        assertEquals(3, service.getDomainStatistics(DOMAIN_ID).getAdmittedCount());
+        verify(studentRepository, times(2)).findActiveMarksByDomainId(DOMAIN_ID);
+    }
+
+    @Test
+    void seedIsDiscardedWhenAChangeLandsBeforeTheFirstQuery() {
+        when(domainRepository.existsById(DOMAIN_ID)).thenAnswer(invocation -> {
+            // The first query opens the snapshot, which may predate this change
+            service.onDataChange(DataChangeEvent.student(
+                    DataChangeEvent.ChangeType.DELETED, 11L, null, DOMAIN_ID));
+            return true;
+        }).thenReturn(true);
+
+        service.getDomainStatistics(DOMAIN_ID);
+        service.getDomainStatistics(DOMAIN_ID);
+
+        verify(studentRepository, times(2)).findActiveMarksByDomainId(DOMAIN_ID);
+    }
+
+    @Test
+    void deletedDomainIsSeededAgain() {
+        service.getDomainStatistics(DOMAIN_ID);
+
+        service.onDataChange(DataChangeEvent.domain(DataChangeEvent.ChangeType.DELETED, DOMAIN_ID, null));
+        service.getDomainStatistics(DOMAIN_ID);
+
+        verify(studentRepository, times(2)).findActiveMarksByDomainId(DOMAIN_ID);
+    }
+
+    @Test
+    void lastAdmittedIsTheLatestAdmissionNotTheHighestId() {
+        // IDs come from per-instance blocks: the later admission got the lower ID
+        when(studentRepository.findActiveMarksByDomainId(DOMAIN_ID))
+                .thenReturn(List.of(marks(60L, 70.0, ADMITTED), marks(12L, 85.0, ADMITTED.plusMinutes(5))));
+
+        assertEquals(85.0, service.getDomainStatistics(DOMAIN_ID).getLastAdmittedMarks());
+
+        service.onDataChange(DataChangeEvent.student(DataChangeEvent.ChangeType.CREATED, 13L,
+                student(13L, DOMAIN_ID, 55.0, true, ADMITTED.plusMinutes(10)), DOMAIN_ID));
+
+        assertEquals(55.0, service.getDomainStatistics(DOMAIN_ID).getLastAdmittedMarks());
+    }
+
+    @Test
+    void stateIsSeededAgainAfterTheReseedInterval() {
+        service.getDomainStatistics(DOMAIN_ID);
+        nanoTime.addAndGet(RESEED_INTERVAL.toNanos());
+        service.getDomainStatistics(DOMAIN_ID);
+        verify(studentRepository, times(1)).findActiveMarksByDomainId(DOMAIN_ID);
+
+        // Another instance admitted a student; no event reaches this one
+        when(studentRepository.findActiveMarksByDomainId(DOMAIN_ID))
+                .thenReturn(List.of(marks(10L, 60.0), marks(11L, 80.0), marks(70L, 95.0)));
+        nanoTime.incrementAndGet();
+
+        assertEquals(3, service.getDomainStatistics(DOMAIN_ID).getAdmittedCount());
+        verify(studentRepository, times(2)).findActiveMarksByDomainId(DOMAIN_ID);
+    }
+
+    private static StudentMarksView marks(Long studentId, Double examMarks) {
+        // Admitted in ID order unless a test says otherwise
+        return marks(studentId, examMarks, ADMITTED.plusSeconds(studentId));
+    }
+
+    private static StudentMarksView marks(Long studentId, Double examMarks, LocalDateTime createdAt) {
+        return new StudentMarksView() {
+            @Override
+            public Long getDomainId() {
+                return DOMAIN_ID;
+            }
+
+            @Override
+            public Long getStudentId() {
+                return studentId;
+            }
+
+            @Override
+            public Double getExamMarks() {
+                return examMarks;
+            }
+
+            @Override
+            public LocalDateTime getCreatedAt() {
+                return createdAt;
+            }
+        };
+    }
+
+    private static StudentResponseDto student(Long studentId, Long domainId, Double examMarks, boolean active) {
+        return student(studentId, domainId, examMarks, active, ADMITTED.plusSeconds(studentId));
+    }
+
+    private static StudentResponseDto student(Long studentId, Long domainId, Double examMarks, boolean active,
+                                              LocalDateTime createdAt) {
+        return StudentResponseDto.builder()
+                .studentId(studentId)
+                .domainId(domainId)
+                .examMarks(examMarks)
+                .active(active)
+                .createdAt(createdAt)
+                .build();
+    }
+}
@@ -0,0 +1,73 @@
+package com.academic.erp.backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@TestPropertySource(locations = "classpath:embedded-database.properties",
+        properties = "app.scheduled-locks.lock-at-least-for=1h")
+class ScheduledTaskLockTests {
+
+    private static final String TASK = "test-task";
+    private static final Duration AT_MOST = Duration.ofMinutes(5);
+
+    @Autowired
+    private ScheduledTaskLock scheduledTaskLock;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final AtomicInteger runs = new AtomicInteger();
+
+    @BeforeEach
+    void clearLocks() {
+        jdbcTemplate.update("DELETE FROM scheduled_task_locks");
+    }
+
+    @Test
+    void taskIsSkippedWhileAnotherInstanceHoldsTheLease() {
+        leaseHeldByAnotherInstanceUntil(LocalDateTime.now().plusMinutes(5));
+
+        assertThat(scheduledTaskLock.runExclusively(TASK, AT_MOST, runs::incrementAndGet)).isFalse();
+        assertThat(runs).hasValue(0);
+    }
+
+    @Test
+    void expiredLeaseIsTakenOver() {
+        // The holder crashed; its lease ran out
+        leaseHeldByAnotherInstanceUntil(LocalDateTime.now().minusSeconds(1));
+
+        assertThat(scheduledTaskLock.callExclusively(TASK, AT_MOST, runs::incrementAndGet)).contains(1);
+    }
+
+    @Test
+    void leaseOutlivesAQuickRun() {
+        assertThat(scheduledTaskLock.runExclusively(TASK, AT_MOST, runs::incrementAndGet)).isTrue();
+
+        // Same cron on a replica a few seconds later
+        assertThat(scheduledTaskLock.runExclusively(TASK, AT_MOST, runs::incrementAndGet)).isFalse();
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void otherTasksAreIndependent() {
+        leaseHeldByAnotherInstanceUntil(LocalDateTime.now().plusMinutes(5));
+
+        assertThat(scheduledTaskLock.runExclusively("other-task", AT_MOST, runs::incrementAndGet)).isTrue();
+    }
+
+    private void leaseHeldByAnotherInstanceUntil(LocalDateTime lockedUntil) {
+        jdbcTemplate.update("INSERT INTO scheduled_task_locks (task_name, locked_until, locked_at, locked_by) VALUES (?, ?, ?, ?)",
+                TASK, lockedUntil, LocalDateTime.now().minusMinutes(10), "4242@other-host");
+    }
+}
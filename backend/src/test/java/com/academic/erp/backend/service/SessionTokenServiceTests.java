@@ -0,0 +1,80 @@
+package com.academic.erp.backend.service;
+
+import com.academic.erp.backend.dto.TokenInfoResponse;
+import com.academic.erp.backend.security.AuthenticatedUser;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SessionTokenServiceTests {
+
+    private static final String SECRET = "q7Vw2LxN9cRt4YbZ8mKp3HsJ6dFg1TeU5aWo0iQz/+c=";
+    private static final String OTHER_SECRET = "Xr4Tn8Wq2Mv6Kc1Zb9Hy3Jp7Ls5Df0Ga-Ue!Io/k=";
+
+    private final SessionTokenService sessionTokenService = new SessionTokenService(SECRET, 60_000);
+
+    @Test
+    void issuedTokenRoundTrips() {
+        AuthenticatedUser session = sessionTokenService.verify(sessionTokenService.issue(user("admin@university.edu")));
+
+        assertEquals("admin@university.edu", session.email());
+        assertEquals("Test User", session.name());
+        assertEquals(List.of("ROLE_USER", "ROLE_ADMIN"), session.roles());
+    }
+
+    @Test
+    void rejectsTokenSignedWithAnotherSecret() {
+        String token = new SessionTokenService(OTHER_SECRET, 60_000).issue(user("jane@example.com"));
+        assertThrows(RuntimeException.class, () -> sessionTokenService.verify(token));
+    }
+
+    @Test
+    void rejectsExpiredToken() {
+        String token = new SessionTokenService(SECRET, -1_000).issue(user("jane@example.com"));
+        assertThrows(RuntimeException.class, () -> sessionTokenService.verify(token));
+    }
+
+    @Test
+    void rejectsTamperedClaims() {
+        String[] parts = sessionTokenService.issue(user("jane@example.com")).split("\\.");
+        String forgedClaims = sessionTokenService.issue(user("admin@university.edu")).split("\\.")[1];
+        assertThrows(RuntimeException.class, () -> sessionTokenService.verify(parts[0] + "." + forgedClaims + ".x" + parts[2]));
+        assertThrows(RuntimeException.class, () -> sessionTokenService.verify(parts[0] + "." + forgedClaims + "." + parts[2]));
+    }
+
+    @Test
+    void refreshTokenIsEncryptedAndRoundTrips() {
+        String cookie = sessionTokenService.encryptRefreshToken("1//refresh-token-value");
+
+        assertFalse(cookie.contains("refresh-token-value"));
+        assertEquals("1//refresh-token-value", sessionTokenService.decryptRefreshToken(cookie));
+        assertThrows(RuntimeException.class,
+                () -> new SessionTokenService(OTHER_SECRET, 60_000).decryptRefreshToken(cookie));
+    }
+
+    private static TokenInfoResponse user(String email) {
+        TokenInfoResponse info = new TokenInfoResponse();
+        info.setEmail(email);
+        info.setName("Test User");
+        return info;
+    }
+
+    @Test
+    void refusesMissingPlaceholderShortAndRepetitiveSecrets() {
+        for (String secret : new String[] {null, "", "   ", SessionTokenService.PLACEHOLDER_SECRET, "test-secret",
+                "k3Jd9QxP2mZr7Vt", "a".repeat(64), "Abc1".repeat(16)}) {
+            assertThrows(IllegalStateException.class, () -> new SessionTokenService(secret, 60_000), String.valueOf(secret));
+        }
+    }
+
+    @Test
+    void acceptsGeneratedSecrets() {
+        // openssl rand -base64 32 and openssl rand -hex 32
+        new SessionTokenService("3d0xJf8Gk2YwQm5Vn1Rt7Zb4Hc9Lp6Ts0Ae2Wu8Io5M=", 60_000);
+        new SessionTokenService("9f2c4e71b8a03d56e1f7c29b4a8d06e3f5b1c7a92d4e8f03a6b5c1d7e9f20a4b", 60_000);
+    }
+}
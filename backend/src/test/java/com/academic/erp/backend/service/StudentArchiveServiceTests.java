@@ -0,0 +1,182 @@
+package com.academic.erp.backend.service;
+
+import com.academic.erp.backend.dto.StudentAdmissionRequestDto;
+import com.academic.erp.backend.dto.StudentResponseDto;
+import com.academic.erp.backend.entity.ChangeLogEntry;
+import com.academic.erp.backend.entity.Domain;
+import com.academic.erp.backend.entity.Student;
+import com.academic.erp.backend.entity.StudentEmail;
+import com.academic.erp.backend.exception.ResourceNotFoundException;
+import com.academic.erp.backend.repository.ArchivedStudentRepository;
+import com.academic.erp.backend.repository.ChangeLogRepository;
+import com.academic.erp.backend.repository.DomainRepository;
+import com.academic.erp.backend.repository.StudentEmailRepository;
+import com.academic.erp.backend.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Year;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@TestPropertySource(locations = "classpath:embedded-database.properties",
+        properties = "app.student-archive.retain-years=4")
+class StudentArchiveServiceTests {
+
+    private static final int CURRENT_YEAR = Year.now().getValue();
+    private static final int GRADUATED_YEAR = CURRENT_YEAR - 4;
+    private static final int LAST_RETAINED_YEAR = CURRENT_YEAR - 3;
+
+    @Autowired
+    private StudentArchiveService studentArchiveService;
+
+    @Autowired
+    private AdmissionService admissionService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private ArchivedStudentRepository archivedStudentRepository;
+
+    @Autowired
+    private DomainRepository domainRepository;
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    @Autowired
+    private StudentEmailRepository studentEmailRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Domain domain;
+
+    @BeforeEach
+    void seed() {
+        changeLogRepository.deleteAllInBatch();
+        archivedStudentRepository.deleteAllInBatch();
+        studentEmailRepository.deleteAllInBatch();
+        studentRepository.deleteAllInBatch();
+        domainRepository.deleteAllInBatch();
+
+        domain = domainRepository.save(Domain.builder()
+                .program("Bachelor of Technology in CSE")
+                .batch(String.valueOf(GRADUATED_YEAR))
+                .capacity(60)
+                .examName("JEE Main")
+                .cutoffMarks(50.0)
+                .build());
+        save(student("BT" + GRADUATED_YEAR + "001", GRADUATED_YEAR, "old.one@example.com"));
+        save(student("BT" + GRADUATED_YEAR + "002", GRADUATED_YEAR, "old.two@example.com"));
+        save(student("BT" + (GRADUATED_YEAR - 1) + "001", GRADUATED_YEAR - 1, "older@example.com"));
+        save(student("BT" + LAST_RETAINED_YEAR + "001", LAST_RETAINED_YEAR, "current@example.com"));
+        changeLogRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void movesIntakesBeforeTheRetentionWindowToTheArchive() {
+        assertThat(studentArchiveService.archiveGraduatedBatches()).isEqualTo(3);
+
+        assertThat(studentRepository.findAll()).extracting(Student::getJoinYear).containsExactly(LAST_RETAINED_YEAR);
+        assertThat(archivedStudentRepository.count()).isEqualTo(3);
+        // Live clients learn about it like any other removal
+        assertThat(changeLogRepository.findAll())
+                .hasSize(3)
+                .extracting(ChangeLogEntry::getChangeType)
+                .containsOnly("DELETED");
+
+        assertThat(studentArchiveService.archiveGraduatedBatches()).isZero();
+    }
+
+    @Test
+    void intakeWithStudentsOfAMissingDomainIsLeftInPlace() {
+        Domain removed = domainRepository.save(Domain.builder()
+                .program("Bachelor of Design")
+                .batch(String.valueOf(GRADUATED_YEAR))
+                .capacity(30)
+                .build());
+        Student orphan = student("BT" + GRADUATED_YEAR + "003", GRADUATED_YEAR, "orphan@example.com");
+        orphan.setDomain(removed);
+        save(orphan);
+        // Nothing stops this since V4 dropped the foreign key
+        jdbcTemplate.update("DELETE FROM domains WHERE domain_id = ?", removed.getDomainId());
+
+        // Only the older intake moves
+        assertThat(studentArchiveService.archiveGraduatedBatches()).isEqualTo(1);
+
+        // The intake's transaction rolled back: no student was deleted without an archived copy
+        assertThat(studentRepository.findAll()).filteredOn(student -> student.getJoinYear() == GRADUATED_YEAR).hasSize(3);
+        assertThat(archivedStudentRepository.findAll()).noneMatch(student -> student.getJoinYear() == GRADUATED_YEAR);
+    }
+
+    @Test
+    void archivedEmailsCanBeUsedAgain() {
+        studentArchiveService.archiveGraduatedBatches();
+
+        assertThat(studentEmailRepository.findAll()).extracting(StudentEmail::getEmail).containsExactly("current@example.com");
+        assertThat(admissionService.admitStudent(StudentAdmissionRequestDto.builder()
+                .firstName("Returning")
+                .lastName("Student")
+                .email("old.one@example.com")
+                .domainId(domain.getDomainId())
+                .joinYear(LAST_RETAINED_YEAR)
+                .examMarks(75.0)
+                .build()).getEmail()).isEqualTo("old.one@example.com");
+    }
+
+    @Test
+    void archivedStudentsAreFoundByRollNumber() {
+        studentArchiveService.archiveGraduatedBatches();
+
+        StudentResponseDto archived = studentArchiveService.getArchivedStudent("BT" + GRADUATED_YEAR + "002");
+        assertThat(archived.getEmail()).isEqualTo("old.two@example.com");
+        assertThat(archived.getDomainId()).isEqualTo(domain.getDomainId());
+        assertThat(archived.getDomainProgram()).isEqualTo("Bachelor of Technology in CSE");
+        assertThat(archived.getJoinYear()).isEqualTo(GRADUATED_YEAR);
+
+        assertThatThrownBy(() -> studentArchiveService.getArchivedStudent("BT" + LAST_RETAINED_YEAR + "001"))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void admissionIntoAnArchivedIntakeDoesNotReuseArchivedRollNumbers() {
+        studentArchiveService.archiveGraduatedBatches();
+
+        StudentResponseDto admitted = admissionService.admitStudent(StudentAdmissionRequestDto.builder()
+                .firstName("Late")
+                .lastName("Entry")
+                .email("late.entry@example.com")
+                .domainId(domain.getDomainId())
+                .joinYear(GRADUATED_YEAR)
+                .examMarks(75.0)
+                .build());
+
+        assertThat(admitted.getRollNumber()).isEqualTo("BT" + GRADUATED_YEAR + "003");
+    }
+
+    private void save(Student student) {
+        studentRepository.save(student);
+        studentEmailRepository.save(new StudentEmail(student.getEmail(), student.getStudentId()));
+    }
+
+    private Student student(String rollNumber, int joinYear, String email) {
+        return Student.builder()
+                .rollNumber(rollNumber)
+                .firstName("First")
+                .lastName(rollNumber)
+                .email(email)
+                .domain(domain)
+                .joinYear(joinYear)
+                .examMarks(70.0)
+                .build();
+    }
+}
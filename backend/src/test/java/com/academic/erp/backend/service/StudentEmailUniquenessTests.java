@@ -0,0 +1,210 @@
+package com.academic.erp.backend.service;
+
+import com.academic.erp.backend.dto.StudentAdmissionRequestDto;
+import com.academic.erp.backend.dto.StudentResponseDto;
+import com.academic.erp.backend.dto.StudentUpdateRequestDto;
+import com.academic.erp.backend.entity.Domain;
+import com.academic.erp.backend.exception.BusinessException;
+import com.academic.erp.backend.exception.ErrorCode;
+import com.academic.erp.backend.repository.ChangeLogRepository;
+import com.academic.erp.backend.repository.DomainRepository;
+import com.academic.erp.backend.repository.StudentEmailRepository;
+import com.academic.erp.backend.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Email is no longer a unique key once students is partitioned by join year; the student_emails
+ * table must reject duplicates across intake years, also when the writes race. Without a foreign
+ * key from students to domains, a domain delete racing an admission must not leave orphans either.
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:embedded-database.properties")
+class StudentEmailUniquenessTests {
+
+    private static final int CALLERS = 6;
+    private static final int ROUNDS = 20;
+
+    @Autowired
+    private AdmissionService admissionService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private DomainService domainService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private DomainRepository domainRepository;
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    @Autowired
+    private StudentEmailRepository studentEmailRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Domain domain;
+
+    @BeforeEach
+    void seed() {
+        changeLogRepository.deleteAllInBatch();
+        studentEmailRepository.deleteAllInBatch();
+        studentRepository.deleteAllInBatch();
+        domainRepository.deleteAllInBatch();
+        domain = saveDomain();
+    }
+
+    @Test
+    void admissionRejectsAnEmailUsedInAnotherIntakeYear() {
+        admit("taken@example.com", 2023);
+
+        assertThatThrownBy(() -> admit("taken@example.com", 2024))
+                .isInstanceOfSatisfying(BusinessException.class,
+                        e -> assertThat(e.getErrorCode()).isEqualTo(ErrorCode.DUPLICATE_EMAIL));
+        assertThat(studentRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void updateRejectsAnotherStudentsEmailButKeepsItsOwn() {
+        admit("first@example.com", 2024);
+        StudentResponseDto second = admit("second@example.com", 2024);
+
+        assertThatThrownBy(() -> studentService.updateStudent(second.getStudentId(), update(second, "first@example.com")))
+                .isInstanceOfSatisfying(BusinessException.class,
+                        e -> assertThat(e.getErrorCode()).isEqualTo(ErrorCode.DUPLICATE_EMAIL));
+
+        assertThat(studentService.updateStudent(second.getStudentId(), update(second, "second@example.com")).getEmail())
+                .isEqualTo("second@example.com");
+    }
+
+    @Test
+    void concurrentAdmissionsWithTheSameEmailAdmitExactlyOne() throws Exception {
+        int currentYear = Year.now().getValue();
+        // Different intake years, so only the email can collide
+        List<Future<StudentResponseDto>> results = runConcurrently(CALLERS,
+                i -> admit(domain, "raced@example.com", currentYear - i));
+
+        int admitted = 0;
+        for (Future<StudentResponseDto> result : results) {
+            try {
+                result.get(10, TimeUnit.SECONDS);
+                admitted++;
+            } catch (ExecutionException e) {
+                assertThat(e.getCause()).isInstanceOfSatisfying(BusinessException.class,
+                        b -> assertThat(b.getErrorCode()).isEqualTo(ErrorCode.DUPLICATE_EMAIL));
+            }
+        }
+        assertThat(admitted).isEqualTo(1);
+        assertThat(studentRepository.count()).isEqualTo(1);
+        assertThat(studentEmailRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void domainDeleteRacingAnAdmissionLeavesNoOrphans() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            Domain target = saveDomain();
+            String email = "round" + round + "@example.com";
+            List<Future<Object>> results = runConcurrently(2, i -> {
+                if (i == 0) {
+                    return admit(target, email, 2024);
+                }
+                domainService.deleteDomain(target.getDomainId());
+                return null;
+            });
+            for (Future<Object> result : results) {
+                try {
+                    result.get(10, TimeUnit.SECONDS);
+                } catch (ExecutionException e) {
+                    // The admission lost the race and found no domain
+                    assertThat(e.getCause()).isInstanceOfSatisfying(BusinessException.class,
+                            b -> assertThat(b.getErrorCode()).isEqualTo(ErrorCode.INVALID_DOMAIN));
+                }
+            }
+        }
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM students s WHERE NOT EXISTS (SELECT 1 FROM domains d WHERE d.domain_id = s.domain_id)",
+                Long.class)).isZero();
+        assertThat(studentEmailRepository.count()).isZero();
+    }
+
+    private <T> List<Future<T>> runConcurrently(int callers, IntFunction<T> call) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<T>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < callers; i++) {
+                int caller = i;
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return call.apply(caller);
+                }));
+            }
+            start.countDown();
+            return results;
+        } finally {
+            pool.shutdown();
+            assertThat(pool.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+
+    private Domain saveDomain() {
+        return domainRepository.save(Domain.builder()
+                .program("Bachelor of Technology in ECE")
+                .batch("2024")
+                .capacity(60)
+                .examName("JEE Main")
+                .cutoffMarks(50.0)
+                .build());
+    }
+
+    private StudentResponseDto admit(String email, int joinYear) {
+        return admit(domain, email, joinYear);
+    }
+
+    private StudentResponseDto admit(Domain target, String email, int joinYear) {
+        return admissionService.admitStudent(StudentAdmissionRequestDto.builder()
+                .firstName("Test")
+                .lastName("Student")
+                .email(email)
+                .domainId(target.getDomainId())
+                .joinYear(joinYear)
+                .examMarks(80.0)
+                .build());
+    }
+
+    private StudentUpdateRequestDto update(StudentResponseDto student, String email) {
+        return StudentUpdateRequestDto.builder()
+                .studentId(student.getStudentId())
+                .firstName(student.getFirstName())
+                .lastName(student.getLastName())
+                .email(email)
+                .domainId(student.getDomainId())
+                .joinYear(student.getJoinYear())
+                .examMarks(student.getExamMarks())
+                .build();
+    }
+}
@@ -0,0 +1,19 @@
+package com.academic.erp.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StudentPartitionMaintenanceTests {
+
+    @Test
+    void splitsTheNewYearsOffTheCatchAllPartition() {
+        assertThat(StudentPartitionMaintenance.reorganizeStatement(List.of(2031, 2032))).isEqualTo(
+                "ALTER TABLE students REORGANIZE PARTITION p_future INTO (" +
+                "PARTITION p2031 VALUES LESS THAN (2032), " +
+                "PARTITION p2032 VALUES LESS THAN (2033), " +
+                "PARTITION p_future VALUES LESS THAN MAXVALUE)");
+    }
+}
@@ -0,0 +1,124 @@
+#!/bin/bash
+
+# Startup benchmark: time to first request, i.e. the wall time from launching the process until
+# GET BENCH_PATH answers 200, and the resident memory (RSS) right after that first request.
+# Modes: the regular Boot jar, the fast-startup build (AOT + lazy, with and without the AppCDS
+# archive) and the native executable; modes whose build is missing are skipped.
+# Usage: ./startup-benchmark.sh [runs] [args]
+#   runs  measured runs per mode (default 5); one extra warm-up run per mode is not counted
+#   args  passed to Spring Boot in every run (e.g. --spring.datasource.url=...)
+# Needs the database the application is configured for, plus any of:
+#   mvn package -DskipTests                              (target/backend-*.jar)
+#   ./fast-startup.sh build && ./fast-startup.sh train   (target/fast-startup)
+#   mvn -Pnative package -DskipTests                     (target/backend, needs GraalVM)
+# Environment: BENCH_PORT (default 18080), BENCH_PATH (default /api/health), JAVA_OPTS.
+# Logs of every run are kept in target/startup-benchmark.
+
+cd "$(dirname "$0")"
+
+RUNS=${1:-5}
+shift
+PORT=${BENCH_PORT:-18080}
+URL="http://localhost:$PORT${BENCH_PATH:-/api/health}"
+LOGS=target/startup-benchmark
+TIMEOUT_MS=120000
+
+# The backend refuses to start without a session secret; a throwaway one is enough here
+export APP_JWT_SECRET=${APP_JWT_SECRET:-$(openssl rand -base64 32)}
+
+BOOT_JAR=$(ls target/backend-*.jar 2>/dev/null | grep -v -- '-fast-startup' | head -1)
+FAST_JAR=$(ls target/fast-startup/*-fast-startup.jar 2>/dev/null | head -1)
+ARCHIVE=target/fast-startup/application.jsa
+NATIVE=target/backend
+
+if ! command -v curl &> /dev/null; then
+    echo "❌ curl is not installed or not in PATH" >&2
+    exit 1
+fi
+mkdir -p $LOGS
+
+now_ms() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+# Starts one process, waits for the first 200 and prints "<elapsed ms> <rss KB>" (-1 on failure)
+measure() {
+    local log=$1
+    shift
+    local start
+    start=$(now_ms)
+    "$@" --server.port=$PORT > "$log" 2>&1 &
+    local pid=$!
+    local elapsed=-1
+    local rss=-1
+    while kill -0 $pid 2> /dev/null; do
+        if [ "$(curl -s -o /dev/null -w '%{http_code}' --max-time 1 "$URL")" = "200" ]; then
+            elapsed=$(( $(now_ms) - start ))
+            rss=$(awk '/^VmRSS:/ { print $2 }' /proc/$pid/status)
+            break
+        fi
+        if [ $(( $(now_ms) - start )) -gt $TIMEOUT_MS ]; then
+            break
+        fi
+        sleep 0.02
+    done
+    kill $pid 2> /dev/null
+    wait $pid 2> /dev/null
+    echo "$elapsed $rss"
+}
+
+median() {
+    local sorted
+    sorted=($(printf '%s\n' "$@" | sort -n))
+    echo "${sorted[$(( $# / 2 ))]}"
+}
+
+benchmark() {
+    local mode=$1
+    shift
+    local times=()
+    local rss=()
+    measure "$LOGS/$mode-warmup.log" "$@" > /dev/null
+    for run in $(seq 1 $RUNS); do
+        local result
+        result=($(measure "$LOGS/$mode-$run.log" "$@"))
+        if [ "${result[0]}" -lt 0 ]; then
+            echo "❌ $mode run $run did not answer $URL; see $LOGS/$mode-$run.log" >&2
+            exit 1
+        fi
+        times+=("${result[0]}")
+        rss+=("${result[1]}")
+    done
+    printf "%-14s median %6d ms   min %6d ms   median RSS %5d MB   runs (ms): %s\n" \
+        "$mode" "$(median "${times[@]}")" "$(printf '%s\n' "${times[@]}" | sort -n | head -1)" \
+        $(( $(median "${rss[@]}") / 1024 )) "${times[*]}"
+}
+
+skip() {
+    printf "%-14s skipped: %s\n" "$1" "$2"
+}
+
+echo "Time to first request ($URL), $RUNS runs per mode"
+if [ -n "$BOOT_JAR" ]; then
+    benchmark boot-jar java $JAVA_OPTS -jar "$BOOT_JAR" "$@"
+else
+    skip boot-jar "run mvn package -DskipTests"
+fi
+if [ -n "$FAST_JAR" ]; then
+    benchmark aot-lazy java -Dspring.aot.enabled=true -Dspring.main.lazy-initialization=true \
+        $JAVA_OPTS -jar "$FAST_JAR" "$@"
+    if [ -f "$ARCHIVE" ]; then
+        benchmark aot-lazy-cds java -XX:SharedArchiveFile=$ARCHIVE \
+            -Dspring.aot.enabled=true -Dspring.main.lazy-initialization=true \
+            $JAVA_OPTS -jar "$FAST_JAR" "$@"
+    else
+        skip aot-lazy-cds "run ./fast-startup.sh train"
+    fi
+else
+    skip aot-lazy "run ./fast-startup.sh build"
+fi
+if [ -x "$NATIVE" ]; then
+    benchmark native "$NATIVE" "$@"
+else
+    skip native "run mvn -Pnative package -DskipTests (needs GraalVM)"
+fi
@@ -1,59 +1,36 @@
 -- =====================================================
--- Database Schema Creation Script for Academic ERP
+-- Database Reset Script for Academic ERP
 -- =====================================================
--- This script creates only the essential tables:
--- - domains: Academic programs/domains
--- - students: Student records
--- Execute this script first before inserting data
+-- The tables themselves are created by the versioned migrations in
+-- backend/src/main/resources/db/migration/mysql, which the backend applies on startup.
+-- This script only (re)creates an empty database: run it, then start the backend.
 -- =====================================================
 
 -- Create database if it doesn't exist
 CREATE DATABASE IF NOT EXISTS erp_admission;
 USE erp_admission;
 
--- =====================================================
--- 1. DOMAINS TABLE
--- =====================================================
+-- Drop everything the migrations create, including their history table
+DROP TABLE IF EXISTS flyway_schema_history;
+DROP TABLE IF EXISTS id_generators;
+DROP TABLE IF EXISTS change_log;
+DROP TABLE IF EXISTS change_log_sequence;
+DROP TABLE IF EXISTS scheduled_task_locks;
+DROP TABLE IF EXISTS student_emails;
+DROP TABLE IF EXISTS students_archive;
 DROP TABLE IF EXISTS students;
 DROP TABLE IF EXISTS domains;
 
-CREATE TABLE domains (
-    domain_id BIGINT AUTO_INCREMENT PRIMARY KEY,
-    program VARCHAR(120) NOT NULL,
-    batch VARCHAR(50),
-    capacity INT CHECK (capacity >= 0 AND capacity <= 150),
-    exam_name VARCHAR(120),
-    cutoff_marks DECIMAL(5,2) CHECK (cutoff_marks >= 0 AND cutoff_marks <= 100),
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    INDEX idx_domain_program (program),
-    INDEX idx_domain_batch (batch)
-) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
-
--- =====================================================
--- 2. STUDENTS TABLE
--- =====================================================
-CREATE TABLE students (
-    student_id BIGINT AUTO_INCREMENT PRIMARY KEY,
-    roll_number VARCHAR(50) UNIQUE,
-    first_name VARCHAR(120) NOT NULL,
-    last_name VARCHAR(120) NOT NULL,
-    email VARCHAR(255) NOT NULL UNIQUE,
-    domain_id BIGINT NOT NULL,
-    join_year INT NOT NULL,
-    exam_marks DECIMAL(5,2) NOT NULL CHECK (exam_marks >= 0 AND exam_marks <= 100),
-    is_active BOOLEAN NOT NULL DEFAULT TRUE,
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    FOREIGN KEY (domain_id) REFERENCES domains(domain_id) ON DELETE CASCADE,
-    INDEX idx_student_roll (roll_number),
-    INDEX idx_student_email (email),
-    INDEX idx_student_domain (domain_id),
-    INDEX idx_student_join_year (join_year)
-) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
-
 -- =====================================================
--- Schema Creation Complete
+-- Reset Complete
 -- =====================================================
--- Tables created:
+-- Tables created by the migrations on the next backend start:
 -- - domains: Academic programs with exam requirements
--- - students: Student records linked to domains
+-- - students: Student records linked to domains, partitioned by join year
+-- - student_emails: One row per student email, enforcing its uniqueness
+-- - students_archive: Compressed records of graduated batches, looked up by roll number
+-- - change_log: Versioned record of domain/student changes
+-- - change_log_sequence: Last version handed out to committed change log rows
+-- - id_generators: Pooled ID allocation for domains, students and change log rows
+-- - scheduled_task_locks: Leases that keep single-instance jobs (archival) to one replica
 -- =====================================================
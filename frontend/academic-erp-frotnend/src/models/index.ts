@@ -32,6 +32,7 @@ export interface Student {
   domainProgram: string
   joinYear: number
   examMarks: number
+  active?: boolean
 }
 
 export interface StudentResponse {
@@ -44,6 +45,7 @@ export interface StudentResponse {
   domainProgram: string
   joinYear: number
   examMarks: number
+  active?: boolean
 }
 
 export interface UserProfile {
@@ -52,3 +54,12 @@ export interface UserProfile {
   picture?: string
 }
 
+
+export interface ChangeEvent {
+  sequence: number
+  entityType?: 'DOMAIN' | 'STUDENT'
+  changeType: 'CONNECTED' | 'RESYNC' | 'CREATED' | 'UPDATED' | 'DELETED' | 'ACTIVATED' | 'DEACTIVATED'
+  entityId?: number
+  domainIds?: number[]
+  data?: Domain | StudentResponse
+}
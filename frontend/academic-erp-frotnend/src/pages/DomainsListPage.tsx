@@ -1,8 +1,9 @@
 import { useEffect, useState } from 'react'
 import { useNavigate } from 'react-router-dom'
 import { apiClient, endpoints, getErrorMessage } from '../utils/api'
-import type { Domain, DomainUpdateImpact } from '../models'
+import type { ChangeEvent, Domain, DomainUpdateImpact } from '../models'
 import DomainModal from '../components/DomainModal'
+import { useChangeFeed } from '../utils/useChangeFeed'
 
 const DomainsListPage = () => {
   const navigate = useNavigate()
@@ -50,6 +51,38 @@ const DomainsListPage = () => {
     void fetchDomains()
   }, [])
 
+  // Patch the list from the change feed instead of re-downloading it
+  const refreshDomainRows = async (domainIds: number[]) => {
+    for (const domainId of domainIds) {
+      try {
+        const { data } = await apiClient.get<Domain>(endpoints.domainById(domainId))
+        setDomains(prev => prev.map(d => (d.domainId === data.domainId ? data : d)))
+      } catch {
+        // The domain may have been deleted meanwhile; its own event removes it
+      }
+    }
+  }
+
+  const applyChange = (event: ChangeEvent) => {
+    if (event.entityType === 'DOMAIN') {
+      if (event.changeType === 'DELETED') {
+        setDomains(prev => prev.filter(d => d.domainId !== event.entityId))
+      } else if (event.data) {
+        const domain = event.data as Domain
+        setDomains(prev =>
+          prev.some(d => d.domainId === domain.domainId)
+            ? prev.map(d => (d.domainId === domain.domainId ? domain : d))
+            : [...prev, domain]
+        )
+      }
+    } else if (event.entityType === 'STUDENT' && event.domainIds) {
+      // Student writes only change the active student count of their domains
+      void refreshDomainRows(event.domainIds)
+    }
+  }
+
+  const feedConnected = useChangeFeed(applyChange, () => void fetchDomains())
+
   const handleView = (domain: Domain) => {
     navigate(`/domains/${domain.domainId}/view`)
   }
@@ -65,7 +98,9 @@ const DomainsListPage = () => {
   }
 
   const handleModalSuccess = () => {
-    void fetchDomains()
+    if (!feedConnected) {
+      void fetchDomains()
+    }
   }
 
   const handleModalClose = () => {
@@ -101,7 +136,9 @@ const DomainsListPage = () => {
       setShowDeleteConfirm(false)
       setPendingDeleteId(null)
       setDeleteImpact(null)
-      await fetchDomains()
+      if (!feedConnected) {
+        await fetchDomains()
+      }
     } catch (err) {
       setError(getErrorMessage(err))
     }
@@ -16,6 +16,27 @@ export const oauthClient = axios.create({
   timeout: 10000,
 })
 
+// When the session token expires, refresh it once (shared by all failing requests) and retry
+let refreshInFlight: Promise<void> | null = null
+
+apiClient.interceptors.response.use(undefined, async (error) => {
+  const original = error.config as (typeof error.config & { _retried?: boolean }) | undefined
+  const status = error.response?.status
+  if (!original || original._retried || (status !== 401 && status !== 403) || original.url === '/auth/refresh') {
+    throw error
+  }
+  original._retried = true
+  refreshInFlight ??= apiClient.post('/auth/refresh').then(() => undefined).finally(() => {
+    refreshInFlight = null
+  })
+  try {
+    await refreshInFlight
+  } catch {
+    throw error
+  }
+  return apiClient(original)
+})
+
 export interface ErrorResponse {
   error?: string
   message?: string
@@ -185,6 +206,7 @@ export const endpoints = {
   login: '/login',
   signout: '/signout',
   currentUser: '/auth/me',
+  refreshSession: '/auth/refresh',
   domains: '/domains',
   domainById: (id: number) => `/domains/${id}`,
   domainImpact: (id: number) => `/domains/${id}/impact`,
@@ -193,5 +215,6 @@ export const endpoints = {
   admitStudent: '/students/admit',
   studentById: (id: number) => `/students/${id}`,
   initDatabase: '/database/init',
+  changeStream: '/changes/stream',
 }
 
@@ -0,0 +1,50 @@
+import { useEffect, useRef, useState } from 'react'
+import type { ChangeEvent } from '../models'
+import { endpoints } from './api'
+
+const API_BASE_URL =
+  import.meta.env.VITE_API_BASE_URL || 'http://localhost:8080'
+
+/**
+ * Subscribes to the backend change feed (Server-Sent Events).
+ * onChange receives every committed domain/student change; onResync is called when the
+ * server dropped events for this client and local lists must be reloaded.
+ */
+export const useChangeFeed = (
+  onChange: (event: ChangeEvent) => void,
+  onResync: () => void
+) => {
+  const [connected, setConnected] = useState(false)
+  const onChangeRef = useRef(onChange)
+  const onResyncRef = useRef(onResync)
+  onChangeRef.current = onChange
+  onResyncRef.current = onResync
+
+  useEffect(() => {
+    const source = new EventSource(`${API_BASE_URL}/api${endpoints.changeStream}`, {
+      withCredentials: true,
+    })
+    let hasConnected = false
+
+    source.onopen = () => {
+      setConnected(true)
+      // EventSource reconnects on its own; anything missed while disconnected needs a reload
+      if (hasConnected) {
+        onResyncRef.current()
+      }
+      hasConnected = true
+    }
+    source.onerror = () => setConnected(false)
+    source.addEventListener('change', (message) => {
+      const event = JSON.parse((message as MessageEvent<string>).data) as ChangeEvent
+      if (event.changeType !== 'CONNECTED') {
+        onChangeRef.current(event)
+      }
+    })
+    source.addEventListener('resync', () => onResyncRef.current())
+
+    return () => source.close()
+  }, [])
+
+  return connected
+}
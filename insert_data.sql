@@ -2,7 +2,8 @@
 -- Data Insertion Script for Academic ERP Database
 -- =====================================================
 -- This script inserts sample data for domains and students
--- Execute create_schema.sql first before running this script
+-- Run it once the backend has created the schema, with the backend stopped;
+-- the next startup moves the ID generators past the inserted rows
 -- =====================================================
 
 USE erp_admission;
@@ -102,6 +103,10 @@ INSERT INTO students (roll_number, first_name, last_name, email, domain_id, join
 ('PH2024004', 'Dr. Amit', 'Sharma', 'amit.sharma@student.university.edu', 8, 2024, 57.25, 1, NOW()),
 ('PH2024005', 'Dr. Kavita', 'Nair', 'kavita.nair@student.university.edu', 8, 2024, 59.50, 1, NOW());
 
+-- Register the emails in the table that enforces their uniqueness
+INSERT INTO student_emails (email, student_id)
+SELECT email, student_id FROM students;
+
 -- =====================================================
 -- Script Execution Complete
 -- =====================================================